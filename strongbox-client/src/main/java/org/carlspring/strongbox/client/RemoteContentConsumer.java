@@ -0,0 +1,30 @@
+package org.carlspring.strongbox.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.http.HttpResponse;
+
+/**
+ * Receives the response of a non-blocking {@link RestArtifactResolver#getAsync} request. The methods are called on the
+ * I/O threads of the client, so they must not block (writing to a local file is fine).
+ */
+public interface RemoteContentConsumer
+{
+
+    /**
+     * Called once the status line and the headers have been received.
+     *
+     * @throws IOException to reject the response, the request is then failed with this exception.
+     */
+    void onResponse(HttpResponse response)
+        throws IOException;
+
+    /**
+     * Called as the content arrives. The buffer is reused by the client, so its content has to be consumed before this
+     * method returns.
+     */
+    void onContent(ByteBuffer content)
+        throws IOException;
+
+}
@@ -6,8 +6,21 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.Response;
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.client.methods.AsyncByteConsumer;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.protocol.HttpContext;
 import org.glassfish.jersey.apache.connector.ApacheClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,10 +34,16 @@ public class RestArtifactResolver
 
     private static final Logger logger = LoggerFactory.getLogger(RestArtifactResolver.class);
 
+    private static final RequestConfig CIRCULAR_REDIRECTS_REQUEST_CONFIG = RequestConfig.custom()
+                                                                                        .setCircularRedirectsAllowed(true)
+                                                                                        .build();
+
     private final String repositoryBaseUrl;
     private final Client client;
     private Feature authentication;
     private RemoteRepositoryRetryArtifactDownloadConfiguration configuration;
+    private HttpAsyncClient asyncClient;
+    private Header asyncAuthorization;
 
     public RestArtifactResolver(Client client,
                                 String repositoryBaseUrl,
@@ -43,6 +62,22 @@ public class RestArtifactResolver
         this(client, repositoryBaseUrl, configuration);
         this.authentication = authentication;
     }
+
+    /**
+     * Creates a resolver which also supports the non-blocking {@link #getAsync} requests.
+     *
+     * @param asyncAuthorization the {@code Authorization} header of the non-blocking requests, or {@code null}
+     */
+    public RestArtifactResolver(Client client,
+                                String repositoryBaseUrl,
+                                RemoteRepositoryRetryArtifactDownloadConfiguration configuration,
+                                HttpAsyncClient asyncClient,
+                                Header asyncAuthorization)
+    {
+        this(client, repositoryBaseUrl, configuration);
+        this.asyncClient = asyncClient;
+        this.asyncAuthorization = asyncAuthorization;
+    }
     
     public RemoteRepositoryRetryArtifactDownloadConfiguration getConfiguration()
     {
@@ -94,6 +129,70 @@ public class RestArtifactResolver
         return new CloseableRestResponse(response);
     }
 
+    public boolean isAsyncSupported()
+    {
+        return asyncClient != null;
+    }
+
+    /**
+     * Gets the resource with the non-blocking client: the content is passed to the consumer as it arrives, without
+     * holding a thread while waiting for it.
+     *
+     * @return the future number of the received content bytes
+     */
+    public CompletableFuture<Long> getAsync(String path,
+                                            long offset,
+                                            RemoteContentConsumer consumer)
+    {
+        if (asyncClient == null)
+        {
+            throw new UnsupportedOperationException("Non-blocking requests are not enabled.");
+        }
+
+        String url = escapeUrl(path);
+
+        logger.debug("Getting " + url + " asynchronously...");
+
+        HttpGet request = new HttpGet(url);
+        request.setConfig(CIRCULAR_REDIRECTS_REQUEST_CONFIG);
+        if (asyncAuthorization != null)
+        {
+            request.setHeader(asyncAuthorization);
+        }
+        if (offset > 0)
+        {
+            request.setHeader(HttpHeaders.RANGE, "bytes=" + offset + "-");
+        }
+
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        asyncClient.execute(HttpAsyncMethods.create(request),
+                            new ContentConsumer(consumer),
+                            new FutureCallback<Long>()
+                            {
+
+                                @Override
+                                public void completed(Long count)
+                                {
+                                    result.complete(count);
+                                }
+
+                                @Override
+                                public void failed(Exception e)
+                                {
+                                    result.completeExceptionally(e);
+                                }
+
+                                @Override
+                                public void cancelled()
+                                {
+                                    result.cancel(false);
+                                }
+
+                            });
+
+        return result;
+    }
+
     public CloseableRestResponse head(String path)
     {
         String url = escapeUrl(path);
@@ -121,6 +220,46 @@ public class RestArtifactResolver
         return repositoryBaseUrl.endsWith("/") ? repositoryBaseUrl : repositoryBaseUrl + "/";
     }
 
+    /**
+     * Passes the content to the {@link RemoteContentConsumer} through a single reused buffer.
+     */
+    private static class ContentConsumer
+            extends AsyncByteConsumer<Long>
+    {
+
+        private final RemoteContentConsumer consumer;
+
+        private long count;
+
+        private ContentConsumer(RemoteContentConsumer consumer)
+        {
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void onResponseReceived(HttpResponse response)
+            throws IOException
+        {
+            consumer.onResponse(response);
+        }
+
+        @Override
+        protected void onByteReceived(ByteBuffer buffer,
+                                      IOControl ioControl)
+            throws IOException
+        {
+            count += buffer.remaining();
+            consumer.onContent(buffer);
+        }
+
+        @Override
+        protected Long buildResult(HttpContext context)
+        {
+            return count;
+        }
+
+    }
+
     private class WebTargetBuilder
     {
 
@@ -140,10 +279,16 @@ public class RestArtifactResolver
             return this;
         }
 
+        /**
+         * Sets the request config on the web target, unless the client already has one (setting a property on the web
+         * target forks its configuration, so the shared clients are created with the request config).
+         */
         private WebTargetBuilder customRequestConfig()
         {
-            target.property(ApacheClientProperties.REQUEST_CONFIG,
-                            RequestConfig.custom().setCircularRedirectsAllowed(true).build());
+            if (client.getConfiguration().getProperty(ApacheClientProperties.REQUEST_CONFIG) == null)
+            {
+                target.property(ApacheClientProperties.REQUEST_CONFIG, CIRCULAR_REDIRECTS_REQUEST_CONFIG);
+            }
             return this;
         }
 
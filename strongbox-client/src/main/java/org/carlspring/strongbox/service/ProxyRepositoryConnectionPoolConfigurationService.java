@@ -1,9 +1,11 @@
 package org.carlspring.strongbox.service;
 
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.pool.PoolStats;
 
 import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Feature;
 
 /**
  * @author korest
@@ -13,8 +15,24 @@ public interface ProxyRepositoryConnectionPoolConfigurationService
 
     Client getRestClient();
 
+    /**
+     * Creates a long-lived client for the requests to the remote repository, which is meant to be shared by all of
+     * them (and not to be closed after each one of them). The authentication is registered on the client itself,
+     * the payloads are not logged and the pool utilisation of the remote repository is exposed as metrics.
+     *
+     * @param authentication the authentication of the remote repository, or {@code null}
+     */
+    Client createRemoteRepositoryRestClient(String repository,
+                                            Feature authentication);
+
     CloseableHttpClient getHttpClient();
 
+    /**
+     * @return the shared non-blocking client, which is started on the first call. Its connection pool has the same
+     *         limits as the pool of the blocking clients.
+     */
+    CloseableHttpAsyncClient getHttpAsyncClient();
+
     void setMaxTotal(int max);
 
     void setDefaultMaxPerRepository(int defaultMax);
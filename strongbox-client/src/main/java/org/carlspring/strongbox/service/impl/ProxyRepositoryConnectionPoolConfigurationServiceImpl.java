@@ -1,19 +1,38 @@
 package org.carlspring.strongbox.service.impl;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Feature;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.apache.http.pool.PoolStats;
 
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
@@ -42,17 +61,32 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     private PoolingHttpClientConnectionManager poolingHttpClientConnectionManager;
     private IdleConnectionMonitorThread idleConnectionMonitorThread;
 
+    /**
+     * The routes whose pool utilisation is exposed as metrics.
+     */
+    private final Set<HttpRoute> monitoredRoutes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The per repository limits, which are applied to the non-blocking pool once it is created.
+     */
+    private final Map<HttpRoute, Integer> maxPerRoute = new ConcurrentHashMap<>();
+
     @Value("${pool.maxConnections:200}")
     private int maxTotal;
     @Value("${pool.defaultConnectionsPerRoute:5}")
     private int defaultMaxPerRoute;
     @Value("${pool.idleConnectionsTimeoutInSeconds:60}")
     private int idleConnectionsTimeoutInSeconds;
+    @Value("${pool.asyncIoThreads:2}")
+    private int asyncIoThreads;
+
+    private PoolingNHttpClientConnectionManager poolingNHttpClientConnectionManager;
+    private volatile CloseableHttpAsyncClient httpAsyncClient;
 
     @PostConstruct
     public void init()
     {
-        poolingHttpClientConnectionManager = new PoolingHttpClientConnectionManager();
+        poolingHttpClientConnectionManager = new TimedPoolingHttpClientConnectionManager();
         poolingHttpClientConnectionManager.setMaxTotal(maxTotal); //TODO value that depends on number of threads?
         poolingHttpClientConnectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
 
@@ -72,11 +106,7 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     @Override
     public Client getRestClient()
     {
-        ClientConfig config = new ClientConfig();
-        config.connectorProvider(new ApacheConnectorProvider());
-        config.property(ApacheClientProperties.CONNECTION_MANAGER, poolingHttpClientConnectionManager);
-        // property to prevent closing connection manager when client is closed
-        config.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
+        ClientConfig config = createClientConfig();
 
         java.util.logging.Logger logger = java.util.logging.Logger.getLogger("org.carlspring.strongbox.RestClient");
 
@@ -91,6 +121,64 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
                             .build();
     }
 
+    @Override
+    public Client createRemoteRepositoryRestClient(String repository,
+                                                   Feature authentication)
+    {
+        ClientConfig config = createClientConfig();
+        // The request config has to be set on the client, as setting it on a web target (same as registering a
+        // feature on it) forks the client configuration and builds a new connector for that target.
+        config.property(ApacheClientProperties.REQUEST_CONFIG,
+                        RequestConfig.custom().setCircularRedirectsAllowed(true).build());
+        if (authentication != null)
+        {
+            config.register(authentication);
+        }
+
+        monitorPool(getHttpRouteFromRepository(repository));
+
+        return ClientBuilder.newBuilder()
+                            .withConfig(config)
+                            .build();
+    }
+
+    private ClientConfig createClientConfig()
+    {
+        ClientConfig config = new ClientConfig();
+        config.connectorProvider(new ApacheConnectorProvider());
+        config.property(ApacheClientProperties.CONNECTION_MANAGER, poolingHttpClientConnectionManager);
+        // property to prevent closing connection manager when client is closed
+        config.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
+
+        return config;
+    }
+
+    private void monitorPool(HttpRoute httpRoute)
+    {
+        if (!monitoredRoutes.add(httpRoute))
+        {
+            return;
+        }
+
+        String route = httpRoute.getTargetHost().toURI();
+        Gauge.builder("strongbox.proxy.pool.connections.leased", poolingHttpClientConnectionManager,
+                      m -> m.getStats(httpRoute).getLeased())
+             .tag("route", route)
+             .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.proxy.pool.connections.available", poolingHttpClientConnectionManager,
+                      m -> m.getStats(httpRoute).getAvailable())
+             .tag("route", route)
+             .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.proxy.pool.connections.pending", poolingHttpClientConnectionManager,
+                      m -> m.getStats(httpRoute).getPending())
+             .tag("route", route)
+             .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.proxy.pool.connections.max", poolingHttpClientConnectionManager,
+                      m -> m.getStats(httpRoute).getMax())
+             .tag("route", route)
+             .register(Metrics.globalRegistry);
+    }
+
     @Override
     public CloseableHttpClient getHttpClient()
     {
@@ -101,9 +189,57 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     }
 
     @Override
-    public void setMaxTotal(int max)
+    public CloseableHttpAsyncClient getHttpAsyncClient()
+    {
+        CloseableHttpAsyncClient client = httpAsyncClient;
+
+        return client != null ? client : createHttpAsyncClient();
+    }
+
+    private synchronized CloseableHttpAsyncClient createHttpAsyncClient()
+    {
+        if (httpAsyncClient != null)
+        {
+            return httpAsyncClient;
+        }
+
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                                                         .setIoThreadCount(asyncIoThreads)
+                                                         .build();
+        try
+        {
+            poolingNHttpClientConnectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig));
+        }
+        catch (IOReactorException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        poolingNHttpClientConnectionManager.setMaxTotal(poolingHttpClientConnectionManager.getMaxTotal());
+        poolingNHttpClientConnectionManager.setDefaultMaxPerRoute(
+                poolingHttpClientConnectionManager.getDefaultMaxPerRoute());
+        maxPerRoute.forEach(poolingNHttpClientConnectionManager::setMaxPerRoute);
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                                                          .setConnectionManager(poolingNHttpClientConnectionManager)
+                                                          .build();
+        client.start();
+        httpAsyncClient = client;
+
+        LOGGER.info("Started the non-blocking proxy repository client with [{}] I/O threads.", asyncIoThreads);
+
+        return client;
+    }
+
+    @Override
+    public synchronized void setMaxTotal(int max)
     {
         poolingHttpClientConnectionManager.setMaxTotal(max);
+        if (poolingNHttpClientConnectionManager != null)
+        {
+            poolingNHttpClientConnectionManager.setMaxTotal(max);
+        }
     }
 
     @Override
@@ -113,19 +249,28 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     }
 
     @Override
-    public void setDefaultMaxPerRepository(int defaultMax)
+    public synchronized void setDefaultMaxPerRepository(int defaultMax)
     {
         poolingHttpClientConnectionManager.setDefaultMaxPerRoute(defaultMax);
+        if (poolingNHttpClientConnectionManager != null)
+        {
+            poolingNHttpClientConnectionManager.setDefaultMaxPerRoute(defaultMax);
+        }
     }
 
     @Override
-    public void setMaxPerRepository(String repository,
-                                    int max)
+    public synchronized void setMaxPerRepository(String repository,
+                                                 int max)
     {
         if (max > 0)
         {
             HttpRoute httpRoute = getHttpRouteFromRepository(repository);
             poolingHttpClientConnectionManager.setMaxPerRoute(httpRoute, max);
+            maxPerRoute.put(httpRoute, max);
+            if (poolingNHttpClientConnectionManager != null)
+            {
+                poolingNHttpClientConnectionManager.setMaxPerRoute(httpRoute, max);
+            }
         }
         else
         {
@@ -147,10 +292,22 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     }
 
     @Override
-    public void shutdown()
+    public synchronized void shutdown()
     {
         idleConnectionMonitorThread.shutdown();
         poolingHttpClientConnectionManager.shutdown();
+
+        if (httpAsyncClient != null)
+        {
+            try
+            {
+                httpAsyncClient.close();
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Failed to close the non-blocking proxy repository client.", e);
+            }
+        }
     }
 
     // code to create HttpRoute the same as in apache library
@@ -191,6 +348,55 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
         return new HttpRoute(HttpHost.create(repository));
     }
 
+    /**
+     * Records the time which the requests wait for a connection of their route, as the
+     * {@code strongbox.proxy.pool.lease} timer of the route.
+     */
+    private static final class TimedPoolingHttpClientConnectionManager
+            extends PoolingHttpClientConnectionManager
+    {
+
+        private final Map<HttpHost, Timer> leaseTimers = new ConcurrentHashMap<>();
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route,
+                                                   Object state)
+        {
+            ConnectionRequest connectionRequest = super.requestConnection(route, state);
+            Timer leaseTimer = leaseTimers.computeIfAbsent(route.getTargetHost(),
+                                                           h -> Metrics.timer("strongbox.proxy.pool.lease",
+                                                                              "route", h.toURI()));
+
+            return new ConnectionRequest()
+            {
+
+                @Override
+                public HttpClientConnection get(long timeout,
+                                                TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException
+                {
+                    long startTime = System.nanoTime();
+                    try
+                    {
+                        return connectionRequest.get(timeout, timeUnit);
+                    }
+                    finally
+                    {
+                        leaseTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel()
+                {
+                    return connectionRequest.cancel();
+                }
+
+            };
+        }
+
+    }
+
     private static final class IdleConnectionMonitorThread
             extends Thread
     {
@@ -3,29 +3,44 @@ package org.carlspring.strongbox.io;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedList;
 
 /**
  * This {@link InputStream} decorates a source {@link InputStream} with ability to replace a target chain of bytes with
  * another specified chain of bytes.<br>
- * 
- * For example it can be used as Mulitpart Stream Adapter to change boundary bytes.
- * 
+ *
+ * For example it can be used as Mulitpart Stream Adapter to change boundary bytes.<br>
+ *
+ * The source is read ahead in blocks, so the replacement doesn't slow down the large streams.
+ *
  * @author Sergey Bespalov
- * 
+ *
  */
 public class ReplacingInputStream
         extends BufferedInputStream
 {
 
-    Deque<Integer> inQueue = new LinkedList<Integer>();
-
-    Deque<Integer> outQueue = new LinkedList<Integer>();
+    private static final int LOOK_AHEAD_SIZE = 8192;
 
     final byte[] search, replacement;
 
+    /**
+     * The source bytes which have been read ahead, but not processed yet.
+     */
+    private final byte[] inBuffer;
+
+    private int inPosition;
+
+    private int inLimit;
+
+    private boolean inEnd;
+
+    /**
+     * The position within the {@link #replacement} which is being written out, or {@code -1}.
+     */
+    private int replacementPosition = -1;
+
+    private final byte[] singleByte = new byte[1];
+
     public ReplacingInputStream(InputStream in,
                                 byte[] search,
                                 byte[] replacement)
@@ -33,66 +48,61 @@ public class ReplacingInputStream
         super(in);
         this.search = search;
         this.replacement = replacement;
+        this.inBuffer = new byte[Math.max(LOOK_AHEAD_SIZE, search.length * 2)];
     }
 
-    private boolean isMatchFound()
+    /**
+     * Makes sure that at least {@link #search} length of bytes are read ahead, unless the source has ended.
+     */
+    private void readAhead()
+        throws IOException
     {
-        Iterator<Integer> inIter = inQueue.iterator();
-        for (int i = 0; i < search.length; i++)
+        if (inLimit - inPosition >= search.length || inEnd)
         {
-            if (!inIter.hasNext() || search[i] != inIter.next())
+            return;
+        }
+
+        System.arraycopy(inBuffer, inPosition, inBuffer, 0, inLimit - inPosition);
+        inLimit -= inPosition;
+        inPosition = 0;
+
+        while (inLimit < search.length && !inEnd)
+        {
+            int count = super.read(inBuffer, inLimit, inBuffer.length - inLimit);
+            if (count == -1)
             {
-                return false;
+                inEnd = true;
+            }
+            else
+            {
+                inLimit += count;
             }
         }
-        return true;
     }
 
-    private void readAhead()
-        throws IOException
+    private boolean isMatchFound()
     {
-        // Work up some look-ahead.
-        while (inQueue.size() < search.length)
+        if (inLimit - inPosition < search.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < search.length; i++)
         {
-            int next = super.read();
-            inQueue.offer(next);
-            if (next == -1)
+            if (search[i] != inBuffer[inPosition + i])
             {
-                break;
+                return false;
             }
         }
+        return true;
     }
 
     @Override
     public int read()
         throws IOException
     {
+        int count = read(singleByte, 0, 1);
 
-        // Next byte already determined.
-        if (outQueue.isEmpty())
-        {
-
-            readAhead();
-
-            if (isMatchFound())
-            {
-                for (int i = 0; i < search.length; i++)
-                {
-                    inQueue.remove();
-                }
-
-                for (byte b : replacement)
-                {
-                    outQueue.offer((int) b);
-                }
-            }
-            else
-            {
-                outQueue.add(inQueue.remove());
-            }
-        }
-
-        return outQueue.remove();
+        return count == -1 ? -1 : singleByte[0] & 0xFF;
     }
 
     /**
@@ -113,19 +123,43 @@ public class ReplacingInputStream
                     int len)
         throws IOException
     {
-        int i;
+        if (len == 0)
+        {
+            return 0;
+        }
+
         int ok = 0;
-        while (len-- > 0)
+        while (ok < len)
         {
-            i = read();
-            if (i == -1)
+            if (replacementPosition >= 0)
+            {
+                int count = Math.min(len - ok, replacement.length - replacementPosition);
+                System.arraycopy(replacement, replacementPosition, b, off + ok, count);
+                ok += count;
+                replacementPosition += count;
+                replacementPosition = replacementPosition == replacement.length ? -1 : replacementPosition;
+
+                continue;
+            }
+
+            readAhead();
+            if (inPosition == inLimit)
             {
-                return (ok == 0) ? -1 : ok;
+                break;
+            }
+
+            if (isMatchFound())
+            {
+                inPosition += search.length;
+                replacementPosition = 0;
+
+                continue;
             }
-            b[off++] = (byte) i;
-            ok++;
+
+            b[off + ok++] = inBuffer[inPosition++];
         }
-        return ok;
+
+        return ok == 0 ? -1 : ok;
     }
 
     @Override
@@ -135,4 +169,12 @@ public class ReplacingInputStream
 
         return read(buffer, 0, buffer.length);
     }
+
+    @Override
+    public int available()
+        throws IOException
+    {
+        return (inLimit - inPosition) + (replacementPosition >= 0 ? replacement.length - replacementPosition : 0);
+    }
+
 }
@@ -0,0 +1,162 @@
+package org.carlspring.strongbox.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the replacements of the {@link ReplacingInputStream} against the ones of {@link String#replace}, with the
+ * source returning a few bytes at a time, so that the matches get split between the read-aheads.
+ */
+public class ReplacingInputStreamTest
+{
+
+    @Test
+    public void testMatchAcrossBufferBoundary()
+            throws IOException
+    {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 8190; i++)
+        {
+            input.append('a');
+        }
+        input.append("--boundary--");
+        for (int i = 0; i < 10000; i++)
+        {
+            input.append('b');
+        }
+        input.append("--boundary--");
+
+        assertReplaced(input.toString(), "--boundary--", "--replaced--", 1000, 4096);
+        assertReplaced(input.toString(), "--boundary--", "--replaced--", 7, 8192);
+    }
+
+    @Test
+    public void testPartialAndOverlappingPrefixes()
+            throws IOException
+    {
+        assertReplaced("aaab aab aaaab ab a aa", "aab", "X", 2, 5);
+        assertReplaced("ababab abab aba", "abab", "X", 3, 4);
+        assertReplaced("--boundar--boundary-boundary--", "--boundary", "--other", 4, 16);
+    }
+
+    @Test
+    public void testMatchAtEndOfStream()
+            throws IOException
+    {
+        assertReplaced("foo--bar--", "--", "X", 1, 3);
+        assertReplaced("--", "--", "X", 1, 3);
+        assertReplaced("foo-", "--", "X", 1, 3);
+    }
+
+    @Test
+    public void testEmptyReplacement()
+            throws IOException
+    {
+        assertReplaced("--foo--bar----", "--", "", 3, 2);
+        assertReplaced("----", "--", "", 3, 1);
+    }
+
+    @Test
+    public void testMixedReads()
+            throws IOException
+    {
+        String input = "header--boundary--body--boundary--";
+        String expected = input.replace("--boundary--", "--a-longer-replacement--");
+
+        try (InputStream is = newReplacingInputStream(input, "--boundary--", "--a-longer-replacement--", 5))
+        {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            byte[] buffer = new byte[3];
+            for (boolean single = true; ; single = !single)
+            {
+                if (single)
+                {
+                    int b = is.read();
+                    if (b == -1)
+                    {
+                        break;
+                    }
+                    result.write(b);
+
+                    continue;
+                }
+
+                int count = is.read(buffer, 1, 2);
+                if (count == -1)
+                {
+                    break;
+                }
+                result.write(buffer, 1, count);
+            }
+
+            assertEquals(expected, new String(result.toByteArray(), StandardCharsets.UTF_8));
+            assertEquals(-1, is.read());
+            assertEquals(-1, is.read(buffer, 0, buffer.length));
+        }
+    }
+
+    private void assertReplaced(String input,
+                                String search,
+                                String replacement,
+                                int sourceChunkSize,
+                                int readSize)
+            throws IOException
+    {
+        try (InputStream is = newReplacingInputStream(input, search, replacement, sourceChunkSize))
+        {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            byte[] buffer = new byte[readSize];
+            int count;
+            while ((count = is.read(buffer)) != -1)
+            {
+                result.write(buffer, 0, count);
+            }
+
+            assertEquals(input.replace(search, replacement), new String(result.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private InputStream newReplacingInputStream(String input,
+                                                String search,
+                                                String replacement,
+                                                int sourceChunkSize)
+    {
+        return new ReplacingInputStream(new ChunkedInputStream(input.getBytes(StandardCharsets.UTF_8),
+                                                               sourceChunkSize),
+                                        search.getBytes(StandardCharsets.UTF_8),
+                                        replacement.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns at most {@code chunkSize} bytes at a time, like a network stream.
+     */
+    private static class ChunkedInputStream
+            extends ByteArrayInputStream
+    {
+
+        private final int chunkSize;
+
+        private ChunkedInputStream(byte[] content,
+                                   int chunkSize)
+        {
+            super(content);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized int read(byte[] b,
+                                     int off,
+                                     int len)
+        {
+            return super.read(b, off, Math.min(len, chunkSize));
+        }
+
+    }
+
+}
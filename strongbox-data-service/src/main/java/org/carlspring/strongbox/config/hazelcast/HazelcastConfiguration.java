@@ -63,6 +63,50 @@ public class HazelcastConfiguration
     @Value("${cacheManagerConfiguration.caches.tags.evictionPolicy:LFU}")
     public EvictionPolicy tagsEvictionPolicy;
 
+    @Value("${cacheManagerConfiguration.caches.groupRepositoryPathResolution.maxSizeLimit:10000}")
+    public int groupRepositoryPathResolutionMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.groupRepositoryPathResolution.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy groupRepositoryPathResolutionMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.groupRepositoryPathResolution.evictionPolicy:LRU}")
+    public EvictionPolicy groupRepositoryPathResolutionEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.groupRepositoryPathResolution.timeToLiveSeconds:300}")
+    public int groupRepositoryPathResolutionTimeToLiveSeconds;
+
+    public MapConfig groupRepositoryPathResolutionCacheConfig(String name)
+    {
+        return newDefaultMapConfig(name,
+                                   groupRepositoryPathResolutionMaxSizeLimit,
+                                   groupRepositoryPathResolutionMaxSizePolicy,
+                                   groupRepositoryPathResolutionEvictionPolicy).setTimeToLiveSeconds(groupRepositoryPathResolutionTimeToLiveSeconds)
+                                                                               .setNearCacheConfig(new NearCacheConfig().setInvalidateOnChange(true)
+                                                                                                                        .setTimeToLiveSeconds(groupRepositoryPathResolutionTimeToLiveSeconds));
+    }
+
+    @Value("${cacheManagerConfiguration.caches.npmPackageFeeds.maxSizeLimit:1000}")
+    public int npmPackageFeedsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.npmPackageFeeds.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy npmPackageFeedsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.npmPackageFeeds.evictionPolicy:LRU}")
+    public EvictionPolicy npmPackageFeedsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.npmPackageFeeds.timeToLiveSeconds:300}")
+    public int npmPackageFeedsTimeToLiveSeconds;
+
+    public MapConfig npmPackageFeedsCacheConfig(String name)
+    {
+        return newDefaultMapConfig(name,
+                                   npmPackageFeedsMaxSizeLimit,
+                                   npmPackageFeedsMaxSizePolicy,
+                                   npmPackageFeedsEvictionPolicy).setTimeToLiveSeconds(npmPackageFeedsTimeToLiveSeconds)
+                                                                 .setNearCacheConfig(new NearCacheConfig().setInvalidateOnChange(true)
+                                                                                                          .setTimeToLiveSeconds(npmPackageFeedsTimeToLiveSeconds));
+    }
+
     public static MapConfig newDefaultMapConfig(String name,
                                                 int maxSize,
                                                 MaxSizeConfig.MaxSizePolicy maxSizePolicy,
@@ -127,6 +171,8 @@ public class HazelcastConfiguration
                                                                             tagsMaxSizeLimit,
                                                                             tagsMaxSizePolicy,
                                                                             tagsEvictionPolicy))
+                                          .addMapConfig(groupRepositoryPathResolutionCacheConfig(CacheName.Repository.GROUP_REPOSITORY_PATH_RESOLUTION))
+                                          .addMapConfig(npmPackageFeedsCacheConfig(CacheName.Artifact.NPM_PACKAGE_FEEDS))
                                           .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
         config.setGroupConfig(new GroupConfig(groupConfigName, groupConfigPassword));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(enableMulticastConfig);
@@ -15,6 +15,8 @@ public final class CacheName
 
         public static final String TAGS = "tags";
 
+        public static final String NPM_PACKAGE_FEEDS = "npmPackageFeeds";
+
     }
 
     public static final class Repository
@@ -22,6 +24,8 @@ public final class CacheName
 
         public static final String REMOTE_REPOSITORY_ALIVENESS = "remoteRepositoryAliveness";
 
+        public static final String GROUP_REPOSITORY_PATH_RESOLUTION = "groupRepositoryPathResolution";
+
     }
 
 
@@ -16,8 +16,12 @@ import javax.persistence.PersistenceContext;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OCommandSQL;
@@ -25,7 +29,9 @@ import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ReflectionUtils;
 
 @Transactional
@@ -41,10 +47,18 @@ public abstract class CommonCrudService<T extends GenericEntity>
     @Inject
     private EntityServiceRegistry entityServiceRegistry;
 
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate pageTransactionTemplate;
+
     @PostConstruct
     public void postConstruct()
     {
         entityServiceRegistry.register(this.getEntityClass(), this);
+
+        pageTransactionTemplate = new TransactionTemplate(transactionManager);
+        pageTransactionTemplate.setReadOnly(true);
     }
 
     protected <S extends T> S cascadeEntitySave(T entity)
@@ -236,6 +250,12 @@ public abstract class CommonCrudService<T extends GenericEntity>
         return Optional.ofNullable(resultList.isEmpty() ? null : resultList);
     }
 
+    @Override
+    public Stream<T> streamAll(int pageSize)
+    {
+        return stream(null, Collections.emptyMap(), pageSize);
+    }
+
     @Override
     public long count()
     {
@@ -345,6 +365,29 @@ public abstract class CommonCrudService<T extends GenericEntity>
         }
     }
 
+    /**
+     * Streams the entities matching the condition, fetched lazily with keyset pagination on {@code @rid}: each
+     * page is selected by {@code @rid > [the last RID of the previous page]} (instead of {@code SKIP}, which is
+     * linear in OrientDB), so that only one page of entities at a time is held in memory, and the entities
+     * deleted or added meanwhile don't shift the pages.
+     * <p>
+     * Each page is read within its own transaction, unless the stream is consumed within a transaction.
+     *
+     * @param whereClause the condition, without the {@code WHERE} keyword (may be null)
+     * @param parameters  the named parameters of the condition
+     */
+    protected Stream<T> stream(String whereClause,
+                               Map<String, ?> parameters,
+                               int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+
+        return StreamSupport.stream(new KeysetSpliterator(whereClause, parameters, pageSize), false);
+    }
+
     /**
      * We can get an internal OrientDB transaction API with this, which can be
      * needed to execute some OrientDB queries,
@@ -362,4 +405,88 @@ public abstract class CommonCrudService<T extends GenericEntity>
         return getDelegate().detachAll(entity, true);
     }
 
+    private class KeysetSpliterator
+            extends Spliterators.AbstractSpliterator<T>
+    {
+
+        private static final String KEYSET_PARAMETER = "keysetRid";
+
+        private final String firstPageQuery;
+
+        private final String nextPageQuery;
+
+        private final Map<String, Object> parameters;
+
+        private final int pageSize;
+
+        private Iterator<T> page = Collections.emptyIterator();
+
+        private ORID lastRid;
+
+        private boolean lastPage;
+
+        private KeysetSpliterator(String whereClause,
+                                  Map<String, ?> parameters,
+                                  int pageSize)
+        {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+
+            String condition = whereClause == null || whereClause.trim().isEmpty() ? null : whereClause;
+            String select = "SELECT * FROM " + getEntityClass().getSimpleName();
+            String orderAndLimit = String.format(" ORDER BY @rid ASC LIMIT %s", pageSize);
+
+            this.firstPageQuery = select + (condition != null ? " WHERE " + condition : "") + orderAndLimit;
+            this.nextPageQuery = select + " WHERE " + (condition != null ? "(" + condition + ") AND " : "") +
+                                 "@rid > :" + KEYSET_PARAMETER + orderAndLimit;
+            this.parameters = new HashMap<>(parameters);
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action)
+        {
+            if (!page.hasNext())
+            {
+                if (lastPage)
+                {
+                    return false;
+                }
+
+                List<T> result = pageTransactionTemplate.execute(s -> fetchPage());
+                lastPage = result.size() < pageSize;
+                page = result.iterator();
+
+                if (!page.hasNext())
+                {
+                    return false;
+                }
+            }
+
+            action.accept(page.next());
+
+            return true;
+        }
+
+        private List<T> fetchPage()
+        {
+            String query = firstPageQuery;
+            if (lastRid != null)
+            {
+                query = nextPageQuery;
+                parameters.put(KEYSET_PARAMETER, lastRid);
+            }
+
+            logger.debug("Executing SQL query> " + query);
+
+            List<T> result = getDelegate().command(new OSQLSynchQuery<T>(query)).execute(parameters);
+            if (!result.isEmpty())
+            {
+                lastRid = getDelegate().getIdentity(result.get(result.size() - 1));
+            }
+
+            return result;
+        }
+
+    }
+
 }
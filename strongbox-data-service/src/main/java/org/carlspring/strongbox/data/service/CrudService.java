@@ -3,6 +3,7 @@ package org.carlspring.strongbox.data.service;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.carlspring.strongbox.data.domain.GenericEntity;
 
@@ -26,6 +27,11 @@ public interface CrudService<T extends GenericEntity, ID extends Serializable>
 
     Optional<List<T>> findAll();
 
+    /**
+     * Streams all the entities, fetched lazily page by page, so that the bulk scans have bounded memory usage.
+     */
+    Stream<T> streamAll(int pageSize);
+
     long count();
 
     void delete(ID id);
@@ -1,12 +1,17 @@
 package org.carlspring.strongbox.config;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
 import javax.servlet.ServletContext;
 
-import org.carlspring.strongbox.event.EventExecutorFactoryBean;
+import org.carlspring.strongbox.event.AsyncEventListenerPostProcessor;
+import org.carlspring.strongbox.event.EventExecutionEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Configuration
@@ -15,10 +20,31 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class EventsConfig
 {
 
+    /**
+     * The events are executed asynchronously only within the application server (Jetty), the test environment
+     * executes them synchronously.
+     */
+    @Bean
+    public EventExecutionEngine eventExecutionEngine(@Autowired(required = false) ServletContext servletContext,
+                                                     Environment environment)
+    {
+        boolean async = Optional.ofNullable(servletContext)
+                                .map(c -> c.getAttribute("org.eclipse.jetty.server.Executor"))
+                                .isPresent();
+
+        return new EventExecutionEngine(environment, async);
+    }
+
+    @Bean
+    public Executor eventTaskExecutor(EventExecutionEngine eventExecutionEngine)
+    {
+        return eventExecutionEngine.getDefaultExecutor();
+    }
+
     @Bean
-    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
+    public static AsyncEventListenerPostProcessor asyncEventListenerPostProcessor()
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return new AsyncEventListenerPostProcessor();
     }
 
 }
@@ -0,0 +1,75 @@
+package org.carlspring.strongbox.event;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands the {@link AsyncEventListener} invocations over to the {@link EventExecutionEngine}.
+ */
+class AsyncEventListenerInterceptor
+        implements MethodInterceptor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventListenerInterceptor.class);
+
+    private final Supplier<EventExecutionEngine> engineSupplier;
+
+    AsyncEventListenerInterceptor(Supplier<EventExecutionEngine> engineSupplier)
+    {
+        this.engineSupplier = engineSupplier;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation)
+        throws Throwable
+    {
+        Optional<Event> event = Arrays.stream(invocation.getArguments())
+                                      .filter(Event.class::isInstance)
+                                      .map(Event.class::cast)
+                                      .findFirst();
+        if (!event.isPresent())
+        {
+            return invocation.proceed();
+        }
+
+        engineSupplier.get().execute(event.get(), getCoalescingKey(invocation, event.get()), () -> {
+            try
+            {
+                invocation.proceed();
+            }
+            catch (Throwable e)
+            {
+                logger.error(String.format("Failed to handle async event [%s] with [%s].",
+                                           event.get().getClass().getSimpleName(),
+                                           invocation.getMethod()),
+                             e);
+            }
+        });
+
+        return null;
+    }
+
+    /**
+     * The invocations of the same listener for the same path are considered equal.
+     */
+    private Object getCoalescingKey(MethodInvocation invocation,
+                                    Event event)
+    {
+        if (!(event instanceof RepositoryBasedEvent) || ((RepositoryBasedEvent) event).getPath() == null)
+        {
+            return null;
+        }
+
+        return Arrays.asList(invocation.getThis(),
+                             invocation.getMethod(),
+                             event.getType(),
+                             ((RepositoryBasedEvent) event).getPath().toUri());
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.carlspring.strongbox.event;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+
+/**
+ * Proxies the beans with {@link AsyncEventListener} methods, so that their invocations are executed by the
+ * {@link EventExecutionEngine}. The interceptor is placed before the other advisors of the bean (same as with
+ * {@code @Async}), so that the transactions and the other aspects are applied within the event lane thread.
+ */
+public class AsyncEventListenerPostProcessor
+        extends AbstractAdvisingBeanPostProcessor
+        implements BeanFactoryAware
+{
+
+    private BeanFactory beanFactory;
+
+    public AsyncEventListenerPostProcessor()
+    {
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, AsyncEventListener.class, true),
+                                                  new AsyncEventListenerInterceptor(
+                                                          () -> beanFactory.getBean(EventExecutionEngine.class)));
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory)
+    {
+        this.beanFactory = beanFactory;
+    }
+
+}
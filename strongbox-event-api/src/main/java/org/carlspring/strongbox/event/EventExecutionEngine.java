@@ -0,0 +1,346 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executes the {@link AsyncEventListener} invocations (and the other asynchronous event jobs) within a dedicated
+ * bounded thread pool per event type (a lane), so that the event storms don't compete with the HTTP request
+ * threads, and one event type can't starve the others.
+ * <p>
+ * Each lane can be configured with the following properties (the event type specific ones are optional, and
+ * fall back to the {@code strongbox.event.executor.*} ones):
+ * <ul>
+ * <li>{@code strongbox.event.executor.[EVENT_TYPE].poolSize}</li>
+ * <li>{@code strongbox.event.executor.[EVENT_TYPE].queueCapacity}</li>
+ * <li>{@code strongbox.event.executor.[EVENT_TYPE].overflowPolicy} (see {@link EventOverflowPolicy}), the download
+ * events are coalesced by default, while all the others block the publisher until there is space in the queue
+ * (unless the publisher is a thread of the same lane, which executes the event itself).</li>
+ * </ul>
+ * The lanes report the {@code strongbox.event.queue.depth} gauge, the {@code strongbox.event.latency} (time spent in
+ * the queue) and {@code strongbox.event.execution} timers, and the {@code strongbox.event.dropped} and
+ * {@code strongbox.event.coalesced} counters, all of them tagged with the event type.
+ * <p>
+ * The lanes are only created when the engine is {@link #isAsync() asynchronous} (see {@code EventsConfig}),
+ * otherwise each event is executed on the thread which publishes it, and is over once the publisher continues.
+ */
+public class EventExecutionEngine
+        implements DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EventExecutionEngine.class);
+
+    public static final String DEFAULT_LANE = "default";
+
+    private static final String PROPERTY_PREFIX = "strongbox.event.executor.";
+
+    private static final Set<ArtifactEventTypeEnum> COALESCED_EVENT_TYPES = EnumSet.of(
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING,
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADED,
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_DOWNLOADING,
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_DOWNLOADED,
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_CHECKSUM_DOWNLOADING,
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_CHECKSUM_DOWNLOADED);
+
+    private final Environment environment;
+
+    private final boolean async;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public EventExecutionEngine(Environment environment,
+                                boolean async)
+    {
+        this.environment = environment;
+        this.async = async;
+
+        logger.info(String.format("Using [%s] execution for Async events.", async ? "pooled" : "synchronous"));
+    }
+
+    public boolean isAsync()
+    {
+        return async;
+    }
+
+    /**
+     * @return the {@link Executor} of the {@link #DEFAULT_LANE}, for the asynchronous jobs which are not
+     *         {@link AsyncEventListener} invocations.
+     */
+    public Executor getDefaultExecutor()
+    {
+        return task -> execute(DEFAULT_LANE, null, task);
+    }
+
+    /**
+     * Executes the task within the lane of the event type.
+     *
+     * @param coalescingKey identifies the equal tasks, which don't need to be queued more than once for the
+     *                      {@link EventOverflowPolicy#COALESCE} lanes; null if the task can't be coalesced
+     */
+    public void execute(Event event,
+                        Object coalescingKey,
+                        Runnable task)
+    {
+        execute(getLaneName(event), coalescingKey, task);
+    }
+
+    private void execute(String laneName,
+                         Object coalescingKey,
+                         Runnable task)
+    {
+        if (!async)
+        {
+            task.run();
+
+            return;
+        }
+
+        lanes.computeIfAbsent(laneName, this::createLane).submit(coalescingKey, task);
+    }
+
+    private String getLaneName(Event event)
+    {
+        if (event instanceof ArtifactEvent)
+        {
+            return Arrays.stream(ArtifactEventTypeEnum.values())
+                         .filter(t -> t.getType() == event.getType())
+                         .map(Enum::name)
+                         .findFirst()
+                         .orElse(DEFAULT_LANE);
+        }
+        else if (event instanceof RepositoryEvent)
+        {
+            return Arrays.stream(RepositoryEventTypeEnum.values())
+                         .filter(t -> t.getType() == event.getType())
+                         .map(Enum::name)
+                         .findFirst()
+                         .orElse(DEFAULT_LANE);
+        }
+
+        return event.getClass().getSimpleName();
+    }
+
+    private Lane createLane(String name)
+    {
+        int poolSize = getProperty(name, "poolSize", Integer.class, 2);
+        int queueCapacity = getProperty(name, "queueCapacity", Integer.class, 1000);
+        EventOverflowPolicy overflowPolicy = getProperty(name, "overflowPolicy", EventOverflowPolicy.class,
+                                                         isCoalescedByDefault(name) ? EventOverflowPolicy.COALESCE
+                                                                                    : EventOverflowPolicy.BLOCK);
+
+        logger.info(String.format("Creating [%s] event lane with [%s] threads, queue capacity [%s] and [%s] overflow policy.",
+                                  name, poolSize, queueCapacity, overflowPolicy));
+
+        return new Lane(name, poolSize, queueCapacity, overflowPolicy);
+    }
+
+    private boolean isCoalescedByDefault(String name)
+    {
+        return COALESCED_EVENT_TYPES.stream().anyMatch(t -> t.name().equals(name));
+    }
+
+    private <T> T getProperty(String laneName,
+                              String property,
+                              Class<T> type,
+                              T defaultValue)
+    {
+        T value = environment.getProperty(PROPERTY_PREFIX + laneName + "." + property, type);
+        if (value != null)
+        {
+            return value;
+        }
+
+        return environment.getProperty(PROPERTY_PREFIX + property, type, defaultValue);
+    }
+
+    @Override
+    public void destroy()
+    {
+        lanes.values().forEach(Lane::shutdown);
+    }
+
+    private static class Lane
+    {
+
+        /**
+         * The lane whose task is being executed by the current thread, if any.
+         */
+        private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+
+        private final String name;
+
+        private final EventOverflowPolicy overflowPolicy;
+
+        private final ThreadPoolExecutor executor;
+
+        private final Set<Object> queuedKeys = ConcurrentHashMap.newKeySet();
+
+        private final Timer latencyTimer;
+
+        private final Timer executionTimer;
+
+        private final Counter droppedCounter;
+
+        private final Counter coalescedCounter;
+
+        private Lane(String name,
+                     int poolSize,
+                     int queueCapacity,
+                     EventOverflowPolicy overflowPolicy)
+        {
+            this.name = name;
+            this.overflowPolicy = overflowPolicy;
+
+            executor = new ThreadPoolExecutor(poolSize,
+                                              poolSize,
+                                              60L,
+                                              TimeUnit.SECONDS,
+                                              new ArrayBlockingQueue<>(queueCapacity),
+                                              new LaneThreadFactory(name),
+                                              this::overflow);
+            executor.allowCoreThreadTimeOut(true);
+
+            Gauge.builder("strongbox.event.queue.depth", executor, e -> e.getQueue().size())
+                 .tag("type", name)
+                 .register(Metrics.globalRegistry);
+            latencyTimer = Timer.builder("strongbox.event.latency").tag("type", name).register(Metrics.globalRegistry);
+            executionTimer = Timer.builder("strongbox.event.execution").tag("type", name).register(Metrics.globalRegistry);
+            droppedCounter = Counter.builder("strongbox.event.dropped").tag("type", name).register(Metrics.globalRegistry);
+            coalescedCounter = Counter.builder("strongbox.event.coalesced")
+                                      .tag("type", name)
+                                      .register(Metrics.globalRegistry);
+        }
+
+        private void submit(Object coalescingKey,
+                            Runnable task)
+        {
+            Object key = overflowPolicy == EventOverflowPolicy.COALESCE ? coalescingKey : null;
+            if (key != null && !queuedKeys.add(key))
+            {
+                coalescedCounter.increment();
+
+                return;
+            }
+
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                latencyTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+                if (key != null)
+                {
+                    queuedKeys.remove(key);
+                }
+
+                Lane previousLane = CURRENT_LANE.get();
+                CURRENT_LANE.set(this);
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    CURRENT_LANE.set(previousLane);
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+
+        private void overflow(Runnable task,
+                              ThreadPoolExecutor executor)
+        {
+            if (executor.isShutdown())
+            {
+                throw new RejectedExecutionException(String.format("Event lane [%s] has been shut down.", name));
+            }
+
+            if (overflowPolicy == EventOverflowPolicy.DROP)
+            {
+                droppedCounter.increment();
+                logger.debug(String.format("Event lane [%s] is full, the event has been dropped.", name));
+
+                return;
+            }
+
+            // A thread of the lane would wait for itself to free a slot in the queue, so it runs the task instead.
+            if (CURRENT_LANE.get() == this)
+            {
+                logger.debug(String.format("Event lane [%s] is full, the event is executed by the publishing thread.",
+                                           name));
+
+                task.run();
+
+                return;
+            }
+
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            try
+            {
+                queue.put(task);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new RejectedExecutionException(e);
+            }
+        }
+
+        private void shutdown()
+        {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private static class LaneThreadFactory
+            implements ThreadFactory
+    {
+
+        private final String name;
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private LaneThreadFactory(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread thread = new Thread(r, String.format("event-%s-%s", name, counter.incrementAndGet()));
+            thread.setDaemon(true);
+
+            return thread;
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.carlspring.strongbox.event;
+
+/**
+ * Defines what happens with an asynchronous event listener invocation, which doesn't fit into the
+ * queue of its {@link EventExecutionEngine} lane.
+ */
+public enum EventOverflowPolicy
+{
+
+    /**
+     * The publishing thread waits until there is a free slot in the queue. A thread of the same lane executes the
+     * invocation itself instead, as it would otherwise wait for itself.
+     */
+    BLOCK,
+
+    /**
+     * The invocation is discarded.
+     */
+    DROP,
+
+    /**
+     * The invocation is discarded if the same listener is already queued for the same path; otherwise it waits
+     * for a free slot in the queue, same as with {@link #BLOCK}.
+     */
+    COALESCE;
+
+}
@@ -58,7 +58,12 @@ public enum RepositoryEventTypeEnum
     /**
      * Occurs when all the trash for repositories has been undeleted.
      */
-    EVENT_REPOSITORY_UNDELETE_TRASH_FOR_ALL_REPOSITORIES(10);
+    EVENT_REPOSITORY_UNDELETE_TRASH_FOR_ALL_REPOSITORIES(10),
+
+    /**
+     * Occurs when the members or the routing rules of a group repository have been changed.
+     */
+    EVENT_REPOSITORY_GROUP_UPDATED(11);
 
     private int type;
 
@@ -0,0 +1,75 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventExecutionEngineTest
+{
+
+    private EventExecutionEngine eventExecutionEngine;
+
+    @BeforeEach
+    public void setUp()
+    {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("strongbox.event.executor.poolSize", 1);
+        properties.put("strongbox.event.executor.queueCapacity", 1);
+        properties.put("strongbox.event.executor.overflowPolicy", EventOverflowPolicy.BLOCK.name());
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("eventExecutionEngineTest", properties));
+
+        eventExecutionEngine = new EventExecutionEngine(environment, true);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        eventExecutionEngine.destroy();
+    }
+
+    @Test
+    public void testLaneThreadPublishingIntoItsFullLaneRunsTheEvent()
+            throws InterruptedException
+    {
+        RepositoryEvent event = new RepositoryEvent("storage0",
+                                                    "releases",
+                                                    RepositoryEventTypeEnum.EVENT_REPOSITORY_GROUP_UPDATED.getType());
+
+        CountDownLatch latch = new CountDownLatch(3);
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        Runnable task = () -> {
+            threadNames.add(Thread.currentThread().getName());
+            latch.countDown();
+        };
+
+        // The only thread of the lane fills its queue, and then overflows it.
+        eventExecutionEngine.execute(event, null, () -> {
+            for (int i = 0; i < 3; i++)
+            {
+                eventExecutionEngine.execute(event, null, task);
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "The lane thread has been blocked by its own lane.");
+        assertEquals(3, threadNames.size());
+        assertTrue(threadNames.stream().allMatch(n -> n.startsWith("event-EVENT_REPOSITORY_GROUP_UPDATED-")),
+                   threadNames.toString());
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.carlspring.strongbox.authentication.api.impl.xml;
 
+import org.carlspring.strongbox.users.userdetails.VerifiedCredentialsCache;
+
 import java.util.Optional;
 
 import javax.inject.Inject;
@@ -27,6 +29,9 @@ public class PasswordAuthenticationProvider extends DaoAuthenticationProvider
     @Inject
     private AuthenticationCache authenticationCache;
 
+    @Inject
+    private VerifiedCredentialsCache verifiedCredentialsCache;
+
     @Override
     @Inject
     public void setPasswordEncoder(PasswordEncoder passwordEncoder)
@@ -51,14 +56,34 @@ public class PasswordAuthenticationProvider extends DaoAuthenticationProvider
     public Authentication authenticate(Authentication authentication)
         throws AuthenticationException
     {
+        String password = Optional.ofNullable(authentication.getCredentials()).map(Object::toString).orElse(null);
+
+        UserDetails verifiedUserDetails = verifiedCredentialsCache.get(authentication.getName(), password);
+        if (verifiedUserDetails != null)
+        {
+            logger.debug(String.format("Found verified credentials for [%s]", verifiedUserDetails.getUsername()));
+
+            return createSuccessAuthentication(verifiedUserDetails, authentication, verifiedUserDetails);
+        }
+
+        long generation = verifiedCredentialsCache.getGeneration();
+
+        Authentication result;
         try
         {
-            return super.authenticate(authentication);
+            result = super.authenticate(authentication);
         }
         catch (BadCredentialsException e)
         {
             throw new BadCredentialsException("invalid.credentials");
         }
+
+        if (result.getPrincipal() instanceof UserDetails)
+        {
+            verifiedCredentialsCache.put(password, (UserDetails) result.getPrincipal(), generation);
+        }
+
+        return result;
     }
 
     @Override
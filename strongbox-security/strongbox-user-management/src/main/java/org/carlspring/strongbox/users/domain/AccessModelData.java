@@ -31,11 +31,16 @@ public class AccessModelData
     
     private final Set<StoragePrivilegesData> storageAuthorities;
 
+    /**
+     * The {@link #storageAuthorities} compiled for the URL lookups.
+     */
+    private final PathPrivilegesTrie pathPrivilegesTrie;
 
     public AccessModelData(AccessModelDto delegate)
     {
         this.storageAuthorities = immuteStorages(delegate.getStorageAuthorities());
         this.apiAuthorities = ImmutableSet.copyOf(delegate.getApiAuthorities());
+        this.pathPrivilegesTrie = new PathPrivilegesTrie(storageAuthorities);
     }
 
     private Set<StoragePrivilegesData> immuteStorages(final Set<StoragePrivilegesDto> source)
@@ -60,7 +65,7 @@ public class AccessModelData
     @Override
     public Set<Privileges> getPathAuthorities(String url)
     {
-        return getPathAuthorities(url, getStorageAuthorities());
+        return pathPrivilegesTrie.getPathAuthorities(url);
     }
     
     public static Set<Privileges> getPathAuthorities(String url, Set<? extends StoragePrivileges> storages)
@@ -0,0 +1,194 @@
+package org.carlspring.strongbox.users.domain;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.apache.commons.lang.StringUtils;
+import org.carlspring.strongbox.users.dto.PathPrivileges;
+import org.carlspring.strongbox.users.dto.RepositoryPrivileges;
+import org.carlspring.strongbox.users.dto.StoragePrivileges;
+
+/**
+ * The storage, repository and path privileges of an access model, compiled into a radix (compressed prefix) trie of
+ * the {@code /storages/{storageId}/{repositoryId}/{path}} keys. The privileges of an URL are collected with a single
+ * walk along the URL, instead of checking every storage, repository and path privilege of the access model.
+ * <p>
+ * The keys are matched as string prefixes of the URL, same as
+ * {@link AccessModelData#getPathAuthorities(String, Set)} does.
+ */
+@Immutable
+class PathPrivilegesTrie
+        implements Serializable
+{
+
+    private final Node root = new Node("");
+
+    PathPrivilegesTrie(Set<? extends StoragePrivileges> storages)
+    {
+        for (final StoragePrivileges storage : storages)
+        {
+            String storageKey = "/storages/" + storage.getStorageId();
+            for (RepositoryPrivileges repository : storage.getRepositoryPrivileges())
+            {
+                String repositoryKey = storageKey + "/" + repository.getRepositoryId();
+                getOrCreateNode(repositoryKey).prefixPrivileges.addAll(repository.getRepositoryPrivileges());
+
+                for (PathPrivileges pathPrivilege : repository.getPathPrivileges())
+                {
+                    String normalizedPath = StringUtils.chomp(pathPrivilege.getPath(), "/");
+                    Node pathNode = getOrCreateNode(repositoryKey + "/" + normalizedPath);
+                    if (pathPrivilege.isWildcard())
+                    {
+                        pathNode.prefixPrivileges.addAll(pathPrivilege.getPrivileges());
+                    }
+                    else
+                    {
+                        pathNode.exactPrivileges.addAll(pathPrivilege.getPrivileges());
+                    }
+                }
+            }
+        }
+    }
+
+    private Node getOrCreateNode(String key)
+    {
+        Node node = root;
+        int position = 0;
+        while (position < key.length())
+        {
+            Node child = node.getChild(key.charAt(position));
+            if (child == null)
+            {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+
+                return child;
+            }
+
+            int length = getCommonPrefixLength(child.label, key, position);
+            if (length < child.label.length())
+            {
+                child = node.splitChild(child, length);
+            }
+
+            node = child;
+            position += length;
+        }
+        return node;
+    }
+
+    private static int getCommonPrefixLength(String label,
+                                             String key,
+                                             int position)
+    {
+        int length = 0;
+        while (length < label.length() && position + length < key.length() &&
+               label.charAt(length) == key.charAt(position + length))
+        {
+            length++;
+        }
+        return length;
+    }
+
+    Set<Privileges> getPathAuthorities(String url)
+    {
+        String normalizedUrl = StringUtils.chomp(url, "/");
+
+        Set<Privileges> privileges = EnumSet.noneOf(Privileges.class);
+        Node node = root;
+        int position = 0;
+        while (position < normalizedUrl.length())
+        {
+            node = node.getChild(normalizedUrl.charAt(position));
+
+            // The URL either ends or differs within the label, so the keys below are not its prefixes.
+            if (node == null || !normalizedUrl.startsWith(node.label, position))
+            {
+                return privileges;
+            }
+
+            privileges.addAll(node.prefixPrivileges);
+            position += node.label.length();
+        }
+        privileges.addAll(node.exactPrivileges);
+
+        return privileges;
+    }
+
+    /**
+     * The node of a key, or of the common prefix of several keys. The nodes which only have a single child and no
+     * privileges are merged into their child, so there is a node per key or branch rather than per character.
+     */
+    private static class Node
+            implements Serializable
+    {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /**
+         * The part of the key which follows the key of the parent node.
+         */
+        private String label;
+
+        /**
+         * The children, whose labels all start with a different character. There are only a few of them, as the keys
+         * mostly differ by whole path segments, so they are looked up by a linear search.
+         */
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * The privileges of the URLs which start with the key: the repository privileges and the wildcard path
+         * privileges.
+         */
+        private final Set<Privileges> prefixPrivileges = EnumSet.noneOf(Privileges.class);
+
+        /**
+         * The privileges of the URL which equals the key: the path privileges without the wildcard.
+         */
+        private final Set<Privileges> exactPrivileges = EnumSet.noneOf(Privileges.class);
+
+        private Node(String label)
+        {
+            this.label = label;
+        }
+
+        private Node getChild(char c)
+        {
+            for (Node child : children)
+            {
+                if (child.label.charAt(0) == c)
+                {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private void addChild(Node child)
+        {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+        }
+
+        /**
+         * Inserts a node between this node and the child, with the first {@code length} characters of its label.
+         */
+        private Node splitChild(Node child,
+                                int length)
+        {
+            Node node = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            node.children = new Node[]{ child };
+
+            children[Arrays.asList(children).indexOf(child)] = node;
+
+            return node;
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.carlspring.strongbox.users.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by the {@link org.carlspring.strongbox.users.service.UserService} implementations when the users have
+ * been changed.
+ */
+public class UserEvent extends ApplicationEvent
+{
+
+    private final String username;
+
+    public UserEvent(String username,
+                     int type)
+    {
+        super(type);
+        this.username = username;
+    }
+
+    public int getType()
+    {
+        return (int) getSource();
+    }
+
+    /**
+     * @return the name of the changed user, or {@code null} if several users may have been changed.
+     */
+    public String getUsername()
+    {
+        return username;
+    }
+
+}
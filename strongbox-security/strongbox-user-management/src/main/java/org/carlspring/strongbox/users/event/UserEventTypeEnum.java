@@ -0,0 +1,34 @@
+package org.carlspring.strongbox.users.event;
+
+public enum UserEventTypeEnum
+{
+
+    /**
+     * Occurs when a user has been created or its details, roles or password have been changed.
+     */
+    EVENT_USER_UPDATED(1),
+
+    /**
+     * Occurs when a user has been deleted.
+     */
+    EVENT_USER_DELETED(2),
+
+    /**
+     * Occurs when several users may have been changed at once.
+     */
+    EVENT_USERS_UPDATED(3);
+
+    private int type;
+
+
+    UserEventTypeEnum(int type)
+    {
+        this.type = type;
+    }
+
+    public int getType()
+    {
+        return type;
+    }
+
+}
@@ -22,10 +22,13 @@ import org.carlspring.strongbox.users.domain.Users;
 import org.carlspring.strongbox.users.dto.User;
 import org.carlspring.strongbox.users.dto.UserDto;
 import org.carlspring.strongbox.users.dto.UsersDto;
+import org.carlspring.strongbox.users.event.UserEvent;
+import org.carlspring.strongbox.users.event.UserEventTypeEnum;
 import org.carlspring.strongbox.users.security.SecurityTokenProvider;
 import org.carlspring.strongbox.users.service.UserService;
 import org.jose4j.lang.JoseException;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 
 
 public class InMemoryUserService implements UserService
@@ -38,6 +41,9 @@ public class InMemoryUserService implements UserService
     @Inject
     private SecurityTokenProvider tokenProvider;
 
+    @Inject
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Users getUsers()
     {
@@ -100,13 +106,15 @@ public class InMemoryUserService implements UserService
         modifyInLock(users -> {
             users.values().forEach(user -> user.removeRole(roleToRevoke));
         });
+
+        publishEvent(null, UserEventTypeEnum.EVENT_USERS_UPDATED);
     }
 
     @Override
     @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
     public User save(final User user)
     {
-        return modifyInLock(users -> {
+        User result = modifyInLock(users -> {
             UserDto userDto = Optional.ofNullable(users.get(user.getUsername())).orElseGet(() -> new UserDto());
 
             if (!StringUtils.isBlank(user.getPassword()))
@@ -123,6 +131,10 @@ public class InMemoryUserService implements UserService
             
             return userDto;
         });
+
+        publishEvent(user.getUsername(), UserEventTypeEnum.EVENT_USER_UPDATED);
+
+        return result;
     }
 
     @Override
@@ -131,6 +143,8 @@ public class InMemoryUserService implements UserService
         modifyInLock(users -> {
             users.remove(username);
         });
+
+        publishEvent(username, UserEventTypeEnum.EVENT_USER_DELETED);
     }
 
     @Override
@@ -147,6 +161,8 @@ public class InMemoryUserService implements UserService
                         updateSecurityToken(user, userToUpdate.getSecurityTokenKey());
                     });
         });
+
+        publishEvent(userToUpdate.getUsername(), UserEventTypeEnum.EVENT_USER_UPDATED);
     }
 
     private void updateSecurityToken(final UserDto user,
@@ -158,6 +174,12 @@ public class InMemoryUserService implements UserService
         }
     }
 
+    protected void publishEvent(final String username,
+                                final UserEventTypeEnum type)
+    {
+        eventPublisher.publishEvent(new UserEvent(username, type.getType()));
+    }
+
     protected void modifyInLock(final Consumer<Map<String, UserDto>> operation)
     {
         final Lock writeLock = usersLock.writeLock();
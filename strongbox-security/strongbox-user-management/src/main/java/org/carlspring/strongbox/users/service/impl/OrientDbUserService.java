@@ -21,12 +21,15 @@ import org.carlspring.strongbox.domain.UserEntry;
 import org.carlspring.strongbox.users.domain.UserData;
 import org.carlspring.strongbox.users.domain.Users;
 import org.carlspring.strongbox.users.dto.User;
+import org.carlspring.strongbox.users.event.UserEvent;
+import org.carlspring.strongbox.users.event.UserEventTypeEnum;
 import org.carlspring.strongbox.users.security.SecurityTokenProvider;
 import org.carlspring.strongbox.users.service.UserEntryService;
 import org.carlspring.strongbox.users.service.impl.OrientDbUserService.OrientDb;
 import org.carlspring.strongbox.users.userdetails.StrongboxUserDetails;
 import org.jose4j.lang.JoseException;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -45,6 +48,9 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
 
     @Inject
     private SecurityTokenProvider tokenProvider;
+
+    @Inject
+    private ApplicationEventPublisher eventPublisher;
     
     @Override
     @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0")
@@ -57,6 +63,8 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
 
         OCommandSQL oQuery = new OCommandSQL(sQuery);
         getDelegate().command(oQuery).execute(params);
+
+        eventPublisher.publishEvent(new UserEvent(username, UserEventTypeEnum.EVENT_USER_DELETED.getType()));
     }
 
     @Override
@@ -173,7 +181,11 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
             throw new IllegalStateException("Can't modify external users.");
         }
         
-        return super.save(entity);
+        S result = super.save(entity);
+
+        eventPublisher.publishEvent(new UserEvent(entity.getUsername(), UserEventTypeEnum.EVENT_USER_UPDATED.getType()));
+
+        return result;
     }
 
     @Override
@@ -203,7 +215,11 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
         userEntry.setLastUpdate(new Date());
         userEntry.setSourceId(sourceId);
 
-        return super.save(userEntry);
+        User result = super.save(userEntry);
+
+        eventPublisher.publishEvent(new UserEvent(user.getUsername(), UserEventTypeEnum.EVENT_USER_UPDATED.getType()));
+
+        return result;
     }
     
     @Override
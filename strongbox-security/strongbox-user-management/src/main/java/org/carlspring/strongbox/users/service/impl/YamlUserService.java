@@ -16,6 +16,7 @@ import javax.inject.Qualifier;
 import org.carlspring.strongbox.users.UsersFileManager;
 import org.carlspring.strongbox.users.dto.UserDto;
 import org.carlspring.strongbox.users.dto.UsersDto;
+import org.carlspring.strongbox.users.event.UserEventTypeEnum;
 import org.carlspring.strongbox.users.service.impl.YamlUserService.Yaml;
 import org.springframework.stereotype.Service;
 
@@ -56,6 +57,8 @@ public class YamlUserService
             users.clear();
             newUsers.getUsers().stream().forEach(u -> users.put(u.getUsername(), u));
         });
+
+        publishEvent(null, UserEventTypeEnum.EVENT_USERS_UPDATED);
     }
 
     @Documented
@@ -0,0 +1,237 @@
+package org.carlspring.strongbox.users.userdetails;
+
+import org.carlspring.strongbox.users.event.UserEvent;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the user details of the recently verified username and password pairs, so that the repeated Basic
+ * authentication of the build tools doesn't have to load the user and run the password encoder on every request.
+ * <p>
+ * The cache is local to each node. The entries are keyed by a HMAC of the username and the password, with a random
+ * key generated on startup, so that neither the passwords nor their unsalted hashes are kept in memory. The entries
+ * expire after {@code strongbox.users.credentials.cache.seconds}, and are invalidated on all the nodes (through the
+ * {@value #TOPIC_NAME} Hazelcast topic) as soon as the change or the removal of the user has been committed. The
+ * credentials which were being verified while the user got changed are not cached. The hit, miss and eviction
+ * statistics are available as the {@value #CACHE_NAME} cache metrics.
+ */
+@Component
+public class VerifiedCredentialsCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedCredentialsCache.class);
+
+    private static final String CACHE_NAME = "verifiedCredentialsCache";
+
+    private static final String TOPIC_NAME = "verifiedCredentialsInvalidations";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec macKey;
+
+    private final ThreadLocal<Mac> mac;
+
+    private final Cache<String, UserDetails> cache;
+
+    /**
+     * The number of the invalidations so far.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private ITopic<Invalidation> invalidationTopic;
+
+    public VerifiedCredentialsCache(@Value("${strongbox.users.credentials.cache.seconds:60}") long timeToLiveSeconds,
+                                    @Value("${strongbox.users.credentials.cache.maximumSize:10000}") long maximumSize)
+    {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        macKey = new SecretKeySpec(key, MAC_ALGORITHM);
+        mac = ThreadLocal.withInitial(this::createMac);
+
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                            .recordStats()
+                            .build();
+
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, CACHE_NAME);
+    }
+
+    @Inject
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
+    {
+        invalidationTopic = hazelcastInstance.getTopic(TOPIC_NAME);
+        invalidationTopic.addMessageListener(message -> evict(message.getMessageObject().getUsername()));
+    }
+
+    /**
+     * @return the user details of the verified credentials, or {@code null} if the credentials have not been
+     *         verified recently.
+     */
+    public UserDetails get(String username,
+                           String password)
+    {
+        if (username == null || password == null)
+        {
+            return null;
+        }
+
+        UserDetails userDetails = cache.getIfPresent(key(username, password));
+
+        return userDetails != null && username.equals(userDetails.getUsername()) ? userDetails : null;
+    }
+
+    /**
+     * @return the generation of the cache, which has to be taken before the credentials are verified, and passed to
+     *         {@link #put(String, UserDetails, long)}.
+     */
+    public long getGeneration()
+    {
+        return generation.get();
+    }
+
+    /**
+     * Should be called once the password has been matched with the {@code userDetails}. The credentials are not
+     * cached if the cache has been invalidated since the {@code generation} was taken, as the user may have been
+     * changed while they were being verified.
+     */
+    public void put(String password,
+                    UserDetails userDetails,
+                    long generation)
+    {
+        if (password == null || this.generation.get() != generation)
+        {
+            return;
+        }
+
+        String key = key(userDetails.getUsername(), password);
+        cache.put(key, userDetails);
+
+        // The invalidation may have missed the entry, if it has happened right before it was put.
+        if (this.generation.get() != generation)
+        {
+            cache.asMap().remove(key, userDetails);
+        }
+    }
+
+    /**
+     * Invalidates the verified credentials of the user on all the nodes.
+     */
+    public void invalidate(String username)
+    {
+        evict(username);
+
+        if (invalidationTopic != null)
+        {
+            invalidationTopic.publish(new Invalidation(username));
+        }
+    }
+
+    /**
+     * Invalidates all the verified credentials on all the nodes.
+     */
+    public void invalidateAll()
+    {
+        invalidate(null);
+    }
+
+    /**
+     * The users are changed within the transactions of the user services, so the other requests may verify the old
+     * credentials until these are committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(UserEvent event)
+    {
+        logger.debug("Invalidating verified credentials of [{}].", event.getUsername());
+
+        invalidate(event.getUsername());
+    }
+
+    /**
+     * Invalidates the verified credentials of the user (or all of them, if the username is {@code null}) on this node.
+     */
+    private void evict(String username)
+    {
+        generation.incrementAndGet();
+
+        if (username == null)
+        {
+            cache.invalidateAll();
+        }
+        else
+        {
+            cache.asMap().values().removeIf(userDetails -> userDetails.getUsername().equals(username));
+        }
+    }
+
+    private String key(String username,
+                       String password)
+    {
+        Mac mac = this.mac.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac createMac()
+    {
+        try
+        {
+            Mac result = Mac.getInstance(MAC_ALGORITHM);
+            result.init(macKey);
+
+            return result;
+        }
+        catch (GeneralSecurityException e)
+        {
+            throw new IllegalStateException(String.format("Failed to initialize [%s].", MAC_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * The message of the {@value #TOPIC_NAME} topic.
+     */
+    static class Invalidation
+            implements Serializable
+    {
+
+        private final String username;
+
+        Invalidation(String username)
+        {
+            this.username = username;
+        }
+
+        String getUsername()
+        {
+            return username;
+        }
+
+    }
+
+}
@@ -0,0 +1,239 @@
+package org.carlspring.strongbox.users.domain;
+
+import org.carlspring.strongbox.users.dto.PathPrivilegesDto;
+import org.carlspring.strongbox.users.dto.RepositoryPrivilegesDto;
+import org.carlspring.strongbox.users.dto.StoragePrivilegesDto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the {@link PathPrivilegesTrie} against {@link AccessModelData#getPathAuthorities(String, Set)}, which
+ * checks every storage, repository and path privilege of the access model.
+ */
+public class PathPrivilegesTrieTest
+{
+
+    private static final List<String> STORAGES = Arrays.asList("storage0", "storage1", "storage-common");
+
+    private static final List<String> REPOSITORIES = Arrays.asList("releases", "releases-2", "snapshots");
+
+    private static final List<String> SEGMENTS = Arrays.asList("org", "com", "carl", "carlspring", "carlspring-commons",
+                                                               "strongbox", "1.0", "foo-1.0.jar");
+
+    private static final List<Privileges> PRIVILEGES = Arrays.asList(Privileges.ARTIFACTS_DEPLOY,
+                                                                     Privileges.ARTIFACTS_DELETE,
+                                                                     Privileges.ARTIFACTS_VIEW,
+                                                                     Privileges.ARTIFACTS_RESOLVE,
+                                                                     Privileges.ARTIFACTS_COPY);
+
+    @Test
+    public void testPathPrivileges()
+    {
+        StoragePrivilegesDto storage = new StoragePrivilegesDto("storage0");
+
+        RepositoryPrivilegesDto releases = new RepositoryPrivilegesDto("releases");
+        releases.getRepositoryPrivileges().add(Privileges.ARTIFACTS_RESOLVE);
+        releases.getPathPrivileges().add(pathPrivileges("org/carlspring", true, Privileges.ARTIFACTS_DEPLOY));
+        releases.getPathPrivileges().add(pathPrivileges("com/carlspring/", false, Privileges.ARTIFACTS_DELETE));
+        storage.getRepositoryPrivileges().add(releases);
+
+        Set<StoragePrivilegesDto> storages = Collections.singleton(storage);
+        PathPrivilegesTrie trie = new PathPrivilegesTrie(storages);
+
+        // The repository privileges.
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/net/foo/1.0/foo-1.0.jar",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+
+        // The wildcard path privileges, which are matched as the prefixes of the URL.
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DEPLOY));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring/foo/1.0/foo-1.0.jar",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DEPLOY));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring-commons/",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DEPLOY));
+
+        // The exact path privileges, whatever the trailing slashes of the path and the URL.
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/com/carlspring",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DELETE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/com/carlspring/",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DELETE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/com/carlspring/foo/1.0/foo-1.0.jar",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+
+        // The URLs which don't match any privileges.
+        assertPathAuthorities(trie, storages, "/storages/storage0/snapshots/org/carlspring/foo",
+                              EnumSet.noneOf(Privileges.class));
+        assertPathAuthorities(trie, storages, "/storages/storage1/releases/org/carlspring/foo",
+                              EnumSet.noneOf(Privileges.class));
+        assertPathAuthorities(trie, storages, "/storages/storage0", EnumSet.noneOf(Privileges.class));
+        assertPathAuthorities(trie, storages, "/api/configuration", EnumSet.noneOf(Privileges.class));
+        assertPathAuthorities(trie, storages, "", EnumSet.noneOf(Privileges.class));
+    }
+
+    @Test
+    public void testPrefixesEndingWithinPathSegments()
+    {
+        StoragePrivilegesDto storage = new StoragePrivilegesDto("storage0");
+
+        RepositoryPrivilegesDto releases = new RepositoryPrivilegesDto("releases");
+        releases.getPathPrivileges().add(pathPrivileges("org/carl", true, Privileges.ARTIFACTS_RESOLVE));
+        releases.getPathPrivileges().add(pathPrivileges("org/carlspring-commons", false, Privileges.ARTIFACTS_DEPLOY));
+        releases.getPathPrivileges().add(pathPrivileges("org/carlspring/str", true, Privileges.ARTIFACTS_DELETE));
+        storage.getRepositoryPrivileges().add(releases);
+
+        Set<StoragePrivilegesDto> storages = Collections.singleton(storage);
+        PathPrivilegesTrie trie = new PathPrivilegesTrie(storages);
+
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carl",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring-com",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring-commons/",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DEPLOY));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring-commons/1.0",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring/strongbox/1.0",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE, Privileges.ARTIFACTS_DELETE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carlspring/st",
+                              EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/car",
+                              EnumSet.noneOf(Privileges.class));
+        assertPathAuthorities(trie, storages, "/storages/storage0/releases/org/carp",
+                              EnumSet.noneOf(Privileges.class));
+    }
+
+    @Test
+    public void testMatchesAccessModelPathAuthorities()
+    {
+        Random random = new Random(18);
+
+        for (int round = 0; round < 20; round++)
+        {
+            Set<StoragePrivilegesDto> storages = randomStorages(random);
+            PathPrivilegesTrie trie = new PathPrivilegesTrie(storages);
+
+            for (int i = 0; i < 500; i++)
+            {
+                String url = randomUrl(random);
+
+                assertEquals(AccessModelData.getPathAuthorities(url, storages), trie.getPathAuthorities(url),
+                             String.format("URL [%s]", url));
+            }
+        }
+    }
+
+    private void assertPathAuthorities(PathPrivilegesTrie trie,
+                                       Set<StoragePrivilegesDto> storages,
+                                       String url,
+                                       Set<Privileges> expected)
+    {
+        assertEquals(expected, AccessModelData.getPathAuthorities(url, storages), url);
+        assertEquals(expected, trie.getPathAuthorities(url), url);
+    }
+
+    private Set<StoragePrivilegesDto> randomStorages(Random random)
+    {
+        Set<StoragePrivilegesDto> storages = new LinkedHashSet<>();
+        for (String storageId : STORAGES)
+        {
+            if (random.nextInt(3) == 0)
+            {
+                continue;
+            }
+
+            StoragePrivilegesDto storage = new StoragePrivilegesDto(storageId);
+            for (String repositoryId : REPOSITORIES)
+            {
+                if (random.nextInt(3) == 0)
+                {
+                    continue;
+                }
+
+                RepositoryPrivilegesDto repository = new RepositoryPrivilegesDto(repositoryId);
+                repository.getRepositoryPrivileges().addAll(randomPrivileges(random));
+
+                for (int i = random.nextInt(6); i > 0; i--)
+                {
+                    String path = randomPath(random, 1 + random.nextInt(3)) + (random.nextBoolean() ? "/" : "");
+                    Privileges[] privileges = randomPrivileges(random).toArray(new Privileges[0]);
+
+                    repository.getPathPrivileges().add(pathPrivileges(path, random.nextBoolean(), privileges));
+                }
+
+                storage.getRepositoryPrivileges().add(repository);
+            }
+
+            storages.add(storage);
+        }
+
+        return storages;
+    }
+
+    private Set<Privileges> randomPrivileges(Random random)
+    {
+        Set<Privileges> privileges = new HashSet<>();
+        for (int i = random.nextInt(3); i > 0; i--)
+        {
+            privileges.add(PRIVILEGES.get(random.nextInt(PRIVILEGES.size())));
+        }
+
+        return privileges;
+    }
+
+    private String randomUrl(Random random)
+    {
+        String url = "/storages/" + STORAGES.get(random.nextInt(STORAGES.size()));
+        if (random.nextInt(10) > 0)
+        {
+            url += "/" + REPOSITORIES.get(random.nextInt(REPOSITORIES.size()));
+        }
+
+        int depth = random.nextInt(5);
+        if (depth > 0)
+        {
+            url += "/" + randomPath(random, depth);
+        }
+
+        return random.nextInt(4) == 0 ? url + "/" : url;
+    }
+
+    private String randomPath(Random random,
+                              int depth)
+    {
+        StringBuilder path = new StringBuilder(SEGMENTS.get(random.nextInt(SEGMENTS.size())));
+        for (int i = 1; i < depth; i++)
+        {
+            path.append('/').append(SEGMENTS.get(random.nextInt(SEGMENTS.size())));
+        }
+
+        return path.toString();
+    }
+
+    private PathPrivilegesDto pathPrivileges(String path,
+                                             boolean wildcard,
+                                             Privileges... privileges)
+    {
+        PathPrivilegesDto pathPrivileges = new PathPrivilegesDto(path);
+        pathPrivileges.setWildcard(wildcard);
+        pathPrivileges.getPrivileges().addAll(Arrays.asList(privileges));
+
+        return pathPrivileges;
+    }
+
+}
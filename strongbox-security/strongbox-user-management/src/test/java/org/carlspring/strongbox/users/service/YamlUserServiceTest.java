@@ -20,6 +20,8 @@ import org.carlspring.strongbox.users.dto.User;
 import org.carlspring.strongbox.users.dto.UserDto;
 import org.carlspring.strongbox.users.service.impl.EncodedPasswordUser;
 import org.carlspring.strongbox.users.service.impl.YamlUserService.Yaml;
+import org.carlspring.strongbox.users.userdetails.StrongboxUserDetails;
+import org.carlspring.strongbox.users.userdetails.VerifiedCredentialsCache;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +47,9 @@ public class YamlUserServiceTest
 
     @Inject
     private PasswordEncoder passwordEncoder;
+
+    @Inject
+    private VerifiedCredentialsCache verifiedCredentialsCache;
     
     @BeforeEach
     public void setup()
@@ -292,4 +297,41 @@ public class YamlUserServiceTest
                    "User " + testUserName + " is still present in the database. Delete operation failed!");
     }
 
+    @Test
+    public void testUserChangesInvalidateVerifiedCredentials()
+    {
+        String testUserName = "test-verified-credentials-user";
+
+        UserDto userAdd = new UserDto();
+        userAdd.setEnabled(true);
+        userAdd.setUsername(testUserName);
+        userAdd.setPassword("test-password");
+
+        userService.save(userAdd);
+
+        verifiedCredentialsCache.put("test-password",
+                                     new StrongboxUserDetails(userService.findByUsername(testUserName)),
+                                     verifiedCredentialsCache.getGeneration());
+        assertNotNull(verifiedCredentialsCache.get(testUserName, "test-password"));
+        assertNull(verifiedCredentialsCache.get(testUserName, "another-password"));
+
+        UserDto userUpdate = new UserDto();
+        userUpdate.setUsername(testUserName);
+        userUpdate.setPassword("another-password");
+
+        userService.updateAccountDetailsByUsername(userUpdate);
+
+        assertNull(verifiedCredentialsCache.get(testUserName, "test-password"),
+                   "Verified credentials should have been invalidated on the password change.");
+
+        verifiedCredentialsCache.put("another-password",
+                                     new StrongboxUserDetails(userService.findByUsername(testUserName)),
+                                     verifiedCredentialsCache.getGeneration());
+
+        userService.deleteByUsername(testUserName);
+
+        assertNull(verifiedCredentialsCache.get(testUserName, "another-password"),
+                   "Verified credentials should have been invalidated on the user removal.");
+    }
+
 }
@@ -0,0 +1,130 @@
+package org.carlspring.strongbox.users.userdetails;
+
+import org.carlspring.strongbox.users.event.UserEvent;
+import org.carlspring.strongbox.users.event.UserEventTypeEnum;
+import org.carlspring.strongbox.users.userdetails.VerifiedCredentialsCache.Invalidation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Checks the invalidation of the verified credentials on two nodes, which share an in-process invalidation topic.
+ */
+public class VerifiedCredentialsCacheTest
+{
+
+    private static final String USERNAME = "test-verified-credentials-user";
+
+    private static final String PASSWORD = "test-password";
+
+    private final List<MessageListener<Invalidation>> listeners = new ArrayList<>();
+
+    private VerifiedCredentialsCache firstNodeCache;
+
+    private VerifiedCredentialsCache secondNodeCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        ITopic<Invalidation> topic = Mockito.mock(ITopic.class);
+        Mockito.doAnswer(invocation -> {
+            listeners.add(invocation.getArgument(0));
+
+            return String.valueOf(listeners.size());
+        }).when(topic).addMessageListener(any());
+        Mockito.doAnswer(invocation -> {
+            Message<Invalidation> message = new Message<>("test", invocation.getArgument(0), 0L, null);
+            listeners.forEach(listener -> listener.onMessage(message));
+
+            return null;
+        }).when(topic).publish(any());
+
+        HazelcastInstance hazelcastInstance = Mockito.mock(HazelcastInstance.class);
+        Mockito.when(hazelcastInstance.<Invalidation>getTopic(anyString())).thenReturn(topic);
+
+        firstNodeCache = new VerifiedCredentialsCache(60, 100);
+        firstNodeCache.setHazelcastInstance(hazelcastInstance);
+
+        secondNodeCache = new VerifiedCredentialsCache(60, 100);
+        secondNodeCache.setHazelcastInstance(hazelcastInstance);
+    }
+
+    @Test
+    public void testPasswordChangeInvalidatesCredentialsOnAllNodes()
+    {
+        put(firstNodeCache, USERNAME, PASSWORD);
+        put(secondNodeCache, USERNAME, PASSWORD);
+
+        assertNotNull(firstNodeCache.get(USERNAME, PASSWORD));
+        assertNull(firstNodeCache.get(USERNAME, "another-password"));
+
+        firstNodeCache.handle(new UserEvent(USERNAME, UserEventTypeEnum.EVENT_USER_UPDATED.getType()));
+
+        assertNull(firstNodeCache.get(USERNAME, PASSWORD));
+        assertNull(secondNodeCache.get(USERNAME, PASSWORD),
+                   "Verified credentials should have been invalidated on the other node.");
+    }
+
+    @Test
+    public void testUserDeletionInvalidatesCredentialsOnAllNodes()
+    {
+        put(firstNodeCache, USERNAME, PASSWORD);
+        put(secondNodeCache, USERNAME, PASSWORD);
+        put(secondNodeCache, "another-user", PASSWORD);
+
+        firstNodeCache.handle(new UserEvent(USERNAME, UserEventTypeEnum.EVENT_USER_DELETED.getType()));
+
+        assertNull(firstNodeCache.get(USERNAME, PASSWORD));
+        assertNull(secondNodeCache.get(USERNAME, PASSWORD),
+                   "Verified credentials should have been invalidated on the other node.");
+        assertNotNull(secondNodeCache.get("another-user", PASSWORD));
+
+        secondNodeCache.handle(new UserEvent(null, UserEventTypeEnum.EVENT_USERS_UPDATED.getType()));
+
+        assertNull(secondNodeCache.get("another-user", PASSWORD));
+    }
+
+    @Test
+    public void testCredentialsVerifiedDuringChangeAreNotCached()
+    {
+        long generation = secondNodeCache.getGeneration();
+
+        // The password gets changed on the first node while the second one is verifying the old one.
+        firstNodeCache.handle(new UserEvent(USERNAME, UserEventTypeEnum.EVENT_USER_UPDATED.getType()));
+
+        secondNodeCache.put(PASSWORD, userDetails(USERNAME, PASSWORD), generation);
+
+        assertNull(secondNodeCache.get(USERNAME, PASSWORD),
+                   "The credentials verified before the password change should not have been cached.");
+    }
+
+    private void put(VerifiedCredentialsCache cache,
+                     String username,
+                     String password)
+    {
+        cache.put(password, userDetails(username, password), cache.getGeneration());
+    }
+
+    private UserDetails userDetails(String username,
+                                    String password)
+    {
+        return new User(username, password, Collections.emptyList());
+    }
+
+}
@@ -0,0 +1,255 @@
+package org.carlspring.strongbox.artifact;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.EventExecutionEngine;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the download counters and the "last used" timestamps of the artifacts in memory, and writes them
+ * behind into the {@link ArtifactEntry}s, {@code strongbox.artifact.downloadStatistics.batchSize} artifacts per
+ * {@link TransactionalWorkExecutor} unit of work, every {@code strongbox.artifact.downloadStatistics.flushInterval}
+ * milliseconds (or as soon as there are {@code strongbox.artifact.downloadStatistics.maxPending} artifacts
+ * waiting). So at most the statistics of the last flush interval are lost if the node crashes.
+ * <p>
+ * The pending statistics are updated atomically per artifact, without a global lock. If a batch fails, its
+ * statistics are merged back, to be retried with the next flush.
+ * <p>
+ * The flush thread is only started when the {@link EventExecutionEngine} is asynchronous. Otherwise each
+ * download is flushed as soon as it is recorded, so its count is already stored when the download event returns.
+ */
+@Component
+public class ArtifactDownloadStatisticsAggregator
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadStatisticsAggregator.class);
+
+    @Value("${strongbox.artifact.downloadStatistics.flushInterval:5000}")
+    private long flushInterval;
+
+    @Value("${strongbox.artifact.downloadStatistics.batchSize:500}")
+    private int batchSize;
+
+    @Value("${strongbox.artifact.downloadStatistics.maxPending:10000}")
+    private int maxPending;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private TransactionalWorkExecutor transactionalWorkExecutor;
+
+    @Inject
+    private EventExecutionEngine eventExecutionEngine;
+
+    private final Map<URI, PendingDownloads> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        Gauge.builder("strongbox.artifact.downloads.pending", pending, Map::size)
+             .register(Metrics.globalRegistry);
+
+        if (!eventExecutionEngine.isAsync())
+        {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "artifact-download-statistics");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (scheduler == null)
+        {
+            return;
+        }
+
+        scheduler.shutdown();
+        flush();
+    }
+
+    public void recordDownload(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        String storageId = repositoryPath.getRepository().getStorage().getId();
+        String repositoryId = repositoryPath.getRepository().getId();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        merge(new PendingDownloads(repositoryPath, storageId, repositoryId, path, 1, System.currentTimeMillis()));
+
+        if (scheduler == null)
+        {
+            flush();
+        }
+        else if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true))
+        {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    private void merge(PendingDownloads downloads)
+    {
+        pending.merge(downloads.repositoryPath.toUri(), downloads, PendingDownloads::merge);
+    }
+
+    /**
+     * Each pending artifact is removed atomically, so the downloads recorded meanwhile start a new entry, which
+     * is written with the next flush.
+     */
+    synchronized void flush()
+    {
+        flushRequested.set(false);
+
+        List<PendingDownloads> batch = new ArrayList<>(batchSize);
+        for (URI uri : pending.keySet())
+        {
+            PendingDownloads downloads = pending.remove(uri);
+            if (downloads == null)
+            {
+                continue;
+            }
+
+            batch.add(downloads);
+            if (batch.size() >= batchSize)
+            {
+                flushBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty())
+        {
+            flushBatch(batch);
+        }
+    }
+
+    private void flushBatch(List<PendingDownloads> batch)
+    {
+        try
+        {
+            transactionalWorkExecutor.execute(getClass().getSimpleName(), t -> {
+                batch.forEach(this::apply);
+
+                return null;
+            });
+
+            logger.debug(String.format("Flushed download statistics of [%s] artifacts.", batch.size()));
+
+            return;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.warn(String.format("Failed to flush download statistics of [%s] artifacts, will retry.",
+                                      batch.size()),
+                        e);
+        }
+
+        batch.forEach(this::merge);
+    }
+
+    private void apply(PendingDownloads downloads)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(downloads.storageId,
+                                                                           downloads.repositoryId,
+                                                                           downloads.path);
+        if (artifactEntry == null)
+        {
+            logger.debug(String.format("No [%s] found for downloaded path [%s].",
+                                       ArtifactEntry.class.getSimpleName(),
+                                       downloads.repositoryPath));
+
+            return;
+        }
+
+        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + downloads.count);
+        if (artifactEntry.getLastUsed() == null || artifactEntry.getLastUsed().getTime() < downloads.lastUsed)
+        {
+            artifactEntry.setLastUsed(new Date(downloads.lastUsed));
+        }
+
+        artifactEntryService.save(artifactEntry);
+    }
+
+    private static class PendingDownloads
+    {
+
+        private final RepositoryPath repositoryPath;
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final String path;
+
+        private final int count;
+
+        private final long lastUsed;
+
+        private PendingDownloads(RepositoryPath repositoryPath,
+                                 String storageId,
+                                 String repositoryId,
+                                 String path,
+                                 int count,
+                                 long lastUsed)
+        {
+            this.repositoryPath = repositoryPath;
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.path = path;
+            this.count = count;
+            this.lastUsed = lastUsed;
+        }
+
+        private PendingDownloads merge(PendingDownloads other)
+        {
+            return new PendingDownloads(repositoryPath,
+                                        storageId,
+                                        repositoryId,
+                                        path,
+                                        count + other.count,
+                                        Math.max(lastUsed, other.lastUsed));
+        }
+
+    }
+
+}
@@ -6,36 +6,31 @@ import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
-import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.lang.reflect.UndeclaredThrowableException;
-import java.util.concurrent.locks.Lock;
+import java.io.UncheckedIOException;
 
-import com.orientechnologies.common.concur.ONeedRetryException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.transaction.ChainedTransactionManager;
-import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Updates the {@link ArtifactEntry} of the event path within a {@link TransactionalWorkExecutor} unit of work.
+ * <p>
+ * The {@link ArtifactEntry} is read again with each attempt, and the concurrent updates are detected by the
+ * entity version check on save, in which case the unit of work is retried.
+ */
 public abstract class AsyncArtifactEntryHandler
 {
 
-    private static final int MAX_RETRY = 10;
-
     private static final Logger logger = LoggerFactory.getLogger(AsyncArtifactEntryHandler.class);
 
     @Inject
     private ArtifactEntryService artifactEntryService;
 
     @Inject
-    private RepositoryPathLock repositoryPathLock;
-
-    @Inject
-    private PlatformTransactionManager transactionManager;
+    private TransactionalWorkExecutor transactionalWorkExecutor;
 
     private final ArtifactEventTypeEnum eventType;
 
@@ -61,119 +56,41 @@ public abstract class AsyncArtifactEntryHandler
             return;
         }
 
-        // TODO: this is needed just as workadound to have new transaction
-        // within this async event (expected to be replaced with
-        // just Propagation.REQUIRES_NEW after SB-1200)
-        Thread threadWithNewTransactionContext = new Thread(() -> {
-            try
-            {
-                handleLocked(repositoryPath);
-            }
-            catch (Exception e)
-            {
-                logger.error(String.format("Failed to handle async event [%s]",
-                                           AsyncArtifactEntryHandler.this.getClass().getSimpleName()),
-                             e);
-            }
-        });
-
-        threadWithNewTransactionContext.start();
-        threadWithNewTransactionContext.join();
-    }
-
-    private void handleLocked(RepositoryPath repositoryPath)
-        throws IOException,
-        InterruptedException
-    {
-        Lock lock = repositoryPathLock.lock(repositoryPath,
-                                            ArtifactEntry.class.getSimpleName())
-                                      .writeLock();
-        lock.lock();
         try
         {
-            handleWithRetry(repositoryPath);
-        } 
-        finally
+            transactionalWorkExecutor.execute(getClass().getSimpleName(), t -> handleTransactional(repositoryPath));
+        }
+        catch (IOException | RuntimeException e)
         {
-            lock.unlock();
+            logger.error(String.format("Failed to handle async event [%s]",
+                                       AsyncArtifactEntryHandler.this.getClass().getSimpleName()),
+                         e);
         }
     }
 
-    /**
-     * This retry needed if {@link ArtifactEntry} fetched between DB and
-     * Hazelcast transactions commits.
-     *
-     * @see ChainedTransactionManager
-     * 
-     * @param repositoryPath
-     * @throws InterruptedException
-     * @throws IOException
-     */
-    private void handleWithRetry(RepositoryPath repositoryPath)
-        throws InterruptedException,
-        IOException
+    private ArtifactEntry handleTransactional(RepositoryPath repositoryPath)
     {
-        Object sync = new Object();
-
-        for (int i = 1; i <= MAX_RETRY; i++)
+        try
         {
-            try
+            ArtifactEntry result = handleEvent(repositoryPath);
+            if (result == null)
             {
-
-                handleTransactional(repositoryPath);
-
-                return;
-            }
-            catch (ONeedRetryException e)
-            {
-                logger.debug(String.format("Retry event [%s] for path [%s]", this.getClass().getSimpleName(),
+                logger.debug(String.format("No [%s] result for event [%s] and path [%s].",
+                                           ArtifactEntry.class.getSimpleName(),
+                                           AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
                                            repositoryPath));
-                propogateIfNeeded(i, repositoryPath, e);
-            }
 
-            synchronized (sync)
-            {
-                sync.wait(10);
+                return null;
             }
-        }
-    }
 
-    private void propogateIfNeeded(int i,
-                                   RepositoryPath repositoryPath,
-                                   ONeedRetryException e)
-        throws IOException
-    {
-        if (i >= MAX_RETRY)
+            return artifactEntryService.save(result);
+        }
+        catch (IOException e)
         {
-            throw e;
+            throw new UncheckedIOException(e);
         }
     }
 
-    private void handleTransactional(RepositoryPath repositoryPath)
-    {
-        new TransactionTemplate(transactionManager).execute(t -> {
-            try
-            {
-                ArtifactEntry result = handleEvent(repositoryPath);
-                if (result == null)
-                {
-                    logger.debug(String.format("No [%s] result for event [%s] and path [%s].",
-                                               ArtifactEntry.class.getSimpleName(),
-                                               AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
-                                               repositoryPath));
-
-                    return null;
-                }
-
-                return artifactEntryService.save(result);
-            }
-            catch (IOException e)
-            {
-                throw new UndeclaredThrowableException(e);
-            }
-        });
-    }
-
     protected abstract ArtifactEntry handleEvent(RepositoryPath repositoryPath)
         throws IOException;
 
@@ -0,0 +1,250 @@
+package org.carlspring.strongbox.artifact;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import com.orientechnologies.common.concur.ONeedRetryException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executes the units of work within a pool of worker threads, each one in a new ({@code REQUIRES_NEW})
+ * transaction, which doesn't depend on the transaction context of the calling thread.
+ * <p>
+ * The units of work rely on the optimistic version checks of the entities: if a transaction fails with
+ * {@link ONeedRetryException} (for example, because an entity has been changed by a concurrent transaction),
+ * the unit of work is retried, up to {@code strongbox.artifact.transactionalWork.maxAttempts} times, after an
+ * exponential backoff with full jitter.
+ * <p>
+ * The following metrics are reported, tagged with the name of the unit of work:
+ * {@code strongbox.artifact.transactionalWork} (latency, including the retries),
+ * {@code strongbox.artifact.transactionalWork.conflicts} and {@code strongbox.artifact.transactionalWork.retries}.
+ */
+@Component
+public class TransactionalWorkExecutor
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalWorkExecutor.class);
+
+    /**
+     * The units of work submitted from a worker thread are executed by the same worker, within its transaction,
+     * otherwise the workers could end up waiting for the tasks queued behind them.
+     */
+    private static final ThreadLocal<Boolean> WORKER_CONTEXT = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    @Value("${strongbox.artifact.transactionalWork.poolSize:4}")
+    private int poolSize;
+
+    @Value("${strongbox.artifact.transactionalWork.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${strongbox.artifact.transactionalWork.maxAttempts:10}")
+    private int maxAttempts;
+
+    @Value("${strongbox.artifact.transactionalWork.initialBackoff:10}")
+    private long initialBackoff;
+
+    @Value("${strongbox.artifact.transactionalWork.maxBackoff:1000}")
+    private long maxBackoff;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, WorkMetrics> metrics = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize,
+                                          poolSize,
+                                          60L,
+                                          TimeUnit.SECONDS,
+                                          new ArrayBlockingQueue<>(queueCapacity),
+                                          r -> {
+                                              Thread thread = new Thread(r, "transactional-work-" +
+                                                                            counter.incrementAndGet());
+                                              thread.setDaemon(true);
+
+                                              return thread;
+                                          },
+                                          (r, e) -> {
+                                              if (e.isShutdown())
+                                              {
+                                                  throw new RejectedExecutionException("Executor has been shut down.");
+                                              }
+
+                                              try
+                                              {
+                                                  e.getQueue().put(r);
+                                              }
+                                              catch (InterruptedException ex)
+                                              {
+                                                  Thread.currentThread().interrupt();
+
+                                                  throw new RejectedExecutionException(ex);
+                                              }
+                                          });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdown();
+    }
+
+    /**
+     * Executes the unit of work and waits for its result.
+     *
+     * @param name the name of the unit of work, used for the logs and the metrics
+     */
+    public <T> T execute(String name,
+                         TransactionCallback<T> unitOfWork)
+        throws IOException,
+        InterruptedException
+    {
+        if (WORKER_CONTEXT.get())
+        {
+            return executeWithRetry(name, unitOfWork);
+        }
+
+        Future<T> future = executor.submit(() -> {
+            WORKER_CONTEXT.set(Boolean.TRUE);
+            try
+            {
+                return executeWithRetry(name, unitOfWork);
+            }
+            finally
+            {
+                WORKER_CONTEXT.set(Boolean.FALSE);
+            }
+        });
+
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            future.cancel(true);
+
+            throw e;
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    private <T> T executeWithRetry(String name,
+                                   TransactionCallback<T> unitOfWork)
+        throws InterruptedException
+    {
+        WorkMetrics workMetrics = metrics.computeIfAbsent(name, WorkMetrics::new);
+        long start = System.nanoTime();
+        try
+        {
+            for (int attempt = 1; ; attempt++)
+            {
+                try
+                {
+                    return transactionTemplate.execute(unitOfWork);
+                }
+                catch (ONeedRetryException e)
+                {
+                    workMetrics.conflicts.increment();
+                    if (attempt >= maxAttempts)
+                    {
+                        throw e;
+                    }
+
+                    logger.debug(String.format("Retry [%s], attempt [%s] of [%s].", name, attempt, maxAttempts));
+                    workMetrics.retries.increment();
+
+                    Thread.sleep(backoff(attempt));
+                }
+            }
+        }
+        finally
+        {
+            workMetrics.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter: a random delay up to {@code initialBackoff * 2^(attempt - 1)}, capped
+     * by {@code maxBackoff}.
+     */
+    private long backoff(int attempt)
+    {
+        long ceiling = Math.min(maxBackoff, initialBackoff << Math.min(attempt - 1, 30));
+
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static class WorkMetrics
+    {
+
+        private final Timer latency;
+
+        private final Counter conflicts;
+
+        private final Counter retries;
+
+        private WorkMetrics(String name)
+        {
+            latency = Timer.builder("strongbox.artifact.transactionalWork")
+                           .tag("name", name)
+                           .register(Metrics.globalRegistry);
+            conflicts = Counter.builder("strongbox.artifact.transactionalWork.conflicts")
+                               .tag("name", name)
+                               .register(Metrics.globalRegistry);
+            retries = Counter.builder("strongbox.artifact.transactionalWork.retries")
+                             .tag("name", name)
+                             .register(Metrics.globalRegistry);
+        }
+
+    }
+
+}
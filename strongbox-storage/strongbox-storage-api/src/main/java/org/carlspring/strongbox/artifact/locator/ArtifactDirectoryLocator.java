@@ -6,6 +6,9 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -19,6 +22,8 @@ public class ArtifactDirectoryLocator
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactDirectoryLocator.class);
 
+    private static final long PROGRESS_REPORT_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
     private ArtifactDirectoryOperation operation;
 
     /**
@@ -27,27 +32,29 @@ public class ArtifactDirectoryLocator
      */
     private RepositoryPath basedir;
 
+    private final LongAdder visitedDirectories = new LongAdder();
+
+    private final AtomicLong lastProgressReport = new AtomicLong();
+
+    private long startTime;
+
     public void locateArtifactDirectories()
         throws IOException
     {
-        long startTime = System.currentTimeMillis();
-
         RepositoryPath startingPath = getStartingPath();
 
+        started();
+
         try (Stream<Path> pathStream = Files.walk(startingPath))
         {
+            // Files.walk() goes depth first, so the directories of an artifact are visited one after another without
+            // sorting (and thus reading into memory) the whole tree.
             pathStream.filter(Files::isDirectory)
-                      // Skip directories which start with a dot (like, for example: .index)
-                      .filter(path -> !path.getFileName().toString().startsWith("."))
-                      // Note: Sorting can be expensive:
-                      .sorted()
+                      .filter(ArtifactDirectoryLocator::isOperated)
                       .forEach(this::execute);
         }
 
-        long endTime = System.currentTimeMillis();
-
-        logger.debug("Executed (cache: " + -operation.getVisitedRootPaths().size() + ")" +
-                     " visits in " + (endTime - startTime) + " ms.");
+        finished(startingPath);
 
         getOperation().getVisitedRootPaths().clear();
     }
@@ -88,16 +95,70 @@ public class ArtifactDirectoryLocator
         this.basedir = basedir;
     }
 
+    /**
+     * @return the number of the directories the operation has been executed on by the last run.
+     */
+    public long getVisitedDirectories()
+    {
+        return visitedDirectories.sum();
+    }
+
+    /**
+     * Skips the directories which start with a dot (like, for example: .index), but not their subdirectories.
+     */
+    static boolean isOperated(Path directory)
+    {
+        return !directory.getFileName().toString().startsWith(".");
+    }
+
     void execute(Path path)
+    {
+        execute(operation, (RepositoryPath) path);
+    }
+
+    void execute(ArtifactDirectoryOperation operation,
+                 RepositoryPath path)
     {
         try
         {
-            operation.execute((RepositoryPath) path);
+            operation.execute(path);
         }
         catch (IOException e)
         {
             logger.error(String.format("Failed to execute operation [%s]", operation.getClass().getSimpleName()), e);
         }
+
+        visitedDirectories.increment();
+
+        long now = System.currentTimeMillis();
+        long lastReport = lastProgressReport.get();
+        if (now - lastReport >= PROGRESS_REPORT_INTERVAL && lastProgressReport.compareAndSet(lastReport, now))
+        {
+            logger.info(String.format("Operation [%s] has visited [%s] directories so far (%s directories/s).",
+                                      operation.getClass().getSimpleName(), visitedDirectories.sum(),
+                                      throughput(now)));
+        }
+    }
+
+    void started()
+    {
+        visitedDirectories.reset();
+        startTime = System.currentTimeMillis();
+        lastProgressReport.set(startTime);
     }
-    
+
+    void finished(RepositoryPath startingPath)
+    {
+        long endTime = System.currentTimeMillis();
+
+        logger.info(String.format("Operation [%s] visited [%s] directories in [%s] in [%s] ms (%s directories/s).",
+                                  operation.getClass().getSimpleName(), visitedDirectories.sum(), startingPath,
+                                  endTime - startTime, throughput(endTime)));
+    }
+
+    private long throughput(long now)
+    {
+        return visitedDirectories.sum() * 1000 / Math.max(now - startTime, 1);
+    }
+
 }
@@ -0,0 +1,186 @@
+package org.carlspring.strongbox.artifact.locator;
+
+import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOperation;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link ArtifactDirectoryLocator} which walks the subdirectories of each directory in a fork-join task of its own,
+ * so that the operation is executed on up to {@code parallelism} subtrees at the same time.
+ * <p>
+ * The operations keep the state of the walk (the artifact directories they have already visited), so each task uses
+ * an operation of its own, created by the given factory. The task of a directory executes its operation on all of its
+ * subdirectories (that is, on all the version directories of an artifact) before the subtrees below them are forked,
+ * which keeps both the visited state of an artifact within a single operation, and the parent directories operated on
+ * before their children, as with the sequential walk.
+ */
+public class ParallelArtifactDirectoryLocator
+        extends ArtifactDirectoryLocator
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelArtifactDirectoryLocator.class);
+
+    /**
+     * The walks are bound by the disk and the database rather than by the processors, so the default parallelism
+     * doesn't grow with the number of processors beyond this.
+     */
+    private static final int MAX_DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The pools are shared by the walks with the same parallelism, their idle workers terminate on their own.
+     */
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final Supplier<? extends ArtifactDirectoryOperation> operationFactory;
+
+    private final int parallelism;
+
+    /**
+     * @param operationFactory creates the operations of the tasks, all of them configured in the same way.
+     * @param parallelism      the maximum number of the directories operated on at the same time; the directories are
+     *                         walked sequentially, as by the {@link ArtifactDirectoryLocator}, if it is 1 (which
+     *                         is the default of the {@code strongbox.artifact.locator.parallelism} property), and
+     *                         {@link #getDefaultParallelism()} is used if it is 0 or less.
+     */
+    public ParallelArtifactDirectoryLocator(Supplier<? extends ArtifactDirectoryOperation> operationFactory,
+                                            int parallelism)
+    {
+        this.operationFactory = operationFactory;
+        this.parallelism = parallelism > 0 ? parallelism : getDefaultParallelism();
+
+        setOperation(operationFactory.get());
+    }
+
+    /**
+     * @return the number of the available processors, up to {@value #MAX_DEFAULT_PARALLELISM}.
+     */
+    public static int getDefaultParallelism()
+    {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_PARALLELISM);
+    }
+
+    @Override
+    public void locateArtifactDirectories()
+        throws IOException
+    {
+        if (parallelism <= 1)
+        {
+            super.locateArtifactDirectories();
+
+            return;
+        }
+
+        RepositoryPath startingPath = getStartingPath();
+
+        started();
+
+        if (isOperated(startingPath))
+        {
+            execute(startingPath);
+        }
+
+        POOLS.computeIfAbsent(parallelism, ParallelArtifactDirectoryLocator::newPool)
+             .invoke(new DirectoryTask(startingPath, getOperation()));
+
+        finished(startingPath);
+
+        getOperation().getVisitedRootPaths().clear();
+    }
+
+    private static ForkJoinPool newPool(int parallelism)
+    {
+        return new ForkJoinPool(parallelism, ParallelArtifactDirectoryLocator::newWorkerThread, null, false);
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool)
+    {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("artifact-directory-locator-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+    private class DirectoryTask
+            extends RecursiveAction
+    {
+
+        private final RepositoryPath directory;
+
+        /**
+         * The operation of the starting directory, the other tasks create theirs once they are run.
+         */
+        private final ArtifactDirectoryOperation rootOperation;
+
+        private DirectoryTask(RepositoryPath directory,
+                              ArtifactDirectoryOperation rootOperation)
+        {
+            this.directory = directory;
+            this.rootOperation = rootOperation;
+        }
+
+        @Override
+        protected void compute()
+        {
+            List<RepositoryPath> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory))
+            {
+                for (Path path : paths)
+                {
+                    if (Files.isDirectory(path))
+                    {
+                        subdirectories.add((RepositoryPath) path);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to list the directories of [%s]", directory), e);
+
+                return;
+            }
+
+            ArtifactDirectoryOperation operation = rootOperation != null ? rootOperation : operationFactory.get();
+
+            List<DirectoryTask> subtasks = new ArrayList<>(subdirectories.size());
+            for (RepositoryPath subdirectory : subdirectories)
+            {
+                if (isOperated(subdirectory))
+                {
+                    execute(operation, subdirectory);
+                }
+
+                // Same as Files.walk(), don't follow the links to the directories.
+                if (Files.isDirectory(subdirectory, LinkOption.NOFOLLOW_LINKS))
+                {
+                    subtasks.add(new DirectoryTask(subdirectory, null));
+                }
+            }
+
+            if (rootOperation == null)
+            {
+                operation.getVisitedRootPaths().clear();
+            }
+
+            invokeAll(subtasks);
+        }
+
+    }
+
+}
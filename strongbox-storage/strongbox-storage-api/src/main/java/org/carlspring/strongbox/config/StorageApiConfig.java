@@ -40,6 +40,7 @@ public class StorageApiConfig
         ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
         checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
         checksumCacheManager.setCachedChecksumLifetime(60000);
+        checksumCacheManager.setCachedChecksumMaximumSize(10000);
 
         return checksumCacheManager;
     }
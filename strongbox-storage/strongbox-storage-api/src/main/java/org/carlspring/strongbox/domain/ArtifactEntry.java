@@ -42,6 +42,11 @@ public class ArtifactEntry
 
     private Map<String, String> checksums;
 
+    /**
+     * The layout specific attributes of the artifact, which are needed to list it without reading its files.
+     */
+    private Map<String, String> artifactAttributes;
+
     @Embedded
     private ArtifactArchiveListing artifactArchiveListing;
 
@@ -109,6 +114,16 @@ public class ArtifactEntry
         this.checksums = checksums;
     }
 
+    public Map<String, String> getArtifactAttributes()
+    {
+        return artifactAttributes = Optional.ofNullable(artifactAttributes).orElse(new HashMap<>());
+    }
+
+    protected void setArtifactAttributes(Map<String, String> artifactAttributes)
+    {
+        this.artifactAttributes = artifactAttributes;
+    }
+
     public Long getSizeInBytes()
     {
         return sizeInBytes;
@@ -26,6 +26,7 @@ import org.carlspring.strongbox.io.RepositoryStreamCallback;
 import org.carlspring.strongbox.io.RepositoryStreamReadContext;
 import org.carlspring.strongbox.io.RepositoryStreamWriteContext;
 import org.carlspring.strongbox.io.StreamUtils;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.FileChannelSupplier;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryOutputStream;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
@@ -108,6 +109,24 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
                new RepositoryInputStream(repositoryPath, is);
     }
 
+    /**
+     * Decorates the {@link InputStream} of an artifact, which is still being written by another thread
+     * (for example downloaded from a remote repository). Such stream is not guarded by the
+     * {@link RepositoryPathLock}, because it would have to wait for the writer, and the artifact events
+     * are dispatched only if the artifact has been stored by the time the stream is closed (see
+     * {@link InFlightRepositoryStreamSupport}).
+     *
+     * @param channelSupplier provides the channel of the part of the artifact which has already been written
+     */
+    protected RepositoryInputStream decorateInFlight(RepositoryPath repositoryPath,
+                                                     InputStream is,
+                                                     FileChannelSupplier channelSupplier)
+        throws IOException
+    {
+        return new InFlightRepositoryStreamSupport(new InFlightRepositoryStreamCallback(), channelSupplier)
+               .newInputStream(repositoryPath, is);
+    }
+
     @Override
     public RepositoryOutputStream getOutputStream(Path path)
         throws IOException
@@ -274,8 +293,61 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
     {
         Selector<ArtifactEntry> selector = new Selector<>(ArtifactEntry.class);
         selector.where(createPredicate(storageId, repositoryId, p));
-        
+
         return selector;
     }
 
+    private class InFlightRepositoryStreamCallback implements RepositoryStreamCallback
+    {
+
+        @Override
+        public void onBeforeRead(RepositoryStreamReadContext ctx)
+        {
+            logger.debug(String.format("Reading in-flight [%s]", ctx.getPath()));
+        }
+
+        @Override
+        public void onAfterRead(RepositoryStreamReadContext ctx)
+        {
+            RepositoryPath repositoryPath = (RepositoryPath) ctx.getPath();
+            logger.debug(String.format("Complete reading in-flight [%s]", repositoryPath));
+
+            try
+            {
+                if (!RepositoryFiles.isArtifact(repositoryPath) || RepositoryFiles.artifactDoesNotExist(repositoryPath))
+                {
+                    return;
+                }
+            }
+            catch (IOException e)
+            {
+                logger.warn(String.format("Failed to check in-flight [%s].", repositoryPath), e);
+
+                return;
+            }
+
+            artifactEventListenerRegistry.dispatchArtifactDownloadingEvent(repositoryPath);
+            artifactEventListenerRegistry.dispatchArtifactDownloadedEvent(repositoryPath);
+        }
+
+        @Override
+        public void onBeforeWrite(RepositoryStreamWriteContext ctx)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void onAfterWrite(RepositoryStreamWriteContext ctx)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commit(RepositoryStreamWriteContext ctx)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
 }
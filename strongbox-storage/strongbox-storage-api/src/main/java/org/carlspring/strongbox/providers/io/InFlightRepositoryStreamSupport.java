@@ -0,0 +1,60 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.io.LazyInputStream;
+import org.carlspring.strongbox.io.RepositoryStreamCallback;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Supports the streams of the artifacts which are still being written by another thread (for example downloaded
+ * from a remote repository). Such streams are not guarded by the {@link RepositoryPathLock}, as they would have to
+ * wait for the writer, so their lock only tracks the stream itself. It is not bound to the thread which has taken
+ * it, because the streams which are sent through the non-blocking servlet output get closed by a container thread.
+ */
+public class InFlightRepositoryStreamSupport
+        extends RepositoryStreamSupport
+{
+
+    private final FileChannelSupplier channelSupplier;
+
+    /**
+     * @param channelSupplier provides the channel of the part of the artifact which has already been written
+     */
+    public InFlightRepositoryStreamSupport(RepositoryStreamCallback callback,
+                                           FileChannelSupplier channelSupplier)
+    {
+        super(new StampedLock().asReadWriteLock(), callback);
+
+        this.channelSupplier = channelSupplier;
+    }
+
+    public RepositoryInputStream newInputStream(RepositoryPath repositoryPath,
+                                                InputStream is)
+        throws IOException
+    {
+        return new RepositoryInputStream(repositoryPath, new LazyInputStream(() -> is));
+    }
+
+    @Override
+    protected boolean isInFlight()
+    {
+        return true;
+    }
+
+    @Override
+    protected boolean exists(RepositoryPath path)
+    {
+        return true;
+    }
+
+    @Override
+    protected FileChannel openFileChannel(RepositoryPath path)
+        throws IOException
+    {
+        return channelSupplier.get();
+    }
+
+}
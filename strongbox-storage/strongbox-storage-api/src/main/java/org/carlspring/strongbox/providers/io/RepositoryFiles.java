@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.util.Arrays;
@@ -145,7 +146,23 @@ public abstract class RepositoryFiles
     {
         return TempRepositoryPath.of(p);
     }
-    
+
+    /**
+     * Creates a new scratch file in the temporary directory of the repository of the path, which is on the same
+     * volume as the repository itself, and is not a part of its content.
+     *
+     * @return the raw path of the file, which bypasses the repository file system.
+     */
+    public static Path createTempFile(RepositoryPath p,
+                                      String prefix,
+                                      String suffix)
+        throws IOException
+    {
+        Path tempDirectory = Files.createDirectories(p.getFileSystem().getTempPath().getTarget());
+
+        return Files.createTempFile(tempDirectory, prefix, suffix);
+    }
+
     public static RepositoryPath trash(RepositoryPath p)
         throws IOException
     {
@@ -65,6 +65,15 @@ public class RepositoryPath
         return artifactEntry;
     }
 
+    /**
+     * @return the artifact entry which has already been looked up for this path (while it was being resolved, for
+     *         example), or null, without looking it up again
+     */
+    public ArtifactEntry getLoadedArtifactEntry()
+    {
+        return artifactEntry;
+    }
+
     public LayoutFileSystem getFileSystem()
     {
         return fileSystem;
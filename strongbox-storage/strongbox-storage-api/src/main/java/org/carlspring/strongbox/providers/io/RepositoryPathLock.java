@@ -4,7 +4,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -12,14 +14,30 @@ import javax.inject.Inject;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.hazelcast.core.HazelcastInstance;
 
 import ca.thoughtwire.lock.DistributedLockService;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 /**
+ * Provides the locks of the repository paths, which consist of two tiers:
+ * <ul>
+ * <li>a local {@link ReentrantReadWriteLock}, which handles the contention between the threads of this node,</li>
+ * <li>a Hazelcast distributed lock, which is taken after the local one, for the writes, and for the reads when the
+ * node is a member of a cluster (unless the {@code strongbox.lock.distributedReads} property is disabled, in which
+ * case the reads of one node don't wait for the writes of the others).</li>
+ * </ul>
+ * The time spent waiting for the locks and holding them is recorded in the {@code strongbox.lock.wait} and
+ * {@code strongbox.lock.hold} timers.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -28,11 +46,35 @@ public class RepositoryPathLock
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryPathLock.class);
 
+    /**
+     * The local locks are kept only while they are referenced, so there is exactly one lock per name without
+     * the names ever sharing a lock (which could lead to a deadlock, if a thread reading one path writes into
+     * another one).
+     */
+    private final LoadingCache<String, ReadWriteLock> localLocks = CacheBuilder.newBuilder()
+                                                                               .weakValues()
+                                                                               .<String, ReadWriteLock>build(
+                                                                                       CacheLoader.from(ReentrantReadWriteLock::new));
+
+    private final Timer readWaitTimer = lockTimer("strongbox.lock.wait", "read");
+
+    private final Timer writeWaitTimer = lockTimer("strongbox.lock.wait", "write");
+
+    private final Timer readHoldTimer = lockTimer("strongbox.lock.hold", "read");
+
+    private final Timer writeHoldTimer = lockTimer("strongbox.lock.hold", "write");
+
+    @Value("${strongbox.lock.distributedReads:true}")
+    private boolean distributedReads;
+
     private DistributedLockService lockService;
 
+    private HazelcastInstance hazelcastInstance;
+
     @Inject
     public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
     {
+        this.hazelcastInstance = hazelcastInstance;
         lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
     }
 
@@ -49,8 +91,14 @@ public class RepositoryPathLock
                                   .map(p -> String.format("%s?%s", lock, p))
                                   .orElseGet(() -> lock.toString());
         logger.debug(String.format("Get lock for [%s]", lock));
-        
-        return lockService.getReentrantReadWriteLock(lockName);
+
+        ReadWriteLock localLock = localLocks.getUnchecked(lockName);
+        boolean clustered = hazelcastInstance.getCluster().getMembers().size() > 1;
+
+        return new TwoTierReadWriteLock(localLock,
+                                        () -> lockService.getReentrantReadWriteLock(lockName),
+                                        distributedReads && clustered,
+                                        this);
     }
 
     private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
@@ -71,4 +119,24 @@ public class RepositoryPathLock
         return lock;
     }
 
+    void recordWait(boolean write,
+                    long nanos)
+    {
+        (write ? writeWaitTimer : readWaitTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordHold(boolean write,
+                    long nanos)
+    {
+        (write ? writeHoldTimer : readHoldTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer lockTimer(String name,
+                                   String mode)
+    {
+        return Timer.builder(name)
+                    .tag("mode", mode)
+                    .register(Metrics.globalRegistry);
+    }
+
 }
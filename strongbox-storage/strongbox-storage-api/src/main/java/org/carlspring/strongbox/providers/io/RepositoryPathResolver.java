@@ -83,6 +83,12 @@ public class RepositoryPathResolver
     private class CachedRepositoryPath extends RepositoryPath
     {
 
+        /**
+         * The artifact entry which {@link #getArtifactEntry()} has found last. It is only handed out through
+         * {@link #getLoadedArtifactEntry()}, as it is not updated when the artifact changes.
+         */
+        private volatile ArtifactEntry loadedArtifactEntry;
+
         private CachedRepositoryPath(RepositoryPath target)
         {
             super(target.getTarget(), target.getFileSystem());
@@ -97,16 +103,24 @@ public class RepositoryPathResolver
                 return null;
             }
 
-            return artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
-                                                        getRepository().getId(),
-                                                        RepositoryFiles.relativizePath(this));
+            ArtifactEntry result = artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
+                                                                        getRepository().getId(),
+                                                                        RepositoryFiles.relativizePath(this));
             // TODO: we should check this restriction 
 //            if (Files.exists(this) && !Files.isDirectory(this) && RepositoryFiles.isArtifact(this) && result == null)
 //            {
 //                throw new IOException(String.format("Corresponding [%s] record not found for path [%s]",
 //                                                    ArtifactEntry.class.getSimpleName(), this));
 //            }
+            loadedArtifactEntry = result;
+
+            return result;
+        }
 
+        @Override
+        public ArtifactEntry getLoadedArtifactEntry()
+        {
+            return loadedArtifactEntry;
         }
 
         @Override
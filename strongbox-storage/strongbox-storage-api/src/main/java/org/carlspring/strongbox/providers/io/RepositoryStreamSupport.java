@@ -1,9 +1,12 @@
 package org.carlspring.strongbox.providers.io;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -99,6 +102,41 @@ public class RepositoryStreamSupport
         clearContext();
     }
 
+    /**
+     * @return true if the streams follow an artifact which is still being written, and can be closed by any thread.
+     */
+    protected boolean isInFlight()
+    {
+        return false;
+    }
+
+    /**
+     * Checks that the path which is going to be read exists.
+     */
+    protected boolean exists(RepositoryPath path)
+        throws IOException
+    {
+        return RepositoryFiles.artifactExists(path);
+    }
+
+    /**
+     * Opens the {@link FileChannel} of the path which is going to be read, if its content is stored in the local
+     * file system.
+     *
+     * @return the channel, or null if the content is available only through the stream
+     */
+    protected FileChannel openFileChannel(RepositoryPath path)
+        throws IOException
+    {
+        Path target = path.getTarget();
+        if (!"file".equals(target.getFileSystem().provider().getScheme()))
+        {
+            return null;
+        }
+
+        return FileChannel.open(target, StandardOpenOption.READ);
+    }
+
     protected void commit() throws IOException
     {
         callback.commit((RepositoryStreamWriteContext) getContext());
@@ -185,6 +223,14 @@ public class RepositoryStreamSupport
             extends ProxyInputStream
     {
 
+        private boolean readStarted;
+
+        /**
+         * Whether the content has been transferred with {@link #transferTo(FileChannelTransfer)}, which completes the
+         * read once the stream gets closed, even if no bytes were sent (as for the unsatisfiable ranges).
+         */
+        private boolean transferred;
+
         protected RepositoryInputStream(Path path,
                                         InputStream in) throws IOException
         {
@@ -200,7 +246,7 @@ public class RepositoryStreamSupport
                 open();
                 
                 //Check that artifact exists.
-                if (!RepositoryFiles.artifactExists((RepositoryPath) path)) 
+                if (!exists((RepositoryPath) path))
                 {
                     logger.debug(String.format("The path [%s] does not exist!", path));
                     
@@ -221,12 +267,63 @@ public class RepositoryStreamSupport
         protected void beforeRead(int n)
             throws IOException
         {
-            if (((CountingInputStream) in).getByteCount() == 0)
+            if (!readStarted)
             {
                 callback.onBeforeRead((RepositoryStreamReadContext) ctx);
+                readStarted = true;
             }
         }
 
+        /**
+         * @return true if the stream follows an artifact which is still being written, in which case it's not
+         *         guarded by the {@link RepositoryPathLock}, and can be closed by another thread than the one which
+         *         has opened it.
+         */
+        public boolean isInFlight()
+        {
+            return RepositoryStreamSupport.this.isInFlight();
+        }
+
+        /**
+         * Transfers the content straight from the {@link FileChannel} of the file, bypassing the stream decorators,
+         * so that it can be sent without being copied through the heap buffers. The path stays locked and the read
+         * callbacks are invoked in the same way as for the regular reads.
+         *
+         * @return the number of transferred bytes, or -1 if the content can't be transferred this way (it is not
+         *         stored in the local file system, it is served from memory, or the stream has already been read
+         *         from)
+         */
+        public long transferTo(FileChannelTransfer transfer)
+            throws IOException
+        {
+            if (((CountingInputStream) in).getByteCount() > 0 || isServedFromMemory())
+            {
+                return -1;
+            }
+
+            try (FileChannel channel = openFileChannel((RepositoryPath) ctx.getPath()))
+            {
+                if (channel == null)
+                {
+                    return -1;
+                }
+
+                beforeRead(0);
+                transferred = true;
+
+                return transfer.transfer(channel);
+            }
+        }
+
+        /**
+         * @return true if the content is already in memory (for example a cached metadata file), in which case it
+         *         would only be read again from the file by {@link #transferTo(FileChannelTransfer)}
+         */
+        private boolean isServedFromMemory()
+        {
+            return StreamUtils.findSource(ByteArrayInputStream.class, in) != null;
+        }
+
         @Override
         public void close()
             throws IOException
@@ -234,7 +331,7 @@ public class RepositoryStreamSupport
             try
             {
                 super.close();
-                if (((CountingInputStream) in).getByteCount() > 0) 
+                if (((CountingInputStream) in).getByteCount() > 0 || transferred)
                 {
                     callback.onAfterRead((RepositoryStreamReadContext) ctx);
                 }
@@ -247,4 +344,25 @@ public class RepositoryStreamSupport
 
     }
 
+    @FunctionalInterface
+    public interface FileChannelSupplier
+    {
+
+        FileChannel get()
+            throws IOException;
+
+    }
+
+    @FunctionalInterface
+    public interface FileChannelTransfer
+    {
+
+        /**
+         * @return the number of bytes transferred from the channel
+         */
+        long transfer(FileChannel channel)
+            throws IOException;
+
+    }
+
 }
@@ -0,0 +1,257 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link ReadWriteLock} which takes the local lock of the node first, and then, if needed, the distributed lock
+ * of the cluster.
+ *
+ * @see RepositoryPathLock
+ */
+class TwoTierReadWriteLock
+        implements ReadWriteLock
+{
+
+    private final ReadWriteLock localLock;
+
+    private final Supplier<ReadWriteLock> distributedLockSupplier;
+
+    private final boolean distributedReads;
+
+    private final RepositoryPathLock metrics;
+
+    private final Lock readLock;
+
+    private final Lock writeLock;
+
+    TwoTierReadWriteLock(ReadWriteLock localLock,
+                         Supplier<ReadWriteLock> distributedLockSupplier,
+                         boolean distributedReads,
+                         RepositoryPathLock metrics)
+    {
+        this.localLock = localLock;
+        this.distributedLockSupplier = distributedLockSupplier;
+        this.distributedReads = distributedReads;
+        this.metrics = metrics;
+
+        this.readLock = new TwoTierLock(false);
+        this.writeLock = new TwoTierLock(true);
+    }
+
+    @Override
+    public Lock readLock()
+    {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock()
+    {
+        return writeLock;
+    }
+
+    private class TwoTierLock
+            implements Lock
+    {
+
+        private final boolean write;
+
+        private Lock distributedLock;
+
+        private int holdCount;
+
+        private long acquiredAt;
+
+        private TwoTierLock(boolean write)
+        {
+            this.write = write;
+        }
+
+        private Lock local()
+        {
+            return write ? localLock.writeLock() : localLock.readLock();
+        }
+
+        private Lock distributed()
+        {
+            if (!write && !distributedReads)
+            {
+                return null;
+            }
+
+            if (distributedLock == null)
+            {
+                ReadWriteLock lock = distributedLockSupplier.get();
+                distributedLock = write ? lock.writeLock() : lock.readLock();
+            }
+
+            return distributedLock;
+        }
+
+        @Override
+        public void lock()
+        {
+            long start = System.nanoTime();
+
+            local().lock();
+            try
+            {
+                Lock distributed = distributed();
+                if (distributed != null)
+                {
+                    distributed.lock();
+                }
+            }
+            catch (RuntimeException e)
+            {
+                local().unlock();
+
+                throw e;
+            }
+
+            acquired(start);
+        }
+
+        @Override
+        public void lockInterruptibly()
+            throws InterruptedException
+        {
+            long start = System.nanoTime();
+
+            local().lockInterruptibly();
+            try
+            {
+                Lock distributed = distributed();
+                if (distributed != null)
+                {
+                    distributed.lockInterruptibly();
+                }
+            }
+            catch (InterruptedException | RuntimeException e)
+            {
+                local().unlock();
+
+                throw e;
+            }
+
+            acquired(start);
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            long start = System.nanoTime();
+
+            if (!local().tryLock())
+            {
+                return false;
+            }
+
+            boolean locked = false;
+            try
+            {
+                Lock distributed = distributed();
+                locked = distributed == null || distributed.tryLock();
+            }
+            finally
+            {
+                if (!locked)
+                {
+                    local().unlock();
+                }
+            }
+
+            if (!locked)
+            {
+                return false;
+            }
+
+            acquired(start);
+
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+            throws InterruptedException
+        {
+            long start = System.nanoTime();
+            long deadline = start + unit.toNanos(time);
+
+            if (!local().tryLock(time, unit))
+            {
+                return false;
+            }
+
+            boolean locked = false;
+            try
+            {
+                Lock distributed = distributed();
+                locked = distributed == null ||
+                         distributed.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            finally
+            {
+                if (!locked)
+                {
+                    local().unlock();
+                }
+            }
+
+            if (!locked)
+            {
+                return false;
+            }
+
+            acquired(start);
+
+            return true;
+        }
+
+        @Override
+        public void unlock()
+        {
+            if (--holdCount == 0)
+            {
+                metrics.recordHold(write, System.nanoTime() - acquiredAt);
+            }
+
+            try
+            {
+                Lock distributed = distributed();
+                if (distributed != null)
+                {
+                    distributed.unlock();
+                }
+            }
+            finally
+            {
+                local().unlock();
+            }
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        private void acquired(long start)
+        {
+            long now = System.nanoTime();
+            metrics.recordWait(write, now - start);
+
+            if (holdCount++ == 0)
+            {
+                acquiredAt = now;
+            }
+        }
+
+    }
+
+}
@@ -68,11 +68,35 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
 
     protected abstract AbstractLayoutProvider getLayoutProvider();
     
+    /**
+     * Opens the stream without digesting its content. The checksums of the artifacts are calculated when they are
+     * stored, so there is no need to calculate them again each time the artifact is downloaded.
+     *
+     * @see #newDigestingInputStream(RepositoryPath)
+     */
     @Override
     public LazyInputStream newInputStream(Path path,
                                           OpenOption... options)
             throws IOException
-    {        
+    {
+        return newInputStream(path, false, options);
+    }
+
+    /**
+     * Opens the stream which calculates the checksums of its content, using the digest algorithms of the repository,
+     * while it is being read. The results are available through the {@link LayoutInputStream}.
+     */
+    public LazyInputStream newDigestingInputStream(RepositoryPath path)
+            throws IOException
+    {
+        return newInputStream(path, true);
+    }
+
+    private LazyInputStream newInputStream(Path path,
+                                           boolean digest,
+                                           OpenOption... options)
+            throws IOException
+    {
         return new LazyInputStream(() -> {
             try
             {
@@ -92,7 +116,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                 bris.setReloadableInputStreamHandler(new FSReloadableInputStreamHandler(path.toFile()));
                 bris.setLength(Files.size(path));
 
-                return decorateStream((RepositoryPath) path, bris);
+                return decorateStream((RepositoryPath) path, bris, digest);
             }
             catch (NoSuchAlgorithmException e)
             {
@@ -102,11 +126,12 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     }
 
     protected LayoutInputStream decorateStream(RepositoryPath path,
-                                               InputStream is)
+                                               InputStream is,
+                                               boolean digest)
             throws NoSuchAlgorithmException, IOException
     {
         // Add digest algorithm only if it is not a Checksum (we don't need a Checksum of Checksum).
-        if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
+        if (!digest || Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
         {
             return new LayoutInputStream(is, Collections.emptySet());
         }
@@ -208,7 +233,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                  boolean force)
             throws IOException
     {
-        try (InputStream is = newInputStream(path))
+        try (InputStream is = newDigestingInputStream(path))
         {
             byte[] buffer = new byte[1024];
             while (is.read(buffer) > 0)
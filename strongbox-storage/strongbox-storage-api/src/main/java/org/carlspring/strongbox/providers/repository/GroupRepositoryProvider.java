@@ -6,12 +6,15 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -31,8 +34,11 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryParallelPathResolver;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
 import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
 import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
+import org.carlspring.strongbox.services.support.RoutingRulesMatcher.RoutingDecision;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.util.ThrowingFunction;
@@ -62,6 +68,12 @@ public class GroupRepositoryProvider
     @Inject
     private GroupRepositorySetCollector groupRepositorySetCollector;
 
+    @Inject
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
+    @Inject
+    private GroupRepositoryParallelPathResolver groupRepositoryParallelPathResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -99,8 +111,96 @@ public class GroupRepositoryProvider
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath)
             throws IOException
     {
+        return resolvePathTraversal(repositoryPath, new AtomicBoolean());
+    }
+
+    /**
+     * @param memberFailed set if any of the group members (or of the members of the nested groups) has failed to
+     *                     answer, in which case the path is not known to be missing.
+     */
+    private RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath,
+                                                AtomicBoolean memberFailed)
+            throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        String resolvedStorageAndRepositoryId = groupRepositoryPathResolutionCache.get(groupRepository, path);
+        if (GroupRepositoryPathResolutionCache.isNotFound(resolvedStorageAndRepositoryId))
+        {
+            logger.debug("Path [{}] is known to be missing in all of the group members, skipping...", repositoryPath);
+
+            return null;
+        }
+        else if (resolvedStorageAndRepositoryId != null)
+        {
+            // A failure of the cached member is seen again by the traversal below.
+            RepositoryPath result = resolvePathFromCachedGroupMember(repositoryPath,
+                                                                     resolvedStorageAndRepositoryId,
+                                                                     new AtomicBoolean());
+            if (result != null)
+            {
+                return result;
+            }
+
+            groupRepositoryPathResolutionCache.evict(groupRepository, path);
+        }
+
+        AtomicBoolean traversalMemberFailed = new AtomicBoolean();
+        RepositoryPath result = resolvePathTraversalInternal(repositoryPath, traversalMemberFailed);
+        if (result == null && traversalMemberFailed.get())
+        {
+            logger.debug("Path [{}] could not be resolved in all of the group members, not caching.", repositoryPath);
+
+            memberFailed.set(true);
+        }
+        else if (result == null)
+        {
+            groupRepositoryPathResolutionCache.putNotFound(groupRepository, path);
+        }
+        else
+        {
+            groupRepositoryPathResolutionCache.putResolved(groupRepository, path, result.getRepository());
+        }
+
+        return result;
+    }
+
+    private RepositoryPath resolvePathFromCachedGroupMember(RepositoryPath repositoryPath,
+                                                            String storageAndRepositoryId,
+                                                            AtomicBoolean memberFailed)
+            throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+
+        String sId = ConfigurationUtils.getStorageId(groupRepository.getStorage().getId(), storageAndRepositoryId);
+        String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+
+        Storage subStorage = getConfiguration().getStorage(sId);
+        Repository subRepository = subStorage == null ? null : subStorage.getRepository(rId);
+        if (subRepository == null)
+        {
+            return null;
+        }
+
+        RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+
+        return resolvePathFromGroupMemberOrTraverse(subRepositoryPath, memberFailed);
+    }
+
+    private RepositoryPath resolvePathTraversalInternal(RepositoryPath repositoryPath,
+                                                        AtomicBoolean memberFailed)
+            throws IOException
+    {
+        if (groupRepositoryParallelPathResolver.isEnabled())
+        {
+            return resolvePathInParallel(repositoryPath, memberFailed);
+        }
+
         Repository groupRepository = repositoryPath.getRepository();
         Storage storage = groupRepository.getStorage();
+        RoutingDecision routingDecision = artifactRoutingRulesChecker.match(groupRepository,
+                                                                            RepositoryFiles.relativizePath(repositoryPath));
 
         // Iterate over the `repositories` collection.
         for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
@@ -111,12 +211,12 @@ public class GroupRepositoryProvider
             Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
             RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
 
-            if (!isRepositoryResolvable(groupRepository, subRepository, subRepositoryPath))
+            if (!isRepositoryResolvable(subRepository, routingDecision))
             {
                 continue;
             }
 
-            subRepositoryPath = resolvePathFromGroupMemberOrTraverse(subRepositoryPath);
+            subRepositoryPath = resolvePathFromGroupMemberOrTraverse(subRepositoryPath, memberFailed);
             if (subRepositoryPath == null)
             {
                 continue;
@@ -130,10 +230,50 @@ public class GroupRepositoryProvider
         return null;
     }
 
-    private boolean isRepositoryResolvable(Repository groupRepository,
-                                           Repository subRepository,
-                                           RepositoryPath repositoryPath)
+    /**
+     * Same as {@link #resolvePathTraversalInternal(RepositoryPath, AtomicBoolean)}, but all of the group members are
+     * first probed at once for the existence of the path (see {@link #probeGroupMember(RepositoryPath)}), and then
+     * the path is fetched only from the first member (in the declared order) which may have it.
+     */
+    private RepositoryPath resolvePathInParallel(RepositoryPath repositoryPath,
+                                                 AtomicBoolean memberFailed)
             throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+        Storage storage = groupRepository.getStorage();
+        RoutingDecision routingDecision = artifactRoutingRulesChecker.match(groupRepository,
+                                                                            RepositoryFiles.relativizePath(repositoryPath));
+
+        List<Callable<Boolean>> probes = new ArrayList<>();
+        List<Callable<RepositoryPath>> fetches = new ArrayList<>();
+        for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
+        {
+            String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
+            String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+
+            Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
+            RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+
+            if (!isRepositoryResolvable(subRepository, routingDecision))
+            {
+                continue;
+            }
+
+            probes.add(() -> probeGroupMember(subRepositoryPath));
+            fetches.add(() -> resolvePathFromGroupMemberOrTraverse(subRepositoryPath, memberFailed));
+        }
+
+        RepositoryPath result = groupRepositoryParallelPathResolver.resolve(probes, fetches);
+        if (result != null)
+        {
+            logger.debug(String.format("Located artifact: [%s]", result));
+        }
+
+        return result;
+    }
+
+    private boolean isRepositoryResolvable(Repository subRepository,
+                                           RoutingDecision routingDecision)
     {
         final boolean isInService = subRepository.isInService();
 
@@ -146,7 +286,7 @@ public class GroupRepositoryProvider
             return false;
         }
 
-        final boolean isRoutable = !artifactRoutingRulesChecker.isDenied(groupRepository, repositoryPath);
+        final boolean isRoutable = !routingDecision.isDenied(subRepository);
 
         if (!isRoutable)
         {
@@ -166,13 +306,37 @@ public class GroupRepositoryProvider
         return null;
     }
 
-    protected RepositoryPath resolvePathFromGroupMemberOrTraverse(RepositoryPath repositoryPath)
+    /**
+     * @return false only if the group member certainly doesn't have the path, which is checked without fetching it
+     *         from a remote repository
+     */
+    private boolean probeGroupMember(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        Repository repository = repositoryPath.getRepository();
+        if (getAlias().equals(repository.getType()))
+        {
+            // The members of a nested group are probed once it gets resolved itself.
+            return true;
+        }
+
+        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
+        if (provider instanceof ProxyRepositoryProvider)
+        {
+            return ((ProxyRepositoryProvider) provider).probePath(repositoryPath);
+        }
+
+        return provider.fetchPath(repositoryPath) != null;
+    }
+
+    protected RepositoryPath resolvePathFromGroupMemberOrTraverse(RepositoryPath repositoryPath,
+                                                                  AtomicBoolean memberFailed)
             throws IOException
     {
         Repository repository = repositoryPath.getRepository();
         if (getAlias().equals(repository.getType()))
         {
-            return resolvePathTraversal(repositoryPath);
+            return resolvePathTraversal(repositoryPath, memberFailed);
         }
 
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
@@ -183,6 +347,7 @@ public class GroupRepositoryProvider
         catch (IOException e)
         {
             logger.error(String.format("Failed to resolve path [%s]", repositoryPath));
+            memberFailed.set(true);
             return null;
         }
     }
@@ -9,17 +9,23 @@ import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
+import org.carlspring.strongbox.providers.repository.proxied.InFlightRemoteArtifactFetch;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactFetchRegistry;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -49,12 +55,30 @@ public class ProxyRepositoryProvider
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private RemoteArtifactFetchRegistry remoteArtifactFetchRegistry;
+
     @Override
     public String getAlias()
     {
         return ALIAS;
     }
 
+    @Override
+    public RepositoryInputStream getInputStream(Path path)
+        throws IOException
+    {
+        InFlightRemoteArtifactFetch inFlightFetch = remoteArtifactFetchRegistry.get((RepositoryPath) path);
+        InputStream is = inFlightFetch == null ? null : inFlightFetch.newFollowerInputStream();
+        if (is == null)
+        {
+            return super.getInputStream(path);
+        }
+
+        // Follow the download which is in progress, instead of waiting for it to be stored.
+        return decorateInFlight((RepositoryPath) path, is, inFlightFetch::openSpoolChannel);
+    }
+
     @Override
     protected InputStream getInputStreamInternal(RepositoryPath path)
         throws IOException
@@ -70,7 +94,7 @@ public class ProxyRepositoryProvider
 
         if (targetPath == null)
         {
-            targetPath = resolvePathExclusive(repositoryPath);
+            targetPath = resolvePathSingleFlight(repositoryPath);
         }
         else if (RepositoryFiles.hasExpired(targetPath))
         {
@@ -80,7 +104,169 @@ public class ProxyRepositoryProvider
         return targetPath;
     }
 
-    private RepositoryPath resolvePathExclusive(RepositoryPath repositoryPath)
+    /**
+     * Checks whether {@link #fetchPath(RepositoryPath)} could resolve the path, without fetching it from the remote
+     * repository: the path is either cached, already being fetched, or the remote repository doesn't deny having it.
+     */
+    protected boolean probePath(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return hostedRepositoryProvider.fetchPath(repositoryPath) != null
+               || remoteArtifactFetchRegistry.get(repositoryPath) != null
+               || proxyRepositoryArtifactResolver.mayExistRemotely(repositoryPath);
+    }
+
+    /**
+     * Only one of the concurrent requests for the same path (the leader) fetches it from the remote
+     * repository, while the others (the followers) wait until the leader has received the first bytes
+     * and then follow its download (see {@link #getInputStream(Path)}).
+     */
+    private RepositoryPath resolvePathSingleFlight(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        InFlightRemoteArtifactFetch inFlightFetch = remoteArtifactFetchRegistry.register(repositoryPath);
+        if (inFlightFetch != null)
+        {
+            return resolvePathAsLeader(repositoryPath, inFlightFetch);
+        }
+
+        inFlightFetch = remoteArtifactFetchRegistry.get(repositoryPath);
+        if (inFlightFetch == null)
+        {
+            // The leader has already finished.
+            return hostedRepositoryProvider.fetchPath(repositoryPath);
+        }
+
+        return follow(repositoryPath, inFlightFetch);
+    }
+
+    private RepositoryPath follow(RepositoryPath repositoryPath,
+                                  InFlightRemoteArtifactFetch inFlightFetch)
+            throws IOException
+    {
+        if (RepositoryFiles.isArtifact(repositoryPath) && inFlightFetch.awaitStarted())
+        {
+            logger.debug(String.format("Following the remote fetch of [%s].", repositoryPath));
+
+            return repositoryPath;
+        }
+
+        inFlightFetch.awaitDone();
+
+        return hostedRepositoryProvider.fetchPath(repositoryPath);
+    }
+
+    private RepositoryPath resolvePathAsLeader(RepositoryPath repositoryPath,
+                                               InFlightRemoteArtifactFetch inFlightFetch)
+            throws IOException
+    {
+        if (proxyRepositoryArtifactResolver.isAsyncFetchEnabled())
+        {
+            return resolvePathAsAsyncLeader(repositoryPath, inFlightFetch);
+        }
+
+        try
+        {
+            RepositoryPath targetPath = resolvePathExclusive(repositoryPath, inFlightFetch);
+            remoteArtifactFetchRegistry.complete(inFlightFetch);
+
+            return targetPath;
+        }
+        catch (IOException e)
+        {
+            remoteArtifactFetchRegistry.fail(inFlightFetch, e);
+
+            throw e;
+        }
+        catch (RuntimeException e)
+        {
+            remoteArtifactFetchRegistry.fail(inFlightFetch, new IOException(e));
+
+            throw e;
+        }
+    }
+
+    /**
+     * The leader only starts the download, which then goes on without holding its thread, and follows it in the same
+     * way as the followers do.
+     */
+    private RepositoryPath resolvePathAsAsyncLeader(RepositoryPath repositoryPath,
+                                                    InFlightRemoteArtifactFetch inFlightFetch)
+            throws IOException
+    {
+        CompletableFuture<RepositoryPath> fetch;
+        try
+        {
+            fetch = startFetchExclusive(repositoryPath, inFlightFetch);
+        }
+        catch (IOException e)
+        {
+            remoteArtifactFetchRegistry.fail(inFlightFetch, e);
+
+            throw e;
+        }
+        catch (RuntimeException e)
+        {
+            remoteArtifactFetchRegistry.fail(inFlightFetch, new IOException(e));
+
+            throw e;
+        }
+
+        fetch.whenComplete((targetPath, e) -> {
+            if (e == null)
+            {
+                remoteArtifactFetchRegistry.complete(inFlightFetch);
+
+                return;
+            }
+
+            IOException failure = toIOException(e);
+            logger.error(String.format("Failed to resolve Path for proxied artifact [%s]", repositoryPath),
+                         failure);
+
+            remoteArtifactFetchRegistry.fail(inFlightFetch, failure);
+        });
+
+        return follow(repositoryPath, inFlightFetch);
+    }
+
+    private CompletableFuture<RepositoryPath> startFetchExclusive(RepositoryPath repositoryPath,
+                                                                  InFlightRemoteArtifactFetch inFlightFetch)
+            throws IOException
+    {
+        ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "pre-remote-fetch");
+        Lock lock = lockSource.writeLock();
+        lock.lock();
+
+        try
+        {
+            RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
+            if (targetPath != null)
+            {
+                return CompletableFuture.completedFuture(targetPath);
+            }
+
+            return proxyRepositoryArtifactResolver.fetchRemoteResourceAsync(repositoryPath, inFlightFetch);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private static IOException toIOException(Throwable e)
+    {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof UncheckedIOException)
+        {
+            return ((UncheckedIOException) cause).getCause();
+        }
+
+        return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+
+    private RepositoryPath resolvePathExclusive(RepositoryPath repositoryPath,
+                                                InFlightRemoteArtifactFetch inFlightFetch)
             throws IOException
     {
 
@@ -98,7 +284,7 @@ public class ProxyRepositoryProvider
                 return targetPath;
 
             }
-            return proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath);
+            return proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath, inFlightFetch);
         }
         catch (IOException e)
         {
@@ -0,0 +1,179 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Probes the members of a group repository concurrently for the existence of a path, while keeping the declared
+ * member order as the only criteria for the winner. The probes don't fetch anything from the remote repositories,
+ * so the path is then fetched on the calling thread from the first member (in the declared order) which may have
+ * it, and only from the next ones if that fetch doesn't resolve it. Once the path has been resolved, the probes
+ * which haven't been started yet are cancelled.
+ * <p>
+ * This mode is disabled by default and can be enabled with the
+ * {@code strongbox.group.parallelResolution.enabled} property.
+ */
+@Component
+public class GroupRepositoryParallelPathResolver
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryParallelPathResolver.class);
+
+    @Value("${strongbox.group.parallelResolution.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.group.parallelResolution.threadsNumber:16}")
+    private int threadsNumber;
+
+    @Value("${strongbox.group.parallelResolution.queueSize:1024}")
+    private int queueSize;
+
+    private ThreadPoolExecutor executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        executor = new ThreadPoolExecutor(threadsNumber,
+                                          threadsNumber,
+                                          60L,
+                                          TimeUnit.SECONDS,
+                                          new ArrayBlockingQueue<>(queueSize),
+                                          new WorkerThreadFactory(),
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        logger.info("Parallel group repository path resolution enabled with [{}] threads.", threadsNumber);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return executor != null;
+    }
+
+    /**
+     * @param probes  the group member existence probes, in the declared group member order, which answer false only
+     *                if the member certainly doesn't have the path
+     * @param fetches the group member fetches, in the same order as the probes
+     * @return the result of the first fetch (in the declared order) which resolved the path, or null if none of them
+     *         did
+     */
+    public RepositoryPath resolve(List<Callable<Boolean>> probes,
+                                  List<Callable<RepositoryPath>> fetches)
+            throws IOException
+    {
+        List<Future<Boolean>> futures = new ArrayList<>(probes.size());
+        for (Callable<Boolean> probe : probes)
+        {
+            futures.add(executor.submit(probe));
+        }
+
+        try
+        {
+            for (int i = 0; i < futures.size(); i++)
+            {
+                if (!await(futures.get(i)))
+                {
+                    continue;
+                }
+
+                RepositoryPath result = fetches.get(i).call();
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw e;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IOException(e);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+        finally
+        {
+            cancel(futures);
+        }
+
+        return null;
+    }
+
+    private boolean await(Future<Boolean> future)
+            throws InterruptedException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (ExecutionException e)
+        {
+            // The fetch will tell whether the member has the path.
+            logger.debug("Failed to probe the group member.", e.getCause());
+
+            return true;
+        }
+    }
+
+    private void cancel(List<Future<Boolean>> futures)
+    {
+        futures.forEach(f -> f.cancel(false));
+    }
+
+    private static class WorkerThreadFactory
+            implements ThreadFactory
+    {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread thread = new Thread(r, "group-path-resolver-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which member of a group repository owns a given path, as well as the paths which
+ * could not be resolved from any of the members at all, so that repeated group lookups don't
+ * have to walk every member repository again.
+ * <p>
+ * The entries live in a bounded Hazelcast map, which makes them visible to (and evictable from)
+ * every node of the cluster. Entries are evicted when an artifact gets stored, deleted or fetched
+ * from a remote repository within the group sub-tree, and the whole cache is cleared when the
+ * group membership, routing rules or repository service status change. The configured time to
+ * live is the upper bound for how long a negative entry for a proxy member can be served.
+ */
+@Component
+public class GroupRepositoryPathResolutionCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryPathResolutionCache.class);
+
+    /**
+     * Marker value of the paths which don't exist in any of the group members.
+     */
+    static final String NOT_FOUND = "";
+
+    private final Cache cache;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    GroupRepositoryPathResolutionCache(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Repository.GROUP_REPOSITORY_PATH_RESOLUTION);
+        Objects.requireNonNull(cache, "groupRepositoryPathResolution cache configuration was not provided");
+    }
+
+    /**
+     * @return the storageId:repositoryId of the group member which owns the path, {@link #NOT_FOUND} if
+     *         none of the members had it, or null if the path has not been resolved yet.
+     */
+    public String get(Repository groupRepository,
+                      String path)
+    {
+        return cache.get(key(groupRepository, path), String.class);
+    }
+
+    public void putResolved(Repository groupRepository,
+                            String path,
+                            Repository memberRepository)
+    {
+        cache.put(key(groupRepository, path), memberRepository.getStorageIdAndRepositoryId());
+    }
+
+    public void putNotFound(Repository groupRepository,
+                            String path)
+    {
+        cache.put(key(groupRepository, path), NOT_FOUND);
+    }
+
+    public void evict(Repository groupRepository,
+                      String path)
+    {
+        cache.evict(key(groupRepository, path));
+    }
+
+    public void clear()
+    {
+        cache.clear();
+    }
+
+    public static boolean isNotFound(String storageIdAndRepositoryId)
+    {
+        return NOT_FOUND.equals(storageIdAndRepositoryId);
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+            throws IOException
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        evictGroupsContaining(repository, path, new HashSet<>());
+    }
+
+    @EventListener
+    public void handle(final RepositoryEvent event)
+    {
+        if (event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_GROUP_UPDATED.getType() &&
+            event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType() &&
+            event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_IN_SERVICE.getType() &&
+            event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_OUT_OF_SERVICE.getType())
+        {
+            return;
+        }
+
+        logger.debug("Clearing group repository path resolution cache on [{}:{}] change.",
+                     event.getStorageId(), event.getRepositoryId());
+
+        clear();
+    }
+
+    private void evictGroupsContaining(Repository repository,
+                                       String path,
+                                       Set<String> visited)
+    {
+        if (!visited.add(repository.getStorageIdAndRepositoryId()))
+        {
+            return;
+        }
+
+        for (Repository groupRepository : configurationManager.getConfiguration()
+                                                              .getGroupRepositoriesContaining(repository.getStorage().getId(),
+                                                                                              repository.getId()))
+        {
+            evict(groupRepository, path);
+            evictGroupsContaining(groupRepository, path, visited);
+        }
+    }
+
+    private String key(Repository groupRepository,
+                       String path)
+    {
+        return groupRepository.getStorageIdAndRepositoryId() + ":" + path;
+    }
+
+}
@@ -0,0 +1,321 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.client.RemoteContentConsumer;
+import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Downloads the remote artifacts with the non-blocking client of the {@link RestArtifactResolver}s: the I/O threads of
+ * the client spool the bytes into the {@link InFlightRemoteArtifactFetch} as they arrive, and a failed download is
+ * resumed from the received offset by a scheduler, once the retry interval has passed, instead of a thread sleeping
+ * in between. So a few threads can keep many slow downloads going, only storing the downloaded artifacts into the
+ * proxy repositories takes a thread of the {@link #getStoreExecutor()} pool.
+ * <p>
+ * This engine is disabled by default and can be enabled with the {@code strongbox.proxy.asyncFetch.enabled} property.
+ */
+@Component
+public class AsyncRemoteArtifactFetchEngine
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRemoteArtifactFetchEngine.class);
+
+    @Value("${strongbox.proxy.asyncFetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.asyncFetch.storeThreadsNumber:4}")
+    private int storeThreadsNumber;
+
+    private ScheduledExecutorService retryScheduler;
+
+    private ThreadPoolExecutor storeExecutor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "remote-fetch-retry");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        AtomicInteger counter = new AtomicInteger();
+        storeExecutor = new ThreadPoolExecutor(storeThreadsNumber,
+                                               storeThreadsNumber,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<>(),
+                                               r -> {
+                                                   Thread thread = new Thread(r, "remote-fetch-store-" +
+                                                                                 counter.incrementAndGet());
+                                                   thread.setDaemon(true);
+
+                                                   return thread;
+                                               });
+        storeExecutor.allowCoreThreadTimeOut(true);
+
+        logger.info("Asynchronous remote artifact fetching enabled with [{}] store threads.", storeThreadsNumber);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (retryScheduler != null)
+        {
+            retryScheduler.shutdownNow();
+        }
+        if (storeExecutor != null)
+        {
+            storeExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * The pool of the threads which store the downloaded artifacts, as the storing is blocking.
+     */
+    public Executor getStoreExecutor()
+    {
+        return storeExecutor;
+    }
+
+    /**
+     * Starts downloading the path into the spool of the in-flight fetch.
+     *
+     * @return the future number of the downloaded bytes
+     */
+    public CompletableFuture<Long> download(RestArtifactResolver client,
+                                            RepositoryPath repositoryPath,
+                                            InFlightRemoteArtifactFetch inFlightFetch)
+        throws IOException
+    {
+        URI resource = RepositoryFiles.resolveResource(repositoryPath);
+
+        inFlightFetch.openSpool();
+
+        return new RemoteArtifactDownload(client, repositoryPath, resource, inFlightFetch).start();
+    }
+
+    private class RemoteArtifactDownload
+            implements RemoteContentConsumer
+    {
+
+        private final RestArtifactResolver client;
+
+        private final RepositoryPath repositoryPath;
+
+        private final URI resource;
+
+        private final InFlightRemoteArtifactFetch inFlightFetch;
+
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private final long startTime = System.currentTimeMillis();
+
+        private int attempts;
+
+        /**
+         * The number of the bytes received so far, which is also the offset to resume the download from. The
+         * attempts follow each other, so there is a happens-before edge between their changes.
+         */
+        private long offset;
+
+        private RemoteArtifactDownload(RestArtifactResolver client,
+                                       RepositoryPath repositoryPath,
+                                       URI resource,
+                                       InFlightRemoteArtifactFetch inFlightFetch)
+        {
+            this.client = client;
+            this.repositoryPath = repositoryPath;
+            this.resource = resource;
+            this.inFlightFetch = inFlightFetch;
+        }
+
+        private CompletableFuture<Long> start()
+        {
+            attempt();
+
+            return result;
+        }
+
+        private void attempt()
+        {
+            attempts++;
+
+            CompletableFuture<Long> response;
+            try
+            {
+                response = client.getAsync(resource.toString(), offset, this);
+            }
+            catch (RuntimeException e)
+            {
+                result.completeExceptionally(e);
+
+                return;
+            }
+
+            response.whenComplete((count, e) -> {
+                if (e == null)
+                {
+                    result.complete(offset);
+                }
+                else
+                {
+                    retryIfPossible(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                }
+            });
+        }
+
+        @Override
+        public void onResponse(HttpResponse response)
+            throws IOException
+        {
+            int status = response.getStatusLine().getStatusCode();
+            if (status == HttpStatus.SC_NOT_FOUND)
+            {
+                throw new ArtifactNotFoundException(resource);
+            }
+            if (offset > 0 && status == HttpStatus.SC_OK)
+            {
+                throw new FinalDownloadException(String.format("Remote resource path [%s] does not support range requests.",
+                                                               repositoryPath));
+            }
+            if ((status != HttpStatus.SC_OK && status != HttpStatus.SC_PARTIAL_CONTENT) || response.getEntity() == null)
+            {
+                throw new IOException(String.format("Unreadable response for %s. Response status is %s",
+                                                    resource, status));
+            }
+        }
+
+        @Override
+        public void onContent(ByteBuffer content)
+            throws IOException
+        {
+            int n = content.remaining();
+            try
+            {
+                inFlightFetch.write(content);
+            }
+            catch (IOException e)
+            {
+                throw new FinalDownloadException(String.format("Failed to spool [%s].", repositoryPath), e);
+            }
+
+            offset += n;
+        }
+
+        private void retryIfPossible(Throwable e)
+        {
+            if (!(e instanceof IOException) || e instanceof ArtifactNotFoundException ||
+                e instanceof FinalDownloadException)
+            {
+                result.completeExceptionally(e);
+
+                return;
+            }
+
+            RemoteRepositoryRetryArtifactDownloadConfiguration configuration = client.getConfiguration();
+
+            logger.debug("Retrying remote download because of [{}]... Attempt number = [{}], Current Offset = [{}] Duration Time = [{}]",
+                         e, attempts + 1, offset, System.currentTimeMillis() - startTime);
+
+            if (attempts >= configuration.getMaxNumberOfAttempts())
+            {
+                logger.error(String.format("Maximum retry attempts [%s] reached for [%s]",
+                                           configuration.getMaxNumberOfAttempts(), repositoryPath));
+                result.completeExceptionally(e);
+
+                return;
+            }
+
+            long delayMillis = configuration.getMinAttemptsIntervalSeconds() * 1000L;
+            long timeoutMillis = configuration.getTimeoutSeconds() * 1000L;
+            if (System.currentTimeMillis() - startTime + delayMillis > timeoutMillis)
+            {
+                logger.error(String.format("Timeout of [%s] occured while reading [%s]", timeoutMillis,
+                                           repositoryPath));
+                result.completeExceptionally(e);
+
+                return;
+            }
+
+            try
+            {
+                retryScheduler.schedule(() -> {
+                    if (client.isAlive())
+                    {
+                        attempt();
+                    }
+                    else
+                    {
+                        // Wait for the remote repository to come back, same as for a failed attempt.
+                        attempts++;
+                        retryIfPossible(e);
+                    }
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException re)
+            {
+                result.completeExceptionally(e);
+            }
+        }
+
+    }
+
+    /**
+     * A failure which resuming the download would not help with.
+     */
+    private static class FinalDownloadException
+            extends IOException
+    {
+
+        private FinalDownloadException(String message)
+        {
+            super(message);
+        }
+
+        private FinalDownloadException(String message,
+                                       Throwable cause)
+        {
+            super(message, cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,545 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents a remote artifact download which is currently in progress on this node.
+ * <p>
+ * The bytes received from the remote repository are spooled into a file in the temporary directory
+ * of the proxy repository while they are being stored into it, so that the concurrent requests for
+ * the same path don't have to wait until the whole artifact is stored, and can be served from the
+ * spool as the bytes arrive.
+ *
+ * @see RemoteArtifactFetchRegistry
+ */
+public class InFlightRemoteArtifactFetch
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightRemoteArtifactFetch.class);
+
+    private static final long PROGRESS_WAIT_MILLIS = 500;
+
+    private final RepositoryPath repositoryPath;
+
+    private final Object monitor = new Object();
+
+    private Path spoolPath;
+
+    private OutputStream spoolOutputStream;
+
+    private long length;
+
+    private boolean done;
+
+    private IOException failure;
+
+    /**
+     * The leader holds one reference, and each of the followers holds one more, the spool file is
+     * removed once the last of them has been released.
+     */
+    private int references = 1;
+
+    /**
+     * The listeners which wait for the bytes following the ones which have been spooled so far.
+     */
+    private List<Runnable> progressListeners = new ArrayList<>();
+
+    InFlightRemoteArtifactFetch(RepositoryPath repositoryPath)
+    {
+        this.repositoryPath = repositoryPath;
+    }
+
+    public RepositoryPath getRepositoryPath()
+    {
+        return repositoryPath;
+    }
+
+    /**
+     * Decorates the remote {@link InputStream} of the leader, so that all the bytes it reads get spooled
+     * for the followers.
+     */
+    public InputStream spool(InputStream remoteInputStream)
+            throws IOException
+    {
+        openSpool();
+
+        return new SpoolingInputStream(remoteInputStream);
+    }
+
+    /**
+     * Creates the spool file, which the leader then fills with {@link #write(ByteBuffer)}. The spool is needed from the
+     * first byte on, as the followers may arrive at any time, so it's created in the temporary directory of the proxy
+     * repository, next to the stored artifact, rather than on the system temporary volume.
+     */
+    void openSpool()
+            throws IOException
+    {
+        Path path = repositoryPath != null ?
+                    RepositoryFiles.createTempFile(repositoryPath, "remote-fetch-", ".tmp") :
+                    Files.createTempFile("strongbox-remote-fetch-", ".tmp");
+        synchronized (monitor)
+        {
+            spoolPath = path;
+            spoolOutputStream = Files.newOutputStream(path);
+        }
+    }
+
+    /**
+     * Appends the bytes received from the remote repository to the spool file.
+     */
+    void write(ByteBuffer content)
+            throws IOException
+    {
+        int n = content.remaining();
+        if (content.hasArray())
+        {
+            spoolOutputStream.write(content.array(), content.arrayOffset() + content.position(), n);
+            content.position(content.limit());
+        }
+        else
+        {
+            byte[] bytes = new byte[n];
+            content.get(bytes);
+            spoolOutputStream.write(bytes);
+        }
+
+        progress(n);
+    }
+
+    /**
+     * Opens the whole spooled artifact, once the leader has received all of it, so that it can be stored into the
+     * proxy repository. The spool file is kept until the leader has completed the fetch.
+     */
+    InputStream newSpoolInputStream()
+            throws IOException
+    {
+        Path path;
+        synchronized (monitor)
+        {
+            closeSpoolOutputStream();
+            path = spoolPath;
+        }
+
+        return Files.newInputStream(path);
+    }
+
+    public boolean isDone()
+    {
+        synchronized (monitor)
+        {
+            return done;
+        }
+    }
+
+    /**
+     * Runs the listener once more than {@code position} bytes have been spooled, or once the download has finished
+     * (right away, if either is already the case). The listener runs on the thread which receives the bytes, so it
+     * should only hand the work over to another thread.
+     */
+    public void whenProgressed(long position,
+                               Runnable listener)
+    {
+        synchronized (monitor)
+        {
+            if (length <= position && !done)
+            {
+                progressListeners.add(listener);
+
+                return;
+            }
+        }
+
+        listener.run();
+    }
+
+    /**
+     * Waits until the leader has received the first bytes from the remote repository, or until it has finished.
+     *
+     * @return true if the artifact is being downloaded and can be followed
+     */
+    public boolean awaitStarted()
+            throws IOException
+    {
+        synchronized (monitor)
+        {
+            while (length == 0 && !done)
+            {
+                waitForProgress();
+            }
+
+            if (failure != null)
+            {
+                throw failure;
+            }
+
+            return !done;
+        }
+    }
+
+    /**
+     * Waits until the leader has finished the download, successfully or not.
+     */
+    public void awaitDone()
+            throws IOException
+    {
+        synchronized (monitor)
+        {
+            while (!done)
+            {
+                waitForProgress();
+            }
+
+            if (failure != null)
+            {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * @return an {@link InputStream} which reads the spooled bytes and blocks until the following bytes
+     *         arrive, or until the download has finished; null if there is nothing to follow (the
+     *         download has not been started yet, or has already been finished).
+     */
+    public InputStream newFollowerInputStream()
+            throws IOException
+    {
+        Path path;
+        synchronized (monitor)
+        {
+            if (spoolPath == null || done)
+            {
+                return null;
+            }
+
+            path = spoolPath;
+            references++;
+        }
+
+        try
+        {
+            return new FollowingInputStream(FileChannel.open(path, StandardOpenOption.READ));
+        }
+        catch (IOException e)
+        {
+            release();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the channel of the spool file, which contains the part of the artifact received so far. It is meant for
+     * the followers which hold an {@link #newFollowerInputStream()}, as the spool file is kept until they close it.
+     */
+    public FileChannel openSpoolChannel()
+            throws IOException
+    {
+        Path path;
+        synchronized (monitor)
+        {
+            path = spoolPath;
+        }
+
+        if (path == null)
+        {
+            throw new IOException(String.format("Spool file of [%s] has been already removed.", repositoryPath));
+        }
+
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    void complete()
+    {
+        finish(null);
+    }
+
+    void fail(IOException e)
+    {
+        finish(e);
+    }
+
+    private void finish(IOException e)
+    {
+        List<Runnable> listeners;
+        synchronized (monitor)
+        {
+            done = true;
+            failure = e;
+
+            closeSpoolOutputStream();
+
+            monitor.notifyAll();
+            listeners = takeProgressListeners();
+        }
+
+        listeners.forEach(Runnable::run);
+
+        release();
+    }
+
+    private void progress(int n)
+    {
+        List<Runnable> listeners;
+        synchronized (monitor)
+        {
+            length += n;
+            monitor.notifyAll();
+            listeners = takeProgressListeners();
+        }
+
+        listeners.forEach(Runnable::run);
+    }
+
+    private List<Runnable> takeProgressListeners()
+    {
+        if (progressListeners.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        List<Runnable> listeners = progressListeners;
+        progressListeners = new ArrayList<>();
+
+        return listeners;
+    }
+
+    private void closeSpoolOutputStream()
+    {
+        if (spoolOutputStream == null)
+        {
+            return;
+        }
+
+        try
+        {
+            spoolOutputStream.close();
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to close spool file [%s] of [%s].", spoolPath, repositoryPath), e);
+        }
+        spoolOutputStream = null;
+    }
+
+    private void release()
+    {
+        Path path;
+        synchronized (monitor)
+        {
+            if (--references > 0 || spoolPath == null)
+            {
+                return;
+            }
+
+            path = spoolPath;
+            spoolPath = null;
+        }
+
+        try
+        {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to remove spool file [%s] of [%s].", path, repositoryPath), e);
+        }
+    }
+
+    private void waitForProgress()
+            throws IOException
+    {
+        try
+        {
+            monitor.wait(PROGRESS_WAIT_MILLIS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IOException(e);
+        }
+    }
+
+    private class SpoolingInputStream
+            extends FilterInputStream
+    {
+
+        private SpoolingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read()
+                throws IOException
+        {
+            int b = super.read();
+            if (b >= 0)
+            {
+                spoolOutputStream.write(b);
+                progress(1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+                throws IOException
+        {
+            int n = super.read(b, off, len);
+            if (n > 0)
+            {
+                spoolOutputStream.write(b, off, n);
+                progress(n);
+            }
+
+            return n;
+        }
+
+        @Override
+        public long skip(long n)
+                throws IOException
+        {
+            // Skipped bytes still have to be spooled.
+            byte[] buffer = new byte[(int) Math.min(n, 4096)];
+            long skipped = 0;
+            int read;
+            while (skipped < n && (read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped))) > 0)
+            {
+                skipped += read;
+            }
+
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return false;
+        }
+
+    }
+
+    private class FollowingInputStream
+            extends InputStream
+    {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private boolean closed;
+
+        private FollowingInputStream(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read()
+                throws IOException
+        {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+
+            return n < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+                throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+
+            long available = awaitAvailable();
+            if (available <= 0)
+            {
+                return -1;
+            }
+
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available)), position);
+            if (n > 0)
+            {
+                position += n;
+            }
+
+            return n;
+        }
+
+        @Override
+        public int available()
+        {
+            synchronized (monitor)
+            {
+                return (int) Math.min(Integer.MAX_VALUE, length - position);
+            }
+        }
+
+        private long awaitAvailable()
+                throws IOException
+        {
+            synchronized (monitor)
+            {
+                while (length <= position && !done)
+                {
+                    waitForProgress();
+                }
+
+                if (failure != null)
+                {
+                    throw new IOException(String.format("Remote fetch of [%s] failed.", repositoryPath), failure);
+                }
+
+                return length - position;
+            }
+        }
+
+        @Override
+        public void close()
+                throws IOException
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+
+            try
+            {
+                channel.close();
+            }
+            finally
+            {
+                release();
+            }
+        }
+
+    }
+
+}
@@ -1,7 +1,6 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
-import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
@@ -16,13 +15,11 @@ import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteReposi
 import javax.inject.Inject;
 import java.io.IOException;
 import java.util.Iterator;
-import java.util.List;
+import java.util.stream.Stream;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import static org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria.Builder.anArtifactEntrySearchCriteria;
 
 /**
@@ -32,6 +29,8 @@ import static org.carlspring.strongbox.services.support.ArtifactEntrySearchCrite
 public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
 {
 
+    private static final int CLEANUP_PAGE_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(LocalStorageProxyRepositoryExpiredArtifactsCleaner.class);
 
     @Inject
@@ -49,7 +48,10 @@ public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
     @Inject
     private ArtifactManagementService artifactManagementService;
 
-    @Transactional(rollbackFor = Exception.class)
+    /**
+     * The expired artifacts are streamed page by page and each one of them is deleted within its own transaction,
+     * so that neither the matching artifacts nor the deletions have to be held in memory at once.
+     */
     public void cleanup(final Integer lastAccessedTimeInDays,
                         final Long minSizeInBytes)
             throws IOException
@@ -59,64 +61,53 @@ public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
                                                                    .withMinSizeInBytes(minSizeInBytes)
                                                                    .build();
 
-        final List<ArtifactEntry> artifactEntries = artifactEntryService.findMatching(searchCriteria,
-                                                                                      PagingCriteria.ALL);
-        filterAccessibleProxiedArtifacts(artifactEntries);
-
-        if (CollectionUtils.isEmpty(artifactEntries))
+        try (final Stream<ArtifactEntry> artifactEntries = artifactEntryService.streamMatching(searchCriteria,
+                                                                                              CLEANUP_PAGE_SIZE))
         {
-            return;
-        }
+            final Iterator<ArtifactEntry> iterator = artifactEntries.filter(this::isAccessibleProxiedArtifact)
+                                                                    .iterator();
+            while (iterator.hasNext())
+            {
+                final ArtifactEntry artifactEntry = iterator.next();
 
-        logger.debug("Cleaning artifacts {}", artifactEntries);
-        deleteFromStorage(artifactEntries);
+                logger.debug("Cleaning artifact {}", artifactEntry);
+                deleteFromStorage(artifactEntry);
+            }
+        }
     }
 
-    private void filterAccessibleProxiedArtifacts(final List<ArtifactEntry> artifactEntries)
+    private boolean isAccessibleProxiedArtifact(final ArtifactEntry artifactEntry)
     {
-        if (CollectionUtils.isEmpty(artifactEntries))
+        final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
+        final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
+        if (!repository.isProxyRepository())
         {
-            return;
+            return false;
         }
-        for (final Iterator<ArtifactEntry> it = artifactEntries.iterator(); it.hasNext(); )
+        final RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (remoteRepository == null)
         {
-            final ArtifactEntry artifactEntry = it.next();
-            final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
-            final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
-            if (!repository.isProxyRepository())
-            {
-                it.remove();
-                continue;
-            }
-            final RemoteRepository remoteRepository = repository.getRemoteRepository();
-            if (remoteRepository == null)
-            {
-                logger.warn("Repository {} is not associated with remote repository", repository.getId());
-                it.remove();
-                continue;
-            }
-            if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
-            {
-                logger.warn("Remote repository {} is down. Artifacts won't be cleaned up.", remoteRepository.getUrl());
-                it.remove();
-                continue;
-            }
+            logger.warn("Repository {} is not associated with remote repository", repository.getId());
+            return false;
+        }
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.warn("Remote repository {} is down. Artifacts won't be cleaned up.", remoteRepository.getUrl());
+            return false;
         }
 
+        return true;
     }
 
-    private void deleteFromStorage(final List<ArtifactEntry> artifactEntries)
+    private void deleteFromStorage(final ArtifactEntry artifactEntry)
             throws IOException
     {
-        for (final ArtifactEntry artifactEntry : artifactEntries)
-        {
-            final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
-            final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
-            
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(artifactEntry);
+        final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
+        final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
 
-            artifactManagementService.delete(repositoryPath, true);
-        }
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(artifactEntry);
+
+        artifactManagementService.delete(repositoryPath, true);
     }
 
 }
@@ -14,7 +14,9 @@ import javax.inject.Inject;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -45,6 +47,9 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private AsyncRemoteArtifactFetchEngine asyncRemoteArtifactFetchEngine;
+
     /**
      * This method has been developed to force fetch resource from remote.
      *
@@ -54,6 +59,17 @@ public class ProxyRepositoryArtifactResolver
      */
     public RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath)
         throws IOException
+    {
+        return fetchRemoteResource(repositoryPath, null);
+    }
+
+    /**
+     * Same as {@link #fetchRemoteResource(RepositoryPath)}, but the received bytes are also spooled into the
+     * given {@link InFlightRemoteArtifactFetch}, so that the concurrent requests can follow the download.
+     */
+    public RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath,
+                                              InFlightRemoteArtifactFetch inFlightFetch)
+        throws IOException
     {
         Repository repository = repositoryPath.getFileSystem().getRepository();
         final RemoteRepository remoteRepository = repository.getRemoteRepository();
@@ -70,16 +86,120 @@ public class ProxyRepositoryArtifactResolver
         Lock lock = lockSource.writeLock();
         lock.lock();
 
-        try (InputStream is = new BufferedInputStream(new ProxyRepositoryInputStream(client, repositoryPath)))
+        try (InputStream is = spool(inFlightFetch,
+                                    new BufferedInputStream(new ProxyRepositoryInputStream(client, repositoryPath))))
         {
             return doFetch(repositoryPath, is);
         }
         finally
         {
             lock.unlock();
+
+            // Also when the remote stream has failed to open, the resolver has to release its client.
+            client.close();
         }
     }
 
+    /**
+     * Checks with a HEAD request whether the remote repository may have the path, without fetching it.
+     *
+     * @return false if the remote repository is down, or has answered that it doesn't have the path
+     */
+    public boolean mayExistRemotely(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            return false;
+        }
+
+        try (RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository))
+        {
+            return !new RemoteArtifactStreamFetcher(client).isNotFound(repositoryPath);
+        }
+    }
+
+    public boolean isAsyncFetchEnabled()
+    {
+        return asyncRemoteArtifactFetchEngine.isEnabled();
+    }
+
+    /**
+     * Same as {@link #fetchRemoteResource(RepositoryPath, InFlightRemoteArtifactFetch)}, but the calling thread only
+     * starts the download (see {@link AsyncRemoteArtifactFetchEngine}), and the artifact is stored from the spool of
+     * the in-flight fetch once all of it has been received.
+     *
+     * @return the future fetched path, which is null if the remote repository is down
+     */
+    public CompletableFuture<RepositoryPath> fetchRemoteResourceAsync(RepositoryPath repositoryPath,
+                                                                      InFlightRemoteArtifactFetch inFlightFetch)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.debug("Remote repository '" + remoteRepository.getUrl() + "' is down.");
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
+        if (!client.isAsyncSupported())
+        {
+            client.close();
+
+            return CompletableFuture.completedFuture(fetchRemoteResource(repositoryPath, inFlightFetch));
+        }
+
+        CompletableFuture<Long> download;
+        try
+        {
+            download = asyncRemoteArtifactFetchEngine.download(client, repositoryPath, inFlightFetch);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            client.close();
+
+            throw e;
+        }
+
+        // The resolver is released once the download, including its retries, is over.
+        return download.whenComplete((n, e) -> client.close())
+                       .thenApplyAsync(n -> storeSpooled(repositoryPath, inFlightFetch),
+                                       asyncRemoteArtifactFetchEngine.getStoreExecutor());
+    }
+
+    private RepositoryPath storeSpooled(RepositoryPath repositoryPath,
+                                        InFlightRemoteArtifactFetch inFlightFetch)
+    {
+        ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
+        Lock lock = lockSource.writeLock();
+        lock.lock();
+
+        try (InputStream is = new BufferedInputStream(inFlightFetch.newSpoolInputStream()))
+        {
+            return doFetch(repositoryPath, is);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private InputStream spool(InFlightRemoteArtifactFetch inFlightFetch,
+                              InputStream is)
+        throws IOException
+    {
+        return inFlightFetch == null ? is : inFlightFetch.spool(is);
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
                                    InputStream is)
         throws IOException
@@ -0,0 +1,63 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of the remote artifact downloads which are in progress on this node, so that the
+ * concurrent cache misses of the same proxy repository path end up with a single remote request:
+ * the first request (the leader) downloads the artifact, while the others (the followers) are
+ * served from the bytes which the leader has already received.
+ * <p>
+ * The coordination between the cluster nodes is still done with the {@code RepositoryPathLock}.
+ */
+@Component
+public class RemoteArtifactFetchRegistry
+{
+
+    private final Map<URI, InFlightRemoteArtifactFetch> fetches = new ConcurrentHashMap<>();
+
+    /**
+     * @return the download which is in progress for the path, or null if there is none.
+     */
+    public InFlightRemoteArtifactFetch get(RepositoryPath repositoryPath)
+    {
+        if (repositoryPath == null)
+        {
+            return null;
+        }
+
+        return fetches.get(repositoryPath.toUri());
+    }
+
+    /**
+     * @return the newly registered download, for which the caller becomes the leader, or null if
+     *         there is already a download in progress for the path.
+     */
+    public InFlightRemoteArtifactFetch register(RepositoryPath repositoryPath)
+    {
+        InFlightRemoteArtifactFetch fetch = new InFlightRemoteArtifactFetch(repositoryPath);
+
+        return fetches.putIfAbsent(repositoryPath.toUri(), fetch) == null ? fetch : null;
+    }
+
+    public void complete(InFlightRemoteArtifactFetch fetch)
+    {
+        fetches.remove(fetch.getRepositoryPath().toUri(), fetch);
+        fetch.complete();
+    }
+
+    public void fail(InFlightRemoteArtifactFetch fetch,
+                     IOException e)
+    {
+        fetches.remove(fetch.getRepositoryPath().toUri(), fetch);
+        fetch.fail(e);
+    }
+
+}
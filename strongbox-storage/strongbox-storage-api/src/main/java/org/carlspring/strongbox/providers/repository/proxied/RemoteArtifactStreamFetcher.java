@@ -50,6 +50,19 @@ public class RemoteArtifactStreamFetcher
 
     }
 
+    /**
+     * @return true only if the remote repository has answered a HEAD request that it doesn't have the path
+     */
+    public boolean isNotFound(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        URI resource = getRestClientResourcePath(repositoryPath);
+        try (final CloseableRestResponse closeableRestResponse = client.head(resource.toString()))
+        {
+            return closeableRestResponse.getResponse().getStatus() == 404;
+        }
+    }
+
     private URI getRestClientResourcePath(final RepositoryPath artifactPath)
         throws IOException
     {
@@ -4,22 +4,50 @@ import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConf
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
+import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
 
 import javax.inject.Inject;
+import javax.ws.rs.client.Client;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.message.BasicHeader;
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
+ * Creates the {@link RestArtifactResolver}s of the remote repositories on top of long-lived clients, one per remote
+ * repository URL and username, which are shared by all the fetches from the remote repository. A client is replaced
+ * when the password of the remote repository changes, and whenever a new client gets created, the clients which
+ * don't match the URL and credentials of any of the configured remote repositories anymore are removed.
+ * <p>
+ * The resolvers may still retry with a removed client, so each client counts the resolvers which haven't been closed
+ * yet, and a removed client is only closed once the last of its resolvers is. The clients share the connection pool,
+ * which stays open, so the responses which are still being read are not cut either.
+ * <p>
+ * When the {@link AsyncRemoteArtifactFetchEngine} is enabled, the resolvers also support the non-blocking requests,
+ * through the shared non-blocking client.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
 public class RestArtifactResolverFactory
 {
 
+    private static final Logger logger = LoggerFactory.getLogger(RestArtifactResolverFactory.class);
+
     @Inject
     private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
     
@@ -29,6 +57,11 @@ public class RestArtifactResolverFactory
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private AsyncRemoteArtifactFetchEngine asyncRemoteArtifactFetchEngine;
+
+    private final Map<String, RemoteRepositoryClient> clients = new ConcurrentHashMap<>();
+
     public RestArtifactResolver newInstance(RemoteRepository repository)
     {
         Objects.requireNonNull(repository);
@@ -37,15 +70,13 @@ public class RestArtifactResolverFactory
                                                                                                .getRemoteRepositoriesConfiguration()
                                                                                                .getRemoteRepositoryRetryArtifactDownloadConfiguration();
         
-        String username = repository.getUsername();
-        String password = repository.getPassword();
-        String url = repository.getUrl();
-        
-        final HttpAuthenticationFeature authenticationFeature = (username != null && password != null) ? HttpAuthenticationFeature.basic(username, password) : null;
-                
-        return new RestArtifactResolver(proxyRepositoryConnectionPoolConfigurationService.getRestClient(), url,
-                                        configuration,
-                                        authenticationFeature)
+        RemoteRepositoryClient remoteRepositoryClient = acquireClient(repository);
+        AtomicBoolean closed = new AtomicBoolean();
+
+        return new RestArtifactResolver(remoteRepositoryClient.client, repository.getUrl(), configuration,
+                                        asyncRemoteArtifactFetchEngine.isEnabled() ?
+                                        proxyRepositoryConnectionPoolConfigurationService.getHttpAsyncClient() : null,
+                                        remoteRepositoryClient.asyncAuthorization)
                                 {
                         
                                     @Override
@@ -53,8 +84,217 @@ public class RestArtifactResolverFactory
                                     {
                                         return remoteRepositoryAlivenessCacheManager.isAlive(repository);
                                     }
+
+                                    @Override
+                                    public void close()
+                                    {
+                                        // The client is shared by all the fetches from the remote repository.
+                                        if (closed.compareAndSet(false, true))
+                                        {
+                                            remoteRepositoryClient.release();
+                                        }
+                                    }
                         
                                 };
     }
 
+    private RemoteRepositoryClient acquireClient(RemoteRepository repository)
+    {
+        RemoteRepositoryClient remoteRepositoryClient;
+        do
+        {
+            remoteRepositoryClient = getClient(repository);
+        }
+        // The client may have been removed and closed in the meantime, in which case a new one has replaced it.
+        while (!remoteRepositoryClient.acquire());
+
+        return remoteRepositoryClient;
+    }
+
+    private RemoteRepositoryClient getClient(RemoteRepository repository)
+    {
+        String key = getKey(repository);
+
+        RemoteRepositoryClient remoteRepositoryClient = clients.get(key);
+        if (remoteRepositoryClient != null && remoteRepositoryClient.matches(repository))
+        {
+            return remoteRepositoryClient;
+        }
+
+        AtomicBoolean created = new AtomicBoolean();
+        AtomicReference<RemoteRepositoryClient> replaced = new AtomicReference<>();
+        remoteRepositoryClient = clients.compute(key, (k, current) -> {
+            if (current != null && current.matches(repository))
+            {
+                return current;
+            }
+
+            created.set(true);
+            replaced.set(current);
+
+            return createClient(repository);
+        });
+
+        if (replaced.get() != null)
+        {
+            replaced.get().retire();
+        }
+        if (created.get())
+        {
+            removeUnusedClients(key);
+        }
+
+        return remoteRepositoryClient;
+    }
+
+    /**
+     * Removes the clients of the remote repository URLs and credentials which are not configured anymore.
+     *
+     * @param createdKey the key of the client which has just been created, which is kept even if its remote
+     *                   repository has not been configured yet
+     */
+    private void removeUnusedClients(String createdKey)
+    {
+        Map<String, String> passwords = new HashMap<>();
+        configurationManager.getConfiguration()
+                            .getStorages()
+                            .values()
+                            .stream()
+                            .flatMap(storage -> storage.getRepositories().values().stream())
+                            .map(Repository::getRemoteRepository)
+                            .filter(Objects::nonNull)
+                            .forEach(remoteRepository -> passwords.put(getKey(remoteRepository),
+                                                                       remoteRepository.getPassword()));
+
+        clients.forEach((key, client) -> {
+            if (key.equals(createdKey) ||
+                passwords.containsKey(key) && Objects.equals(passwords.get(key), client.password))
+            {
+                return;
+            }
+
+            if (clients.remove(key, client))
+            {
+                client.retire();
+            }
+        });
+    }
+
+    private String getKey(RemoteRepository repository)
+    {
+        return repository.getUrl() + "|" + repository.getUsername();
+    }
+
+    private RemoteRepositoryClient createClient(RemoteRepository repository)
+    {
+        String username = repository.getUsername();
+        String password = repository.getPassword();
+
+        HttpAuthenticationFeature authenticationFeature = null;
+        Header asyncAuthorization = null;
+        if (username != null && password != null)
+        {
+            authenticationFeature = HttpAuthenticationFeature.basic(username, password);
+
+            byte[] credentials = (username + ":" + password).getBytes(StandardCharsets.ISO_8859_1);
+            asyncAuthorization = new BasicHeader(HttpHeaders.AUTHORIZATION,
+                                                 "Basic " + Base64.getEncoder().encodeToString(credentials));
+        }
+
+        return new RemoteRepositoryClient(getKey(repository),
+                                          password,
+                                          proxyRepositoryConnectionPoolConfigurationService.createRemoteRepositoryRestClient(
+                                                  repository.getUrl(), authenticationFeature),
+                                          asyncAuthorization);
+    }
+
+    private static class RemoteRepositoryClient
+    {
+
+        private final String key;
+
+        private final String password;
+
+        private final Client client;
+
+        private final Header asyncAuthorization;
+
+        /**
+         * The number of the resolvers which use the client and haven't been closed yet.
+         */
+        private int references;
+
+        /**
+         * Whether the client has been removed, so that it gets closed once it is not referenced anymore.
+         */
+        private boolean retired;
+
+        private boolean closed;
+
+        private RemoteRepositoryClient(String key,
+                                       String password,
+                                       Client client,
+                                       Header asyncAuthorization)
+        {
+            this.key = key;
+            this.password = password;
+            this.client = client;
+            this.asyncAuthorization = asyncAuthorization;
+        }
+
+        private boolean matches(RemoteRepository repository)
+        {
+            return Objects.equals(password, repository.getPassword());
+        }
+
+        /**
+         * @return false if the client has already been closed, so it can't be used anymore
+         */
+        private synchronized boolean acquire()
+        {
+            if (closed)
+            {
+                return false;
+            }
+
+            references++;
+
+            return true;
+        }
+
+        private synchronized void release()
+        {
+            references--;
+            closeIfUnused();
+        }
+
+        private synchronized void retire()
+        {
+            retired = true;
+            closeIfUnused();
+        }
+
+        private void closeIfUnused()
+        {
+            if (!retired || references > 0 || closed)
+            {
+                return;
+            }
+
+            closed = true;
+
+            logger.debug(String.format("Closing the client of the remote repository [%s].", key));
+
+            try
+            {
+                client.close();
+            }
+            catch (RuntimeException e)
+            {
+                logger.warn(String.format("Failed to close the client of the remote repository [%s].", key), e);
+            }
+        }
+
+    }
+
 }
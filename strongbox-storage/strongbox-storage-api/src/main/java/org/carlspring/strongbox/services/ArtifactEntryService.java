@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
@@ -56,6 +57,13 @@ public interface ArtifactEntryService
     List<ArtifactEntry> findMatching(ArtifactEntrySearchCriteria searchCriteria,
                                      PagingCriteria pagingCriteria);
 
+    /**
+     * Same as {@link #findMatching(ArtifactEntrySearchCriteria, PagingCriteria)}, but the artifacts are fetched
+     * lazily, {@code pageSize} at a time, with keyset pagination, which is meant for the bulk scans.
+     */
+    Stream<ArtifactEntry> streamMatching(ArtifactEntrySearchCriteria searchCriteria,
+                                         int pageSize);
+
     Long countCoordinates(Collection<Pair<String, String>> storageRepositoryPairList,
                           Map<String, String> coordinates,
                           boolean strict);
@@ -4,6 +4,7 @@ import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * @author Przemyslaw Fusik
@@ -19,6 +20,14 @@ public interface RepositoryArtifactIdGroupService
                                                       String repositoryId,
                                                       PagingCriteria pagingCriteria);
 
+    /**
+     * Streams the artifact groups of the repository, fetched lazily, {@code pageSize} at a time, with keyset
+     * pagination, which is meant for the bulk scans.
+     */
+    Stream<RepositoryArtifactIdGroupEntry> streamMatching(String storageId,
+                                                          String repositoryId,
+                                                          int pageSize);
+
     RepositoryArtifactIdGroupEntry findOneOrCreate(String storageId,
                                                    String repositoryId,
                                                    String artifactId);
@@ -0,0 +1,427 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.EventExecutionEngine;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the paths of the {@link ArtifactEntry}s of each repository in memory, together with their record locations,
+ * so that the {@link ArtifactEntryServiceImpl} can answer the lookups of the missing artifacts without querying the
+ * database, and can load the existing ones directly, without the coordinates index lookups.
+ * <p>
+ * The paths are kept as 64-bit hashes of the exact paths in primitive {@link ArtifactLocationTable}s, about 21 bytes
+ * per artifact. A hash match is only a hint, the {@link ArtifactEntryServiceImpl} checks the record it points to.
+ * <p>
+ * The tables are changed once the transactions which have saved or deleted the artifact entries are committed (until
+ * then these transactions look their artifact entries up in the database), and are rebuilt with a keyset scan of the
+ * artifact entries on startup. Until the rebuild has completed (and for the
+ * repositories which have been deleted since), all the lookups go to the database.
+ * <p>
+ * The index is local to the node, and doesn't see the artifact entries which the other nodes save or delete, so it
+ * turns itself off (until the node is restarted) as soon as the Hazelcast cluster has more than one member.
+ */
+@Component
+class ArtifactEntryIndex
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryIndex.class);
+
+    /**
+     * The location of the paths which are not known to the index, which have to be looked up in the database.
+     */
+    static final long NOT_INDEXED = -3L;
+
+    static final long ABSENT = ArtifactLocationTable.ABSENT;
+
+    static final long UNKNOWN_LOCATION = ArtifactLocationTable.UNKNOWN_LOCATION;
+
+    private static final int CLUSTER_POSITION_BITS = 48;
+
+    private static final HashFunction PATH_HASH_FUNCTION = Hashing.murmur3_128();
+
+    @Value("${strongbox.artifact.index.enabled:true}")
+    private volatile boolean enabled;
+
+    @Value("${strongbox.artifact.index.rebuildPageSize:10000}")
+    private int rebuildPageSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Inject
+    private EventExecutionEngine eventExecutionEngine;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    private final Map<String, ArtifactLocationTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * The repositories which have been deleted since the last rebuild, whose artifact entries may be left in the
+     * database.
+     */
+    private final Set<String> unindexedRepositories = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean rebuildStarted = new AtomicBoolean();
+
+    private volatile boolean rebuilding;
+
+    private volatile boolean ready;
+
+    /**
+     * @return the record location of the artifact entry, {@link #UNKNOWN_LOCATION}, {@link #ABSENT} or
+     *         {@link #NOT_INDEXED}.
+     */
+    long locate(String storageId,
+                String repositoryId,
+                String path)
+    {
+        String repositoryKey = repositoryKey(storageId, repositoryId);
+        if (!ready || path == null || unindexedRepositories.contains(repositoryKey) ||
+            TransactionSynchronizationManager.hasResource(this))
+        {
+            return NOT_INDEXED;
+        }
+
+        ArtifactLocationTable table = tables.get(repositoryKey);
+
+        return table == null ? ABSENT : table.get(hash(path));
+    }
+
+    static ORID toRid(long location)
+    {
+        return new ORecordId((int) (location >>> CLUSTER_POSITION_BITS),
+                             location & ((1L << CLUSTER_POSITION_BITS) - 1));
+    }
+
+    /**
+     * Adds the artifact entry once the current transaction is committed.
+     *
+     * @param rid the record id of the saved entry, which is updated in place when the transaction is committed.
+     */
+    void added(ArtifactEntry artifactEntry,
+               ORID rid)
+    {
+        if (!enabled || artifactEntry.getArtifactCoordinates() == null)
+        {
+            return;
+        }
+
+        String repositoryKey = repositoryKey(artifactEntry.getStorageId(), artifactEntry.getRepositoryId());
+        long key = hash(artifactEntry.getArtifactCoordinates().getPath());
+
+        afterCommit(() -> table(repositoryKey).put(key, toLocation(rid)));
+    }
+
+    /**
+     * Removes the artifact entry once the current transaction is committed.
+     */
+    void removed(ArtifactEntry artifactEntry)
+    {
+        if (!enabled || artifactEntry.getArtifactCoordinates() == null)
+        {
+            return;
+        }
+
+        String repositoryKey = repositoryKey(artifactEntry.getStorageId(), artifactEntry.getRepositoryId());
+        long key = hash(artifactEntry.getArtifactCoordinates().getPath());
+
+        afterCommit(() -> table(repositoryKey).remove(key));
+    }
+
+    @EventListener
+    public void handle(ContextRefreshedEvent event)
+    {
+        if (!enabled || !rebuildStarted.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        hazelcastInstance.getCluster().addMembershipListener(new MembershipAdapter()
+        {
+            @Override
+            public void memberAdded(MembershipEvent membershipEvent)
+            {
+                disable(membershipEvent.getMembers().size());
+            }
+        });
+
+        int members = hazelcastInstance.getCluster().getMembers().size();
+        if (members > 1)
+        {
+            disable(members);
+
+            return;
+        }
+
+        Gauge.builder("strongbox.artifact.index.entries", tables,
+                      t -> t.values().stream().mapToLong(ArtifactLocationTable::size).sum())
+             .register(Metrics.globalRegistry);
+
+        if (!eventExecutionEngine.isAsync())
+        {
+            rebuild();
+
+            return;
+        }
+
+        Thread thread = new Thread(this::rebuild, "artifact-entry-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @EventListener
+    public void handle(RepositoryEvent event)
+    {
+        if (event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType())
+        {
+            return;
+        }
+
+        String repositoryKey = repositoryKey(event.getStorageId(), event.getRepositoryId());
+
+        unindexedRepositories.add(repositoryKey);
+        tables.remove(repositoryKey);
+    }
+
+    /**
+     * Reads the paths and the record ids of all the artifact entries, {@code strongbox.artifact.index.rebuildPageSize}
+     * at a time, each page within its own transaction.
+     */
+    void rebuild()
+    {
+        logger.info("Rebuilding the artifact entry index...");
+        long startTime = System.currentTimeMillis();
+
+        synchronized (tables)
+        {
+            ready = false;
+            rebuilding = true;
+            tables.clear();
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        String firstPageQuery = String.format("SELECT @rid AS rid, storageId, repositoryId, " +
+                                              "artifactCoordinates.path AS path FROM %s " +
+                                              "ORDER BY @rid ASC LIMIT %s",
+                                              ArtifactEntry.class.getSimpleName(), rebuildPageSize);
+        String nextPageQuery = String.format("SELECT @rid AS rid, storageId, repositoryId, " +
+                                             "artifactCoordinates.path AS path FROM %s WHERE @rid > :lastRid " +
+                                             "ORDER BY @rid ASC LIMIT %s",
+                                             ArtifactEntry.class.getSimpleName(), rebuildPageSize);
+
+        long count = 0;
+        try
+        {
+            ORID lastRid = null;
+            List<ODocument> page;
+            do
+            {
+                Map<String, Object> parameters = lastRid == null ? Collections.emptyMap() :
+                                                 Collections.singletonMap("lastRid", lastRid);
+                String query = lastRid == null ? firstPageQuery : nextPageQuery;
+
+                page = transactionTemplate.execute(s -> getDelegate().command(new OSQLSynchQuery<ODocument>(query))
+                                                                     .execute(parameters));
+                for (ODocument document : page)
+                {
+                    lastRid = ((OIdentifiable) document.field("rid")).getIdentity();
+
+                    String path = document.field("path");
+                    if (path == null)
+                    {
+                        continue;
+                    }
+
+                    table(repositoryKey(document.field("storageId"), document.field("repositoryId")))
+                            .putScanned(hash(path), toLocation(lastRid));
+                    count++;
+                }
+            }
+            while (page.size() == rebuildPageSize);
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to rebuild the artifact entry index, the artifact lookups will use the database.", e);
+
+            synchronized (tables)
+            {
+                rebuilding = false;
+                tables.clear();
+            }
+
+            return;
+        }
+
+        synchronized (tables)
+        {
+            rebuilding = false;
+            if (!enabled)
+            {
+                tables.clear();
+
+                return;
+            }
+
+            tables.values().forEach(ArtifactLocationTable::finishRebuild);
+            unindexedRepositories.clear();
+            ready = true;
+        }
+
+        logger.info(String.format("Rebuilt the artifact entry index with [%s] artifacts in [%s] ms.",
+                                  count, System.currentTimeMillis() - startTime));
+    }
+
+    /**
+     * Sends all the lookups to the database from now on, and frees the tables.
+     */
+    private void disable(int members)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        logger.info(String.format("The cluster has [%s] members, turning the node local artifact entry index off.",
+                                  members));
+
+        synchronized (tables)
+        {
+            enabled = false;
+            ready = false;
+            tables.clear();
+        }
+    }
+
+    private ArtifactLocationTable table(String repositoryKey)
+    {
+        ArtifactLocationTable table = tables.get(repositoryKey);
+        if (table != null)
+        {
+            return table;
+        }
+
+        synchronized (tables)
+        {
+            return tables.computeIfAbsent(repositoryKey, k -> new ArtifactLocationTable(rebuilding));
+        }
+    }
+
+    /**
+     * The transaction which has pending changes looks its own artifact entries up in the database, as the index
+     * doesn't have them yet.
+     */
+    private void afterCommit(Runnable action)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            action.run();
+
+            return;
+        }
+
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null)
+        {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+
+        pendingChanges.actions.add(action);
+    }
+
+    /**
+     * The cluster id and the cluster position of a persistent record id packed into a {@code long}, or
+     * {@link #UNKNOWN_LOCATION}.
+     */
+    private static long toLocation(ORID rid)
+    {
+        if (rid == null || !rid.isPersistent() || rid.getClusterId() < 0 ||
+            rid.getClusterPosition() >= 1L << CLUSTER_POSITION_BITS)
+        {
+            return UNKNOWN_LOCATION;
+        }
+
+        return ((long) rid.getClusterId() << CLUSTER_POSITION_BITS) | rid.getClusterPosition();
+    }
+
+    private static long hash(String path)
+    {
+        return PATH_HASH_FUNCTION.hashString(path, StandardCharsets.UTF_8).asLong();
+    }
+
+    private static String repositoryKey(String storageId,
+                                        String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
+    private OObjectDatabaseTx getDelegate()
+    {
+        return (OObjectDatabaseTx) entityManager.getDelegate();
+    }
+
+    private class PendingChanges
+            extends TransactionSynchronizationAdapter
+    {
+
+        private final List<Runnable> actions = new ArrayList<>();
+
+        @Override
+        public void afterCommit()
+        {
+            actions.forEach(Runnable::run);
+        }
+
+        @Override
+        public void afterCompletion(int status)
+        {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ArtifactEntryIndex.this);
+        }
+
+    }
+
+}
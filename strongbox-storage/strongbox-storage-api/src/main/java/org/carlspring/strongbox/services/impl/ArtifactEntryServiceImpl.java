@@ -8,11 +8,14 @@ import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 
+import javax.inject.Inject;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import com.orientechnologies.orient.core.exception.ORecordNotFoundException;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
@@ -35,6 +38,9 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    @Inject
+    private ArtifactEntryIndex artifactEntryIndex;
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -49,7 +55,10 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             entity.setCreated(new Date());
         }
 
-        return super.cascadeEntitySave(entity);
+        S result = super.cascadeEntitySave(entity);
+        artifactEntryIndex.added(entity, getDelegate().getIdentity(result));
+
+        return result;
     }
 
     @Override
@@ -111,32 +120,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT FROM ").append(getEntityClass().getSimpleName());
-        Map<String, Object> parameterMap = Collections.emptyMap();
-
+        Map<String, Object> parameterMap = new HashMap<>();
 
-        if (!searchCriteria.isEmpty())
+        String criteriaQueryClause = buildSearchCriteriaClause(searchCriteria, parameterMap);
+        if (!criteriaQueryClause.isEmpty())
         {
-            StringBuilder criteriaQueryClasuse = new StringBuilder();
-            sb.append(" WHERE ");
-            parameterMap = new HashMap<>();
-
-            if (searchCriteria.getMinSizeInBytes() != null && searchCriteria.getMinSizeInBytes() > 0)
-            {
-                criteriaQueryClasuse.append(" sizeInBytes >= :minSizeInBytes ");
-                parameterMap.put("minSizeInBytes", searchCriteria.getMinSizeInBytes());
-            }
-            if (searchCriteria.getLastAccessedTimeInDays() != null && searchCriteria.getLastAccessedTimeInDays() > 0)
-            {
-                if (criteriaQueryClasuse.length() > 0)
-                {
-                    criteriaQueryClasuse.append(" AND ");
-                }
-                Date lastUsed = DateUtils.addDays(new Date(), -searchCriteria.getLastAccessedTimeInDays());
-                criteriaQueryClasuse.append(" lastUsed < :lastUsed ");
-                parameterMap.put("lastUsed", lastUsed);
-            }
-
-            sb.append(criteriaQueryClasuse);
+            sb.append(" WHERE ").append(criteriaQueryClause);
         }
 
         appendPagingCriteria(sb, pagingCriteria);
@@ -148,6 +137,44 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return getDelegate().command(oQuery).execute(parameterMap);
     }
 
+    @Override
+    public Stream<ArtifactEntry> streamMatching(ArtifactEntrySearchCriteria searchCriteria,
+                                                int pageSize)
+    {
+        Map<String, Object> parameterMap = new HashMap<>();
+        String criteriaQueryClause = buildSearchCriteriaClause(searchCriteria, parameterMap);
+
+        return stream(criteriaQueryClause, parameterMap, pageSize);
+    }
+
+    private String buildSearchCriteriaClause(ArtifactEntrySearchCriteria searchCriteria,
+                                             Map<String, Object> parameterMap)
+    {
+        StringBuilder criteriaQueryClause = new StringBuilder();
+        if (searchCriteria.isEmpty())
+        {
+            return criteriaQueryClause.toString();
+        }
+
+        if (searchCriteria.getMinSizeInBytes() != null && searchCriteria.getMinSizeInBytes() > 0)
+        {
+            criteriaQueryClause.append(" sizeInBytes >= :minSizeInBytes ");
+            parameterMap.put("minSizeInBytes", searchCriteria.getMinSizeInBytes());
+        }
+        if (searchCriteria.getLastAccessedTimeInDays() != null && searchCriteria.getLastAccessedTimeInDays() > 0)
+        {
+            if (criteriaQueryClause.length() > 0)
+            {
+                criteriaQueryClause.append(" AND ");
+            }
+            Date lastUsed = DateUtils.addDays(new Date(), -searchCriteria.getLastAccessedTimeInDays());
+            criteriaQueryClause.append(" lastUsed < :lastUsed ");
+            parameterMap.put("lastUsed", lastUsed);
+        }
+
+        return criteriaQueryClause.toString();
+    }
+
     @Override
     public List<ArtifactEntry> findArtifactList(String storageId,
                                                 String repositoryId,
@@ -375,24 +402,92 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     @Override
     public void delete(String id)
     {
+        findOne(id).ifPresent(artifactEntryIndex::removed);
+
         super.delete(id);
     }
 
     @Override
     public void delete(ArtifactEntry entity)
     {
+        artifactEntryIndex.removed(entity);
+
         super.delete(entity);
     }
 
+    @Override
+    public int delete(List<ArtifactEntry> entityList)
+    {
+        if (entityList != null)
+        {
+            entityList.forEach(artifactEntryIndex::removed);
+        }
+
+        return super.delete(entityList);
+    }
+
     @Override
     public void deleteAll()
     {
         super.deleteAll();
     }
 
+    /**
+     * The {@link ArtifactEntryIndex} answers for the missing artifacts, and points to the record of the existing ones,
+     * which is checked against the requested path before it's used. Otherwise the coordinates index is queried.
+     */
     private ORID findArtifactEntryId(String storageId,
                                      String repositoryId,
                                      String path)
+    {
+        long location = artifactEntryIndex.locate(storageId, repositoryId, path);
+        if (location == ArtifactEntryIndex.ABSENT)
+        {
+            return null;
+        }
+        else if (location >= 0)
+        {
+            ORID artifactEntryId = ArtifactEntryIndex.toRid(location);
+            if (isArtifactEntryRecord(artifactEntryId, storageId, repositoryId, path))
+            {
+                return artifactEntryId;
+            }
+        }
+
+        return queryArtifactEntryId(storageId, repositoryId, path);
+    }
+
+    private boolean isArtifactEntryRecord(ORID artifactEntryId,
+                                          String storageId,
+                                          String repositoryId,
+                                          String path)
+    {
+        ODocument artifactEntry;
+        try
+        {
+            artifactEntry = getDelegate().getUnderlying().load(artifactEntryId);
+        }
+        catch (ORecordNotFoundException e)
+        {
+            return false;
+        }
+
+        if (artifactEntry == null || artifactEntry.getSchemaClass() == null ||
+            !artifactEntry.getSchemaClass().isSubClassOf(ArtifactEntry.class.getSimpleName()) ||
+            !Objects.equals(storageId, artifactEntry.field("storageId")) ||
+            !Objects.equals(repositoryId, artifactEntry.field("repositoryId")))
+        {
+            return false;
+        }
+
+        ODocument artifactCoordinates = artifactEntry.field("artifactCoordinates");
+
+        return artifactCoordinates != null && path.equals(artifactCoordinates.field("path"));
+    }
+
+    private ORID queryArtifactEntryId(String storageId,
+                                      String repositoryId,
+                                      String path)
     {
         String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key = :path");
 
@@ -0,0 +1,275 @@
+package org.carlspring.strongbox.services.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An open-addressing hash table of the {@code long} path hashes to the {@code long} artifact locations, with linear
+ * probing and backward-shift deletion, which keeps the keys and the values interleaved in a single {@code long[]}
+ * (16 bytes per slot, no boxing and no entry objects).
+ * <p>
+ * The lookups are lock-free (optimistic {@link StampedLock} reads, retried under the read lock only if the table has
+ * been changed meanwhile), the changes are serialized by the write lock.
+ * <p>
+ * While the table is being rebuilt, the removed keys are remembered, so that the rebuild scan doesn't add back the
+ * entries which have been removed after the scan has read them.
+ */
+final class ArtifactLocationTable
+{
+
+    /**
+     * The location of a key which is not in the table.
+     */
+    static final long ABSENT = -2L;
+
+    /**
+     * The location of a key which is in the table, without a known location.
+     */
+    static final long UNKNOWN_LOCATION = -1L;
+
+    private static final long EMPTY = 0L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * The key of the slot {@code i} is at {@code 2 * i}, its location at {@code 2 * i + 1}.
+     */
+    private long[] slots = new long[2 * INITIAL_CAPACITY];
+
+    private int size;
+
+    private Set<Long> rebuildRemovals;
+
+    ArtifactLocationTable(boolean rebuilding)
+    {
+        rebuildRemovals = rebuilding ? new HashSet<>() : null;
+    }
+
+    /**
+     * @return the location of the key, {@link #UNKNOWN_LOCATION} or {@link #ABSENT}.
+     */
+    long get(long key)
+    {
+        key = normalize(key);
+
+        long stamp = lock.tryOptimisticRead();
+        long location = find(slots, key);
+        if (lock.validate(stamp))
+        {
+            return location;
+        }
+
+        stamp = lock.readLock();
+        try
+        {
+            return find(slots, key);
+        }
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    void put(long key,
+             long location)
+    {
+        key = normalize(key);
+
+        long stamp = lock.writeLock();
+        try
+        {
+            if (rebuildRemovals != null)
+            {
+                rebuildRemovals.remove(key);
+            }
+            doPut(key, location);
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Same as {@link #put(long, long)}, unless the key has been removed since the rebuild has been started.
+     */
+    void putScanned(long key,
+                    long location)
+    {
+        key = normalize(key);
+
+        long stamp = lock.writeLock();
+        try
+        {
+            if (rebuildRemovals == null || !rebuildRemovals.contains(key))
+            {
+                doPut(key, location);
+            }
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(long key)
+    {
+        key = normalize(key);
+
+        long stamp = lock.writeLock();
+        try
+        {
+            if (rebuildRemovals != null)
+            {
+                rebuildRemovals.add(key);
+            }
+            doRemove(key);
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void finishRebuild()
+    {
+        long stamp = lock.writeLock();
+        try
+        {
+            rebuildRemovals = null;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size()
+    {
+        long stamp = lock.readLock();
+        try
+        {
+            return size;
+        }
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static long find(long[] slots,
+                             long key)
+    {
+        int mask = (slots.length >> 1) - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask)
+        {
+            long slotKey = slots[2 * i];
+            if (slotKey == key)
+            {
+                return slots[2 * i + 1];
+            }
+            if (slotKey == EMPTY)
+            {
+                return ABSENT;
+            }
+        }
+    }
+
+    private void doPut(long key,
+                       long location)
+    {
+        int mask = (slots.length >> 1) - 1;
+        int i = slot(key, mask);
+        while (slots[2 * i] != EMPTY && slots[2 * i] != key)
+        {
+            i = (i + 1) & mask;
+        }
+
+        if (slots[2 * i] == EMPTY)
+        {
+            size++;
+        }
+        slots[2 * i] = key;
+        slots[2 * i + 1] = location;
+
+        // Keep the load factor at or below 3/4, so that the probe sequences stay short and always end.
+        if (size * 4 > (slots.length >> 1) * 3)
+        {
+            resize();
+        }
+    }
+
+    private void doRemove(long key)
+    {
+        int mask = (slots.length >> 1) - 1;
+        int i = slot(key, mask);
+        while (slots[2 * i] != key)
+        {
+            if (slots[2 * i] == EMPTY)
+            {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        // Shift the following keys of the probe sequence back, instead of leaving a tombstone.
+        for (int j = (i + 1) & mask; slots[2 * j] != EMPTY; j = (j + 1) & mask)
+        {
+            int home = slot(slots[2 * j], mask);
+            boolean reachable = i <= j ? i < home && home <= j : i < home || home <= j;
+            if (reachable)
+            {
+                continue;
+            }
+
+            slots[2 * i] = slots[2 * j];
+            slots[2 * i + 1] = slots[2 * j + 1];
+            i = j;
+        }
+
+        slots[2 * i] = EMPTY;
+        slots[2 * i + 1] = 0L;
+        size--;
+    }
+
+    private void resize()
+    {
+        long[] oldSlots = slots;
+        long[] newSlots = new long[oldSlots.length * 2];
+        int mask = (newSlots.length >> 1) - 1;
+
+        for (int i = 0; i < oldSlots.length; i += 2)
+        {
+            long key = oldSlots[i];
+            if (key == EMPTY)
+            {
+                continue;
+            }
+
+            int j = slot(key, mask);
+            while (newSlots[2 * j] != EMPTY)
+            {
+                j = (j + 1) & mask;
+            }
+            newSlots[2 * j] = key;
+            newSlots[2 * j + 1] = oldSlots[i + 1];
+        }
+
+        slots = newSlots;
+    }
+
+    private static int slot(long key,
+                            int mask)
+    {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    private static long normalize(long key)
+    {
+        return key == EMPTY ? 1L : key;
+    }
+
+}
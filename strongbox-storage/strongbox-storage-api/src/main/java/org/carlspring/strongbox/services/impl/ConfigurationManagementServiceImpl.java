@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
 import org.springframework.stereotype.Service;
@@ -140,6 +141,8 @@ public class ConfigurationManagementServiceImpl
                 throw new UndeclaredThrowableException(e);
             }
         });
+
+        repositoryEventListenerRegistry.dispatchGroupUpdatedEvent(null, null);
     }
 
     @Override
@@ -215,44 +218,46 @@ public class ConfigurationManagementServiceImpl
                                      repository.getHttpConnectionPool().getAllocatedConnections());
                          }
                      });
+
+        if (repository.isGroupRepository())
+        {
+            repositoryEventListenerRegistry.dispatchGroupUpdatedEvent(storageId, repository.getId());
+        }
     }
 
     @Override
     public void removeRepositoryFromAssociatedGroups(String storageId,
                                                      String repositoryId) throws IOException
     {
+        final List<Repository> includedInGroupRepositories = new ArrayList<>();
         modifyInLock(configuration ->
                      {
-                         List<Repository> includedInGroupRepositories = getConfiguration().getGroupRepositoriesContaining(
-                                 storageId, repositoryId);
+                         includedInGroupRepositories.addAll(getConfiguration().getGroupRepositoriesContaining(
+                                 storageId, repositoryId));
 
-                         if (!includedInGroupRepositories.isEmpty())
+                         for (Repository repository : includedInGroupRepositories)
                          {
-                             for (Repository repository : includedInGroupRepositories)
-                             {
-                                 configuration.getStorage(repository.getStorage().getId())
-                                              .getRepository(repository.getId())
-                                              .getGroupRepositories().remove(repositoryId);
-                             }
+                             configuration.getStorage(repository.getStorage().getId())
+                                          .getRepository(repository.getId())
+                                          .getGroupRepositories().remove(repositoryId);
                          }
                      });
+
+        for (Repository repository : includedInGroupRepositories)
+        {
+            repositoryEventListenerRegistry.dispatchGroupUpdatedEvent(repository.getStorage().getId(),
+                                                                      repository.getId());
+        }
     }
 
     @Override
     public void removeRepository(String storageId,
                                  String repositoryId) throws IOException
     {
-        modifyInLock(configuration -> {
-            configuration.getStorage(storageId).removeRepository(repositoryId);
-            try
-            {
-                removeRepositoryFromAssociatedGroups(storageId, repositoryId);
-            }
-            catch (IOException e)
-            {
-                throw new UndeclaredThrowableException(e);
-            }
-        });
+        // The groups are updated (and their events are dispatched) once they have been saved without the repository.
+        removeRepositoryFromAssociatedGroups(storageId, repositoryId);
+
+        modifyInLock(configuration -> configuration.getStorage(storageId).removeRepository(repositoryId));
     }
 
     @Override
@@ -294,12 +299,23 @@ public class ConfigurationManagementServiceImpl
                                      MutableRoutingRule routingRule) throws IOException
     {
         final MutableBoolean result = new MutableBoolean();
+        final List<MutableRoutingRule> previousRoutingRules = new ArrayList<>();
         modifyInLock(configuration -> configuration.getRoutingRules()
                                                    .getRules()
                                                    .stream()
                                                    .filter(r -> r.getUuid().equals(uuid))
                                                    .findFirst()
-                                                   .ifPresent(r -> result.setValue(r.updateBy(routingRule))));
+                                                   .ifPresent(r -> {
+                                                       previousRoutingRules.add(SerializationUtils.clone(r));
+                                                       result.setValue(r.updateBy(routingRule));
+                                                   }));
+
+        // The rule has been moved from its previous group repository to the one of the new rule.
+        for (MutableRoutingRule previousRoutingRule : previousRoutingRules)
+        {
+            dispatchRoutingRuleGroupUpdatedEvent(previousRoutingRule);
+            dispatchRoutingRuleGroupUpdatedEvent(routingRule);
+        }
 
         return result.isTrue();
     }
@@ -316,6 +332,8 @@ public class ConfigurationManagementServiceImpl
                                                       .add(routingRule));
                      });
 
+        dispatchRoutingRuleGroupUpdatedEvent(routingRule);
+
         return result.isTrue();
     }
 
@@ -323,6 +341,7 @@ public class ConfigurationManagementServiceImpl
     public boolean removeRoutingRule(UUID uuid) throws IOException
     {
         final MutableBoolean result = new MutableBoolean();
+        final List<MutableRoutingRule> removedRoutingRules = new ArrayList<>();
         modifyInLock(configuration ->
                      {
                          configuration.getRoutingRules()
@@ -330,15 +349,32 @@ public class ConfigurationManagementServiceImpl
                                       .stream()
                                       .filter(r -> r.getUuid().equals(uuid))
                                       .findFirst()
-                                      .ifPresent(r -> result.setValue(configuration.getRoutingRules()
-                                                                                   .getRules()
-                                                                                   .remove(r)));
+                                      .ifPresent(r -> {
+                                          removedRoutingRules.add(r);
+                                          result.setValue(configuration.getRoutingRules()
+                                                                       .getRules()
+                                                                       .remove(r));
+                                      });
 
                      });
 
+        removedRoutingRules.forEach(this::dispatchRoutingRuleGroupUpdatedEvent);
+
         return result.isTrue();
     }
 
+    /**
+     * The empty storage or group repository id of a routing rule matches all of them, in which case the event is
+     * dispatched without it.
+     */
+    private void dispatchRoutingRuleGroupUpdatedEvent(MutableRoutingRule routingRule)
+    {
+        String storageId = StringUtils.trimToNull(routingRule.getStorageId());
+        String groupRepositoryId = StringUtils.trimToNull(routingRule.getGroupRepositoryId());
+
+        repositoryEventListenerRegistry.dispatchGroupUpdatedEvent(storageId, groupRepositoryId);
+    }
+
     @Override
     public void addRepositoryToGroup(String storageId,
                                      String repositoryId,
@@ -350,6 +386,8 @@ public class ConfigurationManagementServiceImpl
                                                                            .getRepository(repositoryId);
                          repository.addRepositoryToGroup(repositoryGroupMemberId);
                      });
+
+        repositoryEventListenerRegistry.dispatchGroupUpdatedEvent(storageId, repositoryId);
     }
 
     private void setAllows() throws IOException
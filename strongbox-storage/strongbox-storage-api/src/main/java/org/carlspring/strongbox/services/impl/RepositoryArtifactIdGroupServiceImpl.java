@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.record.impl.ODocument;
@@ -140,6 +141,18 @@ public class RepositoryArtifactIdGroupServiceImpl
         return getDelegate().command(oQuery).execute(params);
     }
 
+    @Override
+    public Stream<RepositoryArtifactIdGroupEntry> streamMatching(String storageId,
+                                                                 String repositoryId,
+                                                                 int pageSize)
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+
+        return stream("storageId = :storageId AND repositoryId = :repositoryId", params, pageSize);
+    }
+
     public RepositoryArtifactIdGroupEntry findOneOrCreate(String storageId,
                                                           String repositoryId,
                                                           String artifactId)
@@ -1,21 +1,29 @@
 package org.carlspring.strongbox.services.support;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.support.RoutingRulesMatcher.RoutingDecision;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
 import org.carlspring.strongbox.storage.routing.RoutingRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
+ * The routing rules are compiled into a {@link RoutingRulesMatcher} per group repository, which is reused until
+ * the routing rules of the configuration change. The configuration service raises a
+ * {@link RepositoryEventTypeEnum#EVENT_REPOSITORY_GROUP_UPDATED} event once it has saved the changed routing rules
+ * (or the whole configuration), which moves the routing rules on to a new version.
+ *
  * @author Przemyslaw Fusik
  * @see <a href="https://strongbox.github.io/user-guide/artifact-routing-rules.html">Artifact Routing Rules</a>
  */
@@ -26,85 +34,83 @@ public class ArtifactRoutingRulesChecker
     @Inject
     private ConfigurationManager configurationManager;
 
+    private final AtomicLong routingRulesVersion = new AtomicLong();
+
+    private volatile CompiledRoutingRules compiledRoutingRules;
+
     public boolean isDenied(Repository groupRepository,
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final boolean hasDenyRules = hasCandidates(groupRepository, repositoryPath, routingRules.getDenied());
-        final boolean hasAcceptRules = hasCandidates(groupRepository, repositoryPath, routingRules.getAccepted());
-
-        return hasDenyRules && !hasAcceptRules;
+        return match(groupRepository, RepositoryFiles.relativizePath(repositoryPath)).isDenied(
+                repositoryPath.getRepository());
     }
 
-    private boolean hasCandidates(Repository groupRepository,
-                                  RepositoryPath repositoryPath,
-                                  List<RoutingRule> routingRules)
-            throws IOException
+    /**
+     * Matches the routing rules of the group repository once, for all of its members.
+     */
+    public RoutingDecision match(Repository groupRepository,
+                                 String artifactPath)
     {
+        return getMatcher(groupRepository).match(artifactPath);
+    }
 
-        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        Repository subRepository = repositoryPath.getRepository();
-
-        return routingRules.stream()
-                           .anyMatch(rule -> {
-                               boolean result = false;
-
-                               if ((isMatch(rule, groupRepository))
-                                   && rule.getRegex().matcher(artifactPath).matches())
-                               {
-                                   // an empty collection means the rule is applied to **all** repositories in the group.
-                                   if (rule.getRepositories().size() == 0)
-                                   {
-                                       result = true;
-                                   }
-                                   else
-                                   {
-                                       result = rule.getRepositories()
-                                                    .stream()
-                                                    .anyMatch(r -> isMatch(r, subRepository));
-                                   }
-                               }
-
-                               return result;
-                           });
+    @EventListener
+    public void handle(final RepositoryEvent event)
+    {
+        if (event.getType() == RepositoryEventTypeEnum.EVENT_REPOSITORY_GROUP_UPDATED.getType())
+        {
+            routingRulesVersion.incrementAndGet();
+        }
+    }
 
+    RoutingRulesMatcher getMatcher(Repository groupRepository)
+    {
+        return getCompiledRoutingRules().getMatcher(groupRepository);
     }
 
-    private boolean isMatch(RepositoryIdentifiable rule,
-                            Repository repository)
+    CompiledRoutingRules getCompiledRoutingRules()
     {
-        boolean result = false;
+        // The version is read before the routing rules, so that rules which change in between get compiled again.
+        long version = routingRulesVersion.get();
 
-        // exact match == storageId:repositoryId
-        if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), repository.getStorageIdAndRepositoryId()))
-        {
-            result = true;
-        }
-        // wildcard == *:*
-        else if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), StringUtils.EMPTY))
+        CompiledRoutingRules compiled = compiledRoutingRules;
+        if (compiled == null || compiled.version != version)
         {
-            result = true;
+            RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
+            compiledRoutingRules = compiled = new CompiledRoutingRules(version, routingRules);
         }
-        // wildcard == storageId:*
-        else if (equalsIgnoreCase(rule.getRepositoryId(), StringUtils.EMPTY) &&
-                 equalsIgnoreCase(rule.getStorageId(), repository.getStorage().getId()))
+
+        return compiled;
+    }
+
+    static class CompiledRoutingRules
+    {
+
+        private final long version;
+
+        private final RoutingRules routingRules;
+
+        private final Map<String, RoutingRulesMatcher> matchers = new ConcurrentHashMap<>();
+
+        private CompiledRoutingRules(long version,
+                                     RoutingRules routingRules)
         {
-            result = true;
+            this.version = version;
+            this.routingRules = routingRules;
         }
-        // wildcard == *:repositoryId
-        else if (equalsIgnoreCase(rule.getStorageId(), StringUtils.EMPTY) &&
-                 equalsIgnoreCase(rule.getRepositoryId(), repository.getId()))
+
+        private RoutingRulesMatcher getMatcher(Repository groupRepository)
         {
-            result = true;
+            String storageId = groupRepository.getStorage().getId();
+            String repositoryId = groupRepository.getId();
+
+            return matchers.computeIfAbsent(groupRepository.getStorageIdAndRepositoryId(),
+                                            k -> RoutingRulesMatcher.compile(storageId,
+                                                                             repositoryId,
+                                                                             routingRules.getRules()));
         }
 
-        return result;
     }
 
-    private boolean equalsIgnoreCase(final String a,
-                                     final String b)
-    {
-        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
-    }
 }
@@ -0,0 +1,296 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The routing rules of a single group repository, compiled into an immutable matcher.
+ * <p>
+ * The rules are indexed by the literal prefix of their pattern in a prefix trie, so that matching a path runs
+ * only the patterns which can match it (the patterns without a literal prefix are always run). The result of
+ * {@link #match(String)} tells which repositories are denied for the path, without matching the patterns again
+ * for each of the group members.
+ *
+ * @see ArtifactRoutingRulesChecker
+ */
+public class RoutingRulesMatcher
+{
+
+    private static final String REGEX_META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    private static final RoutingDecision NO_RULES = new RoutingDecision(Collections.emptyList(),
+                                                                        Collections.emptyList());
+
+    private final List<CompiledRule> rules;
+
+    private final TrieNode root = new TrieNode();
+
+    private final boolean hasDenyRules;
+
+    private RoutingRulesMatcher(List<CompiledRule> rules)
+    {
+        this.rules = rules;
+        this.hasDenyRules = rules.stream().anyMatch(r -> r.deny);
+
+        for (int i = 0; i < rules.size(); i++)
+        {
+            TrieNode node = root;
+            for (char c : rules.get(i).literalPrefix.toCharArray())
+            {
+                node = node.children.computeIfAbsent(c, k -> new TrieNode());
+            }
+            node.rules.add(i);
+        }
+    }
+
+    /**
+     * Compiles the rules which apply to the group repository.
+     */
+    public static RoutingRulesMatcher compile(String groupStorageId,
+                                              String groupRepositoryId,
+                                              List<RoutingRule> routingRules)
+    {
+        return new RoutingRulesMatcher(routingRules.stream()
+                                                   .filter(r -> isMatch(r, groupStorageId, groupRepositoryId))
+                                                   .map(CompiledRule::new)
+                                                   .collect(Collectors.toList()));
+    }
+
+    public RoutingDecision match(String artifactPath)
+    {
+        // Without any deny rule nothing can be denied.
+        if (!hasDenyRules)
+        {
+            return NO_RULES;
+        }
+
+        List<RepositoryFilter> denied = new ArrayList<>();
+        List<RepositoryFilter> accepted = new ArrayList<>();
+
+        TrieNode node = root;
+        for (int i = 0; node != null; i++)
+        {
+            for (int ruleIndex : node.rules)
+            {
+                CompiledRule rule = rules.get(ruleIndex);
+                if (rule.regex.matcher(artifactPath).matches())
+                {
+                    (rule.deny ? denied : accepted).add(rule.repositories);
+                }
+            }
+
+            node = i < artifactPath.length() ? node.children.get(artifactPath.charAt(i)) : null;
+        }
+
+        if (denied.isEmpty())
+        {
+            return NO_RULES;
+        }
+
+        return new RoutingDecision(denied, accepted);
+    }
+
+    /**
+     * Same semantics as the {@code storageId:repositoryId} matching of the routing rules, where an empty
+     * {@code storageId} or {@code repositoryId} is a wildcard.
+     */
+    static boolean isMatch(RepositoryIdentifiable rule,
+                           String storageId,
+                           String repositoryId)
+    {
+        return isMatch(normalize(rule.getStorageId()), normalize(rule.getRepositoryId()), storageId, repositoryId);
+    }
+
+    private static boolean isMatch(String ruleStorageId,
+                                   String ruleRepositoryId,
+                                   String storageId,
+                                   String repositoryId)
+    {
+        return (ruleStorageId.isEmpty() || ruleStorageId.equalsIgnoreCase(StringUtils.trimToEmpty(storageId))) &&
+               (ruleRepositoryId.isEmpty() || ruleRepositoryId.equalsIgnoreCase(StringUtils.trimToEmpty(repositoryId)));
+    }
+
+    private static String normalize(String id)
+    {
+        return StringUtils.trimToEmpty(id);
+    }
+
+    /**
+     * @return the literal which every path matched by the pattern has to start with (may be empty).
+     */
+    static String literalPrefix(String pattern)
+    {
+        if (hasTopLevelAlternation(pattern))
+        {
+            return StringUtils.EMPTY;
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        for (int i = pattern.startsWith("^") ? 1 : 0; i < pattern.length(); i++)
+        {
+            char c = pattern.charAt(i);
+            if (REGEX_META_CHARACTERS.indexOf(c) < 0)
+            {
+                prefix.append(c);
+
+                continue;
+            }
+
+            // The last literal is optional, if it's followed by a quantifier.
+            if ((c == '?' || c == '*' || c == '{') && prefix.length() > 0)
+            {
+                prefix.setLength(prefix.length() - 1);
+            }
+
+            break;
+        }
+
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(String pattern)
+    {
+        int depth = 0;
+        boolean characterClass = false;
+        for (int i = 0; i < pattern.length(); i++)
+        {
+            char c = pattern.charAt(i);
+            if (c == '\\')
+            {
+                // Quoted sections can contain anything.
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'Q')
+                {
+                    return true;
+                }
+
+                i++;
+            }
+            else if (characterClass)
+            {
+                characterClass = c != ']';
+            }
+            else if (c == '[')
+            {
+                characterClass = true;
+            }
+            else if (c == '(')
+            {
+                depth++;
+            }
+            else if (c == ')')
+            {
+                depth--;
+            }
+            else if (c == '|' && depth == 0)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The routing rules which matched a path.
+     */
+    public static class RoutingDecision
+    {
+
+        private final List<RepositoryFilter> denied;
+
+        private final List<RepositoryFilter> accepted;
+
+        private RoutingDecision(List<RepositoryFilter> denied,
+                                List<RepositoryFilter> accepted)
+        {
+            this.denied = denied;
+            this.accepted = accepted;
+        }
+
+        public boolean isDenied(Repository repository)
+        {
+            return isDenied(repository.getStorage().getId(), repository.getId());
+        }
+
+        /**
+         * @return true if a deny rule and no accept rule applies to the repository.
+         */
+        public boolean isDenied(String storageId,
+                                String repositoryId)
+        {
+            return denied.stream().anyMatch(f -> f.isMatch(storageId, repositoryId)) &&
+                   accepted.stream().noneMatch(f -> f.isMatch(storageId, repositoryId));
+        }
+
+    }
+
+    private static class CompiledRule
+    {
+
+        private final Pattern regex;
+
+        private final String literalPrefix;
+
+        private final boolean deny;
+
+        private final RepositoryFilter repositories;
+
+        private CompiledRule(RoutingRule rule)
+        {
+            this.regex = rule.getRegex();
+            this.literalPrefix = literalPrefix(rule.getPattern());
+            this.deny = rule.isDeny();
+            this.repositories = new RepositoryFilter(rule.getRepositories()
+                                                         .stream()
+                                                         .map(r -> new String[]{ normalize(r.getStorageId()),
+                                                                                 normalize(r.getRepositoryId()) })
+                                                         .collect(Collectors.toList()));
+        }
+
+    }
+
+    private static class RepositoryFilter
+    {
+
+        /**
+         * An empty list means the rule is applied to **all** repositories in the group.
+         */
+        private final List<String[]> storageIdAndRepositoryIds;
+
+        private RepositoryFilter(List<String[]> storageIdAndRepositoryIds)
+        {
+            this.storageIdAndRepositoryIds = storageIdAndRepositoryIds;
+        }
+
+        private boolean isMatch(String storageId,
+                                String repositoryId)
+        {
+            return storageIdAndRepositoryIds.isEmpty() ||
+                   storageIdAndRepositoryIds.stream()
+                                            .anyMatch(r -> RoutingRulesMatcher.isMatch(r[0], r[1], storageId,
+                                                                                       repositoryId));
+        }
+
+    }
+
+    private static class TrieNode
+    {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+
+        private final List<Integer> rules = new ArrayList<>();
+
+    }
+
+}
@@ -1,14 +1,17 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
 /**
  * All artifacts should pass through here.
  * Any deployed file which doesn't end in a checksum format (md5, sha1, gpg)
@@ -25,6 +28,11 @@ import org.slf4j.LoggerFactory;
  * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
  * this, then remove the checksum from the cache. (If this checksums set is empty,
  * remove the respective Checksum from the cachedChecksums).
+ * <p>
+ * The checksums are kept in a concurrent cache, which is bounded by {@link #getCachedChecksumMaximumSize()} and
+ * expires each entry on its own once it has not been accessed for {@link #getCachedChecksumLifetime()}, so the
+ * reads never block and the expiration doesn't need to scan the whole cache. The hit, miss and eviction
+ * statistics are available through {@link #getStats()} and the {@code checksumCache} cache metrics.
  *
  * @author mtodorov
  */
@@ -33,11 +41,13 @@ public class ChecksumCacheManager
 
     private static Logger logger = LoggerFactory.getLogger(ChecksumCacheManager.class);
 
+    private static final String CACHE_NAME = "checksumCache";
+
     /**
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    private volatile Cache<String, ArtifactChecksum> cachedChecksums;
 
     /**
      * Specifies how long to keep the cached checksums.
@@ -46,6 +56,12 @@ public class ChecksumCacheManager
      */
     private long cachedChecksumLifetime = 5 * 60000;
 
+    /**
+     * Specifies how many artifacts can have their checksums cached at once, the least recently used ones are
+     * evicted first.
+     */
+    private long cachedChecksumMaximumSize = 10000L;
+
     /**
      * Specifies at what interval to check if the checksums have expired.
      * The default is to check once every minute.
@@ -53,13 +69,52 @@ public class ChecksumCacheManager
     private long cachedChecksumExpiredCheckInterval = 60000L;
 
 
-    public ChecksumCacheManager()
+    /**
+     * The cache is built on the first use, once the lifetime and the maximum size have been configured.
+     */
+    private Cache<String, ArtifactChecksum> cache()
+    {
+        Cache<String, ArtifactChecksum> cache = cachedChecksums;
+        if (cache != null)
+        {
+            return cache;
+        }
+
+        synchronized (this)
+        {
+            if (cachedChecksums == null)
+            {
+                cachedChecksums = buildCache();
+            }
+
+            return cachedChecksums;
+        }
+    }
+
+    private Cache<String, ArtifactChecksum> buildCache()
     {
+        Cache<String, ArtifactChecksum> cache = CacheBuilder.newBuilder()
+                                                            .maximumSize(cachedChecksumMaximumSize)
+                                                            .expireAfterAccess(cachedChecksumLifetime,
+                                                                               TimeUnit.MILLISECONDS)
+                                                            .recordStats()
+                                                            .removalListener(n -> {
+                                                                if (n.wasEvicted())
+                                                                {
+                                                                    logger.debug(String.format("Evicted [%s] artifact checksum value [%s] from cache (%s).",
+                                                                                               n.getKey(),
+                                                                                               n.getValue(),
+                                                                                               n.getCause()));
+                                                                }
+                                                            })
+                                                            .build();
+
+        return GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, CACHE_NAME);
     }
 
     public boolean containsArtifactPath(String artifactPath)
     {
-        final boolean containsChecksum = cachedChecksums.containsKey(artifactPath);
+        final boolean containsChecksum = cache().getIfPresent(artifactPath) != null;
         if (containsChecksum)
         {
             logger.debug("Cache contains artifact path '" + artifactPath + "'.");
@@ -71,12 +126,12 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
         {
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
         final String checksum = artifactChecksum.getChecksum(algorithm);
         if (checksum != null)
         {
@@ -88,40 +143,34 @@ public class ChecksumCacheManager
 
     public ArtifactChecksum getArtifactChecksum(String artifactBasePath)
     {
-        return cachedChecksums.get(artifactBasePath);
+        return cache().getIfPresent(artifactBasePath);
     }
 
     public boolean validateChecksum(String artifactPath,
                                     String algorithm,
                                     String checksum)
     {
-        return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
+        return checksum != null && checksum.equals(getArtifactChecksum(artifactPath, algorithm));
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
     {
         logger.debug("Adding checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-            artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
-        {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+        cache().asMap().compute(artifactBasePath, (k, artifactChecksum) -> {
+            ArtifactChecksum result = Optional.ofNullable(artifactChecksum).orElseGet(ArtifactChecksum::new);
+            result.addChecksum(algorithm, checksum);
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
-        }
+            return result;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
+        cache().asMap().computeIfPresent(artifactBasePath, (k, ac) -> {
             logger.debug(ac.removeChecksum(algorithm)
                            .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                    artifactBasePath,
@@ -129,40 +178,25 @@ public class ChecksumCacheManager
                            .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
                                                           algorithm,
                                                           artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+
+            return ac.getChecksums().isEmpty() ? null : ac;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
-        Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
+        Optional.ofNullable(cache().asMap().remove(artifactBasePath))
                 .ifPresent(ac -> logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                             artifactBasePath, ac)));
     }
 
-    public synchronized void removeExpiredChecksums()
-    {
-        for (String checksum : getExpiredChecksums())
-        {
-            removeArtifactChecksum(checksum);
-        }
-    }
-
-    private Set<String> getExpiredChecksums()
+    /**
+     * The expired checksums are removed as a part of the regular cache operations, this method only forces
+     * the pending removals (for example when the cache is idle).
+     */
+    public void removeExpiredChecksums()
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
-
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
-        {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
-
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
-            {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
-            }
-        }
-
-        return expiredChecksums;
+        cache().cleanUp();
     }
 
     public long getCachedChecksumLifetime()
@@ -170,11 +204,27 @@ public class ChecksumCacheManager
         return cachedChecksumLifetime;
     }
 
+    /**
+     * Should be set before the cache is used.
+     */
     public void setCachedChecksumLifetime(long cachedChecksumLifetime)
     {
         this.cachedChecksumLifetime = cachedChecksumLifetime;
     }
 
+    public long getCachedChecksumMaximumSize()
+    {
+        return cachedChecksumMaximumSize;
+    }
+
+    /**
+     * Should be set before the cache is used.
+     */
+    public void setCachedChecksumMaximumSize(long cachedChecksumMaximumSize)
+    {
+        this.cachedChecksumMaximumSize = cachedChecksumMaximumSize;
+    }
+
     public long getCachedChecksumExpiredCheckInterval()
     {
         return cachedChecksumExpiredCheckInterval;
@@ -187,7 +237,12 @@ public class ChecksumCacheManager
 
     public long getSize()
     {
-        return cachedChecksums.size();
+        return cache().size();
+    }
+
+    public CacheStats getStats()
+    {
+        return cache().stats();
     }
 
     public void startMonitor()
@@ -201,6 +256,7 @@ public class ChecksumCacheManager
 
         private CachedChecksumExpirer()
         {
+            setDaemon(true);
             start();
         }
 
@@ -0,0 +1,123 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.io.LazyInputStream;
+import org.carlspring.strongbox.io.LazyInputStream.InputStreamSupplier;
+import org.carlspring.strongbox.io.RepositoryStreamCallback;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Checks when the content of a {@link RepositoryInputStream} is transferred straight from the file.
+ */
+public class RepositoryStreamSupportTest
+{
+
+    private static final byte[] CONTENT = "<metadata><versioning/></metadata>".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger openedChannels = new AtomicInteger();
+
+    private Path file;
+
+    private RepositoryStreamCallback callback;
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        file = Files.write(Files.createTempFile("repository-stream-support", ".xml"), CONTENT);
+        callback = Mockito.mock(RepositoryStreamCallback.class);
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testFileContentIsTransferredFromTheFile()
+            throws IOException
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (RepositoryInputStream is = newInputStream(() -> Files.newInputStream(file)))
+        {
+            long transferred = is.transferTo(channel -> channel.transferTo(0, channel.size(), Channels.newChannel(os)));
+
+            assertEquals(CONTENT.length, transferred);
+        }
+
+        assertEquals(1, openedChannels.get());
+        assertArrayEquals(CONTENT, os.toByteArray());
+        Mockito.verify(callback).onAfterRead(any());
+    }
+
+    @Test
+    public void testContentInMemoryIsNotReadAgainFromTheFile()
+            throws IOException
+    {
+        try (RepositoryInputStream is = newInputStream(() -> new ByteArrayInputStream(CONTENT)))
+        {
+            assertEquals(-1, is.transferTo(channel -> channel.size()));
+            assertArrayEquals(CONTENT, IOUtils.toByteArray(is));
+        }
+
+        assertEquals(0, openedChannels.get());
+        Mockito.verify(callback).onAfterRead(any());
+    }
+
+    private RepositoryInputStream newInputStream(InputStreamSupplier supplier)
+            throws IOException
+    {
+        RepositoryPath path = Mockito.mock(RepositoryPath.class);
+
+        return new TestRepositoryStreamSupport().new RepositoryInputStream(path, new LazyInputStream(supplier));
+    }
+
+    private class TestRepositoryStreamSupport
+            extends RepositoryStreamSupport
+    {
+
+        private TestRepositoryStreamSupport()
+        {
+            super(new ReentrantReadWriteLock(), callback);
+        }
+
+        @Override
+        protected boolean exists(RepositoryPath path)
+        {
+            return true;
+        }
+
+        @Override
+        protected FileChannel openFileChannel(RepositoryPath path)
+                throws IOException
+        {
+            openedChannels.incrementAndGet();
+
+            return FileChannel.open(file, StandardOpenOption.READ);
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how the followers of an {@link InFlightRemoteArtifactFetch} are resumed by the spooled bytes.
+ */
+public class InFlightRemoteArtifactFetchTest
+{
+
+    @Test
+    public void testProgressListenersAreResumedBySpooledBytes()
+            throws Exception
+    {
+        InFlightRemoteArtifactFetch fetch = new InFlightRemoteArtifactFetch(null);
+        fetch.openSpool();
+
+        AtomicInteger calls = new AtomicInteger();
+        fetch.whenProgressed(0, calls::incrementAndGet);
+        assertEquals(0, calls.get());
+
+        fetch.write(ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, calls.get());
+
+        // The bytes up to the position have already been spooled.
+        fetch.whenProgressed(2, calls::incrementAndGet);
+        assertEquals(2, calls.get());
+
+        fetch.whenProgressed(3, calls::incrementAndGet);
+        assertEquals(2, calls.get());
+
+        try (InputStream follower = fetch.newFollowerInputStream())
+        {
+            fetch.write(ByteBuffer.wrap("def".getBytes(StandardCharsets.UTF_8)));
+            assertEquals(3, calls.get());
+
+            try (InputStream spool = fetch.newSpoolInputStream())
+            {
+                assertEquals("abcdef", IOUtils.toString(spool, StandardCharsets.UTF_8));
+            }
+
+            fetch.whenProgressed(6, calls::incrementAndGet);
+            fetch.complete();
+            assertEquals(4, calls.get());
+            assertTrue(fetch.isDone());
+
+            assertEquals("abcdef", IOUtils.toString(follower, StandardCharsets.UTF_8));
+        }
+    }
+
+}
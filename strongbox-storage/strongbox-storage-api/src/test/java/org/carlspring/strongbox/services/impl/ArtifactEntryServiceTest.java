@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -25,6 +26,7 @@ import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -264,6 +266,34 @@ public class ArtifactEntryServiceTest
         assertThat(entries.size(), CoreMatchers.equalTo(all - 1));
     }
 
+    @Test
+    public void streamMatchingShouldReturnSameEntriesAsFindMatching()
+            throws Exception
+    {
+        updateArtifactAttributes();
+
+        ArtifactEntrySearchCriteria searchCriteria = anArtifactEntrySearchCriteria().withMinSizeInBytes(500l)
+                                                                                    .build();
+
+        List<String> expected = artifactEntryService.findMatching(searchCriteria, PagingCriteria.ALL)
+                                                    .stream()
+                                                    .map(ArtifactEntry::getUuid)
+                                                    .sorted()
+                                                    .collect(Collectors.toList());
+
+        // A page size of 1 makes sure that every entry is fetched by the keyset of the previous one.
+        List<String> actual;
+        try (Stream<ArtifactEntry> entries = artifactEntryService.streamMatching(searchCriteria, 1))
+        {
+            actual = entries.map(ArtifactEntry::getUuid)
+                            .sorted()
+                            .collect(Collectors.toList());
+        }
+
+        assertFalse(actual.isEmpty());
+        assertEquals(expected, actual);
+    }
+
     /**
      * Make sure that we are able to search artifacts by single coordinate.
      *
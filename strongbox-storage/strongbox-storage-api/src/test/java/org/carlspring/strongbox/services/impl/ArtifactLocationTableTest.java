@@ -0,0 +1,77 @@
+package org.carlspring.strongbox.services.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the {@link ArtifactLocationTable} against a {@link HashMap} with random changes, which exercise the resizing
+ * and the backward-shift deletion of the colliding keys.
+ */
+public class ArtifactLocationTableTest
+{
+
+    @Test
+    public void testRandomChanges()
+    {
+        Random random = new Random(20);
+
+        for (int round = 0; round < 20; round++)
+        {
+            ArtifactLocationTable table = new ArtifactLocationTable(false);
+            Map<Long, Long> expected = new HashMap<>();
+
+            int keyRange = 1 + random.nextInt(2000);
+            for (int i = 0; i < 50000; i++)
+            {
+                long key = random.nextInt(keyRange) + 1;
+                switch (random.nextInt(3))
+                {
+                    case 0:
+                        long location = random.nextLong() & Long.MAX_VALUE;
+                        table.put(key, location);
+                        expected.put(key, location);
+                        break;
+                    case 1:
+                        table.remove(key);
+                        expected.remove(key);
+                        break;
+                    default:
+                        assertEquals(expected.getOrDefault(key, ArtifactLocationTable.ABSENT).longValue(),
+                                     table.get(key));
+                }
+            }
+
+            assertEquals(expected.size(), table.size());
+            expected.forEach((key, location) -> assertEquals(location.longValue(), table.get(key)));
+        }
+    }
+
+    @Test
+    public void testRebuildDoesNotRestoreRemovedKeys()
+    {
+        ArtifactLocationTable table = new ArtifactLocationTable(true);
+
+        table.put(1L, 10L);
+        table.remove(2L);
+        table.putScanned(1L, 11L);
+        table.putScanned(2L, 20L);
+        table.putScanned(3L, 30L);
+
+        assertEquals(11L, table.get(1L));
+        assertEquals(ArtifactLocationTable.ABSENT, table.get(2L));
+        assertEquals(30L, table.get(3L));
+
+        table.put(2L, 21L);
+        table.finishRebuild();
+        table.remove(3L);
+        table.putScanned(3L, 30L);
+
+        assertEquals(21L, table.get(2L));
+        assertEquals(30L, table.get(3L));
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker.CompiledRoutingRules;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that the compiled routing rules are reused until the routing rules change, although each configuration
+ * returned by the {@link ConfigurationManager} comes with its own routing rules instance.
+ */
+public class ArtifactRoutingRulesCheckerTest
+{
+
+    @Mock
+    private ConfigurationManager configurationManager;
+
+    @InjectMocks
+    private ArtifactRoutingRulesChecker artifactRoutingRulesChecker;
+
+    private Repository groupRepository;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        Mockito.when(configurationManager.getConfiguration()).thenAnswer(invocation -> {
+            Configuration configuration = Mockito.mock(Configuration.class);
+            Mockito.when(configuration.getRoutingRules()).thenReturn(new RoutingRules(new MutableRoutingRules()));
+
+            return configuration;
+        });
+
+        StorageDto storage = new StorageDto();
+        storage.setId("storage-common-proxies");
+
+        RepositoryDto repository = new RepositoryDto();
+        repository.setStorage(storage);
+        repository.setId("group-common-proxies");
+
+        groupRepository = new RepositoryData(repository);
+    }
+
+    @Test
+    public void testCompiledRoutingRulesAreReused()
+    {
+        CompiledRoutingRules compiled = artifactRoutingRulesChecker.getCompiledRoutingRules();
+        RoutingRulesMatcher matcher = artifactRoutingRulesChecker.getMatcher(groupRepository);
+
+        artifactRoutingRulesChecker.match(groupRepository, "org/carlspring/foo/1.0/foo-1.0.jar");
+        artifactRoutingRulesChecker.match(groupRepository, "org/carlspring/foo/1.0/foo-1.0.pom");
+
+        assertSame(compiled, artifactRoutingRulesChecker.getCompiledRoutingRules());
+        assertSame(matcher, artifactRoutingRulesChecker.getMatcher(groupRepository));
+    }
+
+    @Test
+    public void testCompiledRoutingRulesAreRebuiltWhenTheRulesChange()
+    {
+        CompiledRoutingRules compiled = artifactRoutingRulesChecker.getCompiledRoutingRules();
+
+        // Events of the other types don't change the routing rules.
+        int type = RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_IN_SERVICE.getType();
+        artifactRoutingRulesChecker.handle(new RepositoryEvent("storage-common-proxies", "group-common-proxies", type));
+        assertSame(compiled, artifactRoutingRulesChecker.getCompiledRoutingRules());
+
+        type = RepositoryEventTypeEnum.EVENT_REPOSITORY_GROUP_UPDATED.getType();
+        artifactRoutingRulesChecker.handle(new RepositoryEvent("storage-common-proxies", "group-common-proxies", type));
+
+        CompiledRoutingRules rebuilt = artifactRoutingRulesChecker.getCompiledRoutingRules();
+        assertNotSame(compiled, rebuilt);
+        assertSame(rebuilt, artifactRoutingRulesChecker.getCompiledRoutingRules());
+    }
+
+}
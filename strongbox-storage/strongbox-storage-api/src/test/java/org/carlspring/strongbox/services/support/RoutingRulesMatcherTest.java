@@ -0,0 +1,289 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.services.support.RoutingRulesMatcher.RoutingDecision;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link RoutingRulesMatcher} against the rule by rule matching, which {@link ArtifactRoutingRulesChecker}
+ * used to do for each group member, and compares their performance.
+ */
+public class RoutingRulesMatcherTest
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingRulesMatcherTest.class);
+
+    private static final String GROUP_STORAGE_ID = "storage-common-proxies";
+
+    private static final String GROUP_REPOSITORY_ID = "group-common-proxies";
+
+    private static final List<String[]> MEMBERS = Arrays.asList(new String[]{ "storage-common-proxies", "maven-central" },
+                                                                new String[]{ "storage-common-proxies", "carlspring" },
+                                                                new String[]{ "storage-springsource-proxies", "springsource" },
+                                                                new String[]{ "storage-ow2-proxies", "ow2" });
+
+    @Test
+    public void testLiteralPrefix()
+    {
+        assertEquals("org/carlspring/", RoutingRulesMatcher.literalPrefix("org/carlspring/.*"));
+        assertEquals("org/carlspring/", RoutingRulesMatcher.literalPrefix("^org/carlspring/.*"));
+        assertEquals("org/carlspring", RoutingRulesMatcher.literalPrefix("org/carlspring/?.*"));
+        assertEquals("org/", RoutingRulesMatcher.literalPrefix("org/(carlspring|apache)/.*"));
+        assertEquals("", RoutingRulesMatcher.literalPrefix("org/carlspring/.*|com/.*"));
+        assertEquals("", RoutingRulesMatcher.literalPrefix(".*(com|org)/carlspring.*"));
+        assertEquals("", RoutingRulesMatcher.literalPrefix("(?i)org/carlspring/.*"));
+    }
+
+    @Test
+    public void testAcceptRuleOverridesDenyRule()
+    {
+        List<RoutingRule> rules = Arrays.asList(rule(RoutingRuleTypeEnum.DENY, ".*(com|org)/carlspring.*"),
+                                                rule(RoutingRuleTypeEnum.ACCEPT, "org/carlspring/.*",
+                                                     "storage-common-proxies:carlspring"));
+
+        RoutingRulesMatcher matcher = RoutingRulesMatcher.compile(GROUP_STORAGE_ID, GROUP_REPOSITORY_ID, rules);
+
+        RoutingDecision decision = matcher.match("org/carlspring/foo/1.0/foo-1.0.jar");
+        assertTrue(decision.isDenied("storage-common-proxies", "maven-central"));
+        assertFalse(decision.isDenied("storage-common-proxies", "carlspring"));
+
+        decision = matcher.match("com/carlspring/foo/1.0/foo-1.0.jar");
+        assertTrue(decision.isDenied("storage-common-proxies", "carlspring"));
+
+        decision = matcher.match("org/apache/foo/1.0/foo-1.0.jar");
+        assertFalse(decision.isDenied("storage-common-proxies", "maven-central"));
+    }
+
+    @Test
+    public void testMatchesRuleByRuleChecking()
+    {
+        Random random = new Random(42);
+        List<RoutingRule> rules = randomRules(random, 300);
+        List<String> paths = randomPaths(random, 2000);
+
+        RoutingRulesMatcher matcher = RoutingRulesMatcher.compile(GROUP_STORAGE_ID, GROUP_REPOSITORY_ID, rules);
+        for (String path : paths)
+        {
+            RoutingDecision decision = matcher.match(path);
+            for (String[] member : MEMBERS)
+            {
+                assertEquals(isDeniedRuleByRule(rules, path, member[0], member[1]),
+                             decision.isDenied(member[0], member[1]),
+                             String.format("Path [%s], member [%s:%s]", path, member[0], member[1]));
+            }
+        }
+    }
+
+    @Test
+    public void testPerformanceComparedToRuleByRuleChecking()
+    {
+        Random random = new Random(42);
+        List<RoutingRule> rules = randomRules(random, 500);
+        List<String> paths = randomPaths(random, 2000);
+
+        RoutingRulesMatcher matcher = RoutingRulesMatcher.compile(GROUP_STORAGE_ID, GROUP_REPOSITORY_ID, rules);
+
+        // Warm up.
+        int denied = runRuleByRule(rules, paths) + runCompiled(matcher, paths);
+
+        long start = System.nanoTime();
+        denied += runRuleByRule(rules, paths);
+        long ruleByRuleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        denied += runCompiled(matcher, paths);
+        long compiledNanos = System.nanoTime() - start;
+
+        logger.info(String.format("[%s] rules, [%s] paths, [%s] members ([%s] denied): rule by rule [%s] ms, compiled [%s] ms.",
+                                  rules.size(),
+                                  paths.size(),
+                                  MEMBERS.size(),
+                                  denied,
+                                  TimeUnit.NANOSECONDS.toMillis(ruleByRuleNanos),
+                                  TimeUnit.NANOSECONDS.toMillis(compiledNanos)));
+    }
+
+    private int runRuleByRule(List<RoutingRule> rules,
+                              List<String> paths)
+    {
+        int denied = 0;
+        for (String path : paths)
+        {
+            for (String[] member : MEMBERS)
+            {
+                denied += isDeniedRuleByRule(rules, path, member[0], member[1]) ? 1 : 0;
+            }
+        }
+
+        return denied;
+    }
+
+    private int runCompiled(RoutingRulesMatcher matcher,
+                            List<String> paths)
+    {
+        int denied = 0;
+        for (String path : paths)
+        {
+            RoutingDecision decision = matcher.match(path);
+            for (String[] member : MEMBERS)
+            {
+                denied += decision.isDenied(member[0], member[1]) ? 1 : 0;
+            }
+        }
+
+        return denied;
+    }
+
+    private List<RoutingRule> randomRules(Random random,
+                                          int count)
+    {
+        String[] groups = { "org", "com", "net", "io" };
+        String[] names = { "carlspring", "apache", "springframework", "strongbox", "jboss", "ow2" };
+
+        List<RoutingRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            String group = groups[random.nextInt(groups.length)];
+            String name = names[random.nextInt(names.length)];
+            String pattern;
+            switch (random.nextInt(4))
+            {
+                case 0:
+                    pattern = String.format("%s/%s/.*", group, name);
+                    break;
+                case 1:
+                    pattern = String.format(".*%s/%s.*", group, name);
+                    break;
+                case 2:
+                    pattern = String.format("%s/(%s|%s)/.*", group, name, names[random.nextInt(names.length)]);
+                    break;
+                default:
+                    pattern = String.format("%s/%s/[a-z-]+/%s/.*", group, name, random.nextInt(10));
+            }
+
+            RoutingRuleTypeEnum type = random.nextInt(3) == 0 ? RoutingRuleTypeEnum.ACCEPT : RoutingRuleTypeEnum.DENY;
+            String[] member = MEMBERS.get(random.nextInt(MEMBERS.size()));
+            String[] repositories = random.nextBoolean() ? new String[0] :
+                                    new String[]{ member[0] + ":" + member[1] };
+
+            rules.add(random.nextInt(10) == 0 ? rule("other-storage", "other-group", type, pattern, repositories) :
+                      rule(type, pattern, repositories));
+        }
+
+        return rules;
+    }
+
+    private List<String> randomPaths(Random random,
+                                     int count)
+    {
+        String[] groups = { "org", "com", "net", "io" };
+        String[] names = { "carlspring", "apache", "springframework", "strongbox", "jboss", "ow2" };
+
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            paths.add(String.format("%s/%s/artifact-%s/%s/artifact-%s.jar",
+                                    groups[random.nextInt(groups.length)],
+                                    names[random.nextInt(names.length)],
+                                    random.nextInt(3),
+                                    random.nextInt(10),
+                                    random.nextInt(10)));
+        }
+
+        return paths;
+    }
+
+    private RoutingRule rule(RoutingRuleTypeEnum type,
+                             String pattern,
+                             String... repositories)
+    {
+        return rule(GROUP_STORAGE_ID, GROUP_REPOSITORY_ID, type, pattern, repositories);
+    }
+
+    private RoutingRule rule(String groupStorageId,
+                             String groupRepositoryId,
+                             RoutingRuleTypeEnum type,
+                             String pattern,
+                             String... repositories)
+    {
+        List<MutableRoutingRuleRepository> ruleRepositories = new ArrayList<>();
+        Arrays.stream(repositories).map(MutableRoutingRuleRepository::new).forEach(ruleRepositories::add);
+
+        return new RoutingRule(MutableRoutingRule.create(groupStorageId,
+                                                         groupRepositoryId,
+                                                         ruleRepositories,
+                                                         pattern,
+                                                         type));
+    }
+
+    /**
+     * The rule by rule matching, as it was done by {@link ArtifactRoutingRulesChecker} before the rules were compiled.
+     */
+    private boolean isDeniedRuleByRule(List<RoutingRule> rules,
+                                       String path,
+                                       String storageId,
+                                       String repositoryId)
+    {
+        boolean hasDenyRules = rules.stream()
+                                    .filter(RoutingRule::isDeny)
+                                    .anyMatch(r -> isCandidate(r, path, storageId, repositoryId));
+        boolean hasAcceptRules = rules.stream()
+                                      .filter(RoutingRule::isAccept)
+                                      .anyMatch(r -> isCandidate(r, path, storageId, repositoryId));
+
+        return hasDenyRules && !hasAcceptRules;
+    }
+
+    private boolean isCandidate(RoutingRule rule,
+                                String path,
+                                String storageId,
+                                String repositoryId)
+    {
+        if (!isMatch(rule.getStorageIdAndRepositoryId(), rule.getStorageId(), rule.getRepositoryId(),
+                     GROUP_STORAGE_ID, GROUP_REPOSITORY_ID) || !rule.getRegex().matcher(path).matches())
+        {
+            return false;
+        }
+
+        return rule.getRepositories().isEmpty() ||
+               rule.getRepositories()
+                   .stream()
+                   .anyMatch(r -> isMatch(r.getStorageIdAndRepositoryId(), r.getStorageId(), r.getRepositoryId(),
+                                          storageId, repositoryId));
+    }
+
+    private boolean isMatch(String ruleStorageIdAndRepositoryId,
+                            String ruleStorageId,
+                            String ruleRepositoryId,
+                            String storageId,
+                            String repositoryId)
+    {
+        return equalsIgnoreCase(ruleStorageIdAndRepositoryId, storageId + ":" + repositoryId) ||
+               equalsIgnoreCase(ruleStorageIdAndRepositoryId, StringUtils.EMPTY) ||
+               (equalsIgnoreCase(ruleRepositoryId, StringUtils.EMPTY) && equalsIgnoreCase(ruleStorageId, storageId)) ||
+               (equalsIgnoreCase(ruleStorageId, StringUtils.EMPTY) && equalsIgnoreCase(ruleRepositoryId, repositoryId));
+    }
+
+    private boolean equalsIgnoreCase(final String a,
+                                     final String b)
+    {
+        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
+    }
+
+}
@@ -0,0 +1,201 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.storage.metadata.comparators.SnapshotVersionComparator;
+import org.carlspring.strongbox.storage.metadata.comparators.VersionComparator;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+
+/**
+ * Applies the change of a single version or timestamped snapshot to the existing metadata, instead of generating the
+ * metadata again from the artifact directories with the {@link VersionCollector} (which parses the POM of each
+ * version). A new version is inserted after the last version which is lower than it, so the versions sorted by the
+ * {@link VersionCollector} stay sorted, while the versions of the metadata uploaded by the clients (which are in the
+ * order of their deployment) are only scanned from the end, where the new versions usually belong.
+ * <p>
+ * The methods return whether they have changed the metadata, so that it is only stored when it has.
+ */
+public class IncrementalMetadataUpdater
+{
+
+    private static final VersionComparator VERSION_COMPARATOR = new VersionComparator();
+
+    private static final SnapshotVersionComparator SNAPSHOT_VERSION_COMPARATOR = new SnapshotVersionComparator();
+
+
+    private IncrementalMetadataUpdater()
+    {
+    }
+
+    /**
+     * Adds the version to the artifact level metadata, and updates its latest and release versions.
+     */
+    public static boolean addVersion(Metadata metadata,
+                                     String version)
+    {
+        Versioning versioning = getVersioning(metadata);
+
+        List<String> versions = versioning.getVersions();
+        if (versions.contains(version))
+        {
+            return false;
+        }
+
+        int index = versions.size();
+        while (index > 0 && VERSION_COMPARATOR.compare(versions.get(index - 1), version) >= 0)
+        {
+            index--;
+        }
+        versions.add(index, version);
+
+        if (versioning.getLatest() == null || VERSION_COMPARATOR.compare(version, versioning.getLatest()) > 0)
+        {
+            versioning.setLatest(version);
+        }
+        if (!ArtifactUtils.isSnapshot(version) &&
+            (versioning.getRelease() == null || VERSION_COMPARATOR.compare(version, versioning.getRelease()) > 0))
+        {
+            versioning.setRelease(version);
+        }
+
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    /**
+     * Removes the version from the artifact level metadata, the latest and release versions fall back to the highest
+     * of the remaining versions.
+     */
+    public static boolean removeVersion(Metadata metadata,
+                                        String version)
+    {
+        Versioning versioning = metadata.getVersioning();
+        if (versioning == null || !versioning.getVersions().remove(version))
+        {
+            return false;
+        }
+
+        if (version.equals(versioning.getLatest()))
+        {
+            versioning.setLatest(getHighestVersion(versioning.getVersions(), false));
+        }
+        if (version.equals(versioning.getRelease()))
+        {
+            versioning.setRelease(getHighestVersion(versioning.getVersions(), true));
+        }
+
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    /**
+     * Adds the timestamped snapshot to the snapshot version level metadata, and points its snapshot to the latest
+     * timestamped snapshot.
+     */
+    public static boolean addSnapshotVersion(Metadata metadata,
+                                             SnapshotVersion snapshotVersion)
+    {
+        Versioning versioning = getVersioning(metadata);
+
+        List<SnapshotVersion> snapshotVersions = versioning.getSnapshotVersions();
+        for (SnapshotVersion existing : snapshotVersions)
+        {
+            if (existing.getVersion().equals(snapshotVersion.getVersion()) &&
+                Objects.equals(existing.getClassifier(), snapshotVersion.getClassifier()) &&
+                Objects.equals(existing.getExtension(), snapshotVersion.getExtension()))
+            {
+                return false;
+            }
+        }
+
+        // After the other files of the same timestamped snapshot.
+        int index = snapshotVersions.size();
+        while (index > 0 && SNAPSHOT_VERSION_COMPARATOR.compare(snapshotVersions.get(index - 1), snapshotVersion) > 0)
+        {
+            index--;
+        }
+        snapshotVersions.add(index, snapshotVersion);
+
+        MetadataHelper.setupSnapshotVersioning(versioning);
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    /**
+     * Removes the files of the timestamped snapshot from the snapshot version level metadata.
+     *
+     * @param classifier the classifier of the file to remove, or null to remove all the files of the timestamped
+     *                   snapshot.
+     */
+    public static boolean removeSnapshotVersion(Metadata metadata,
+                                                String version,
+                                                String classifier)
+    {
+        Versioning versioning = metadata.getVersioning();
+        if (versioning == null)
+        {
+            return false;
+        }
+
+        boolean removed = false;
+        for (Iterator<SnapshotVersion> iterator = versioning.getSnapshotVersions().iterator(); iterator.hasNext(); )
+        {
+            SnapshotVersion snapshotVersion = iterator.next();
+            if (snapshotVersion.getVersion().equals(version) &&
+                (classifier == null || classifier.equals(snapshotVersion.getClassifier())))
+            {
+                iterator.remove();
+                removed = true;
+            }
+        }
+
+        if (!removed)
+        {
+            return false;
+        }
+
+        MetadataHelper.setupSnapshotVersioning(versioning);
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    private static Versioning getVersioning(Metadata metadata)
+    {
+        if (metadata.getVersioning() == null)
+        {
+            metadata.setVersioning(new Versioning());
+        }
+
+        return metadata.getVersioning();
+    }
+
+    private static String getHighestVersion(List<String> versions,
+                                            boolean release)
+    {
+        String highestVersion = null;
+        for (String version : versions)
+        {
+            if (release && ArtifactUtils.isSnapshot(version))
+            {
+                continue;
+            }
+            if (highestVersion == null || VERSION_COMPARATOR.compare(version, highestVersion) > 0)
+            {
+                highestVersion = version;
+            }
+        }
+
+        return highestVersion;
+    }
+
+}
@@ -0,0 +1,201 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.storage.metadata.comparators.VersionComparator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalMetadataUpdaterTest
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalMetadataUpdaterTest.class);
+
+    private static final String GROUP_ID = "org.carlspring.strongbox";
+
+    private static final String ARTIFACT_ID = "incremental-metadata";
+
+    private static final int VERSIONS = 5000;
+
+
+    @Test
+    public void testAddAndRemoveVersions()
+    {
+        Metadata metadata = new Metadata();
+
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "1.1"));
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "1.10"));
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "1.2-SNAPSHOT"));
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "1.2"));
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "1.11-SNAPSHOT"));
+        assertFalse(IncrementalMetadataUpdater.addVersion(metadata, "1.2"));
+
+        Versioning versioning = metadata.getVersioning();
+        assertEquals(Arrays.asList("1.1", "1.2-SNAPSHOT", "1.2", "1.10", "1.11-SNAPSHOT"), versioning.getVersions());
+        assertEquals("1.11-SNAPSHOT", versioning.getLatest());
+        assertEquals("1.10", versioning.getRelease());
+        assertNotNull(versioning.getLastUpdated());
+
+        assertTrue(IncrementalMetadataUpdater.removeVersion(metadata, "1.11-SNAPSHOT"));
+        assertEquals("1.10", versioning.getLatest());
+        assertEquals("1.10", versioning.getRelease());
+
+        assertTrue(IncrementalMetadataUpdater.removeVersion(metadata, "1.10"));
+        assertEquals("1.2", versioning.getLatest());
+        assertEquals("1.2", versioning.getRelease());
+
+        assertTrue(IncrementalMetadataUpdater.removeVersion(metadata, "1.2"));
+        assertEquals("1.2-SNAPSHOT", versioning.getLatest());
+        assertEquals("1.1", versioning.getRelease());
+
+        assertFalse(IncrementalMetadataUpdater.removeVersion(metadata, "1.2"));
+        assertEquals(Arrays.asList("1.1", "1.2-SNAPSHOT"), versioning.getVersions());
+    }
+
+    @Test
+    public void testAddAndRemoveSnapshotVersions()
+    {
+        Metadata metadata = new Metadata();
+
+        String first = "1.0-20180101.120000-1";
+        String second = "1.0-20180102.120000-2";
+
+        assertTrue(IncrementalMetadataUpdater.addSnapshotVersion(metadata, createSnapshotVersion(second, null, "jar")));
+        assertTrue(IncrementalMetadataUpdater.addSnapshotVersion(metadata, createSnapshotVersion(first, null, "pom")));
+        assertTrue(IncrementalMetadataUpdater.addSnapshotVersion(metadata, createSnapshotVersion(first, null, "jar")));
+        assertTrue(IncrementalMetadataUpdater.addSnapshotVersion(metadata,
+                                                                 createSnapshotVersion(first, "javadoc", "jar")));
+        assertFalse(IncrementalMetadataUpdater.addSnapshotVersion(metadata, createSnapshotVersion(first, null, "jar")));
+
+        Versioning versioning = metadata.getVersioning();
+        List<SnapshotVersion> snapshotVersions = versioning.getSnapshotVersions();
+        assertEquals(4, snapshotVersions.size());
+        assertEquals(first, snapshotVersions.get(0).getVersion());
+        assertEquals(second, snapshotVersions.get(3).getVersion());
+        assertEquals("20180102.120000", versioning.getSnapshot().getTimestamp());
+        assertEquals(2, versioning.getSnapshot().getBuildNumber());
+
+        assertTrue(IncrementalMetadataUpdater.removeSnapshotVersion(metadata, first, "javadoc"));
+        assertEquals(3, snapshotVersions.size());
+
+        assertTrue(IncrementalMetadataUpdater.removeSnapshotVersion(metadata, second, null));
+        assertEquals(2, snapshotVersions.size());
+        assertEquals("20180101.120000", versioning.getSnapshot().getTimestamp());
+        assertEquals(1, versioning.getSnapshot().getBuildNumber());
+
+        assertFalse(IncrementalMetadataUpdater.removeSnapshotVersion(metadata, second, null));
+    }
+
+    @Test
+    public void testAddVersionToUnsortedVersions()
+    {
+        Versioning versioning = new Versioning();
+        versioning.setVersions(new ArrayList<>(Arrays.asList("1.0", "2.0", "1.5")));
+        versioning.setLatest("2.0");
+        versioning.setRelease("2.0");
+
+        Metadata metadata = new Metadata();
+        metadata.setVersioning(versioning);
+
+        assertFalse(IncrementalMetadataUpdater.addVersion(metadata, "1.0"));
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "3.0"));
+        assertTrue(IncrementalMetadataUpdater.addVersion(metadata, "1.2"));
+
+        assertEquals(Arrays.asList("1.0", "1.2", "2.0", "1.5", "3.0"), versioning.getVersions());
+        assertEquals("3.0", versioning.getLatest());
+        assertEquals("3.0", versioning.getRelease());
+    }
+
+    /**
+     * Adds each version of an artifact with many versions both by collecting the versions from the artifact
+     * directories again, and incrementally (in the order the versions get deployed in), and checks that they produce
+     * the same versions.
+     */
+    @Test
+    public void testIncrementalVersionsMatchCollectedVersions()
+            throws Exception
+    {
+        Path artifactBasePath = Files.createTempDirectory("incremental-metadata").resolve(ARTIFACT_ID);
+        try
+        {
+            List<String> versions = new ArrayList<>(VERSIONS);
+            for (int i = 0; i < VERSIONS; i++)
+            {
+                versions.add(String.format("%d.%d.%d", i / 100, (i / 10) % 10, i % 10));
+            }
+            Collections.shuffle(versions, new Random(VERSIONS));
+
+            for (String version : versions)
+            {
+                createPom(artifactBasePath, version);
+            }
+
+            long start = System.nanoTime();
+            Versioning collectedVersioning = new VersionCollector().collectVersions(artifactBasePath).getVersioning();
+            long collected = System.nanoTime() - start;
+
+            versions.sort(new VersionComparator());
+
+            Metadata metadata = new Metadata();
+            start = System.nanoTime();
+            for (String version : versions)
+            {
+                IncrementalMetadataUpdater.addVersion(metadata, version);
+            }
+            long incremental = System.nanoTime() - start;
+
+            logger.info(String.format("Collected %s versions in %d ms, added them incrementally in %d ms.",
+                                      VERSIONS,
+                                      collected / 1000000,
+                                      incremental / 1000000));
+
+            assertEquals(VERSIONS, collectedVersioning.getVersions().size());
+            assertEquals(collectedVersioning.getVersions(), metadata.getVersioning().getVersions());
+            assertEquals("49.9.9", metadata.getVersioning().getLatest());
+            assertEquals("49.9.9", metadata.getVersioning().getRelease());
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(artifactBasePath.getParent().toFile());
+        }
+    }
+
+    private void createPom(Path artifactBasePath,
+                           String version)
+            throws IOException
+    {
+        Path versionPath = Files.createDirectories(artifactBasePath.resolve(version));
+
+        String pom = "<project>" +
+                     "<modelVersion>4.0.0</modelVersion>" +
+                     "<groupId>" + GROUP_ID + "</groupId>" +
+                     "<artifactId>" + ARTIFACT_ID + "</artifactId>" +
+                     "<version>" + version + "</version>" +
+                     "</project>";
+
+        Files.write(versionPath.resolve(ARTIFACT_ID + "-" + version + ".pom"), pom.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SnapshotVersion createSnapshotVersion(String version,
+                                                  String classifier,
+                                                  String extension)
+    {
+        return MetadataHelper.createSnapshotVersion(GROUP_ID, ARTIFACT_ID, version, classifier, extension);
+    }
+
+}
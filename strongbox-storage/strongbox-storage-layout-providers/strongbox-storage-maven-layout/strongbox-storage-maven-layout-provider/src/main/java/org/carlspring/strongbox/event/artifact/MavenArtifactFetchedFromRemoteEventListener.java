@@ -119,6 +119,7 @@ public class MavenArtifactFetchedFromRemoteEventListener
         finally
         {
             lock.unlock();
+            client.close();
         }
         
     }
@@ -0,0 +1,78 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.artifact.MavenArtifactUtils;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.repository.MavenRepositoryFeatures;
+import org.carlspring.strongbox.storage.indexing.local.RepositoryHostedIndexUpdater;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+
+import org.apache.maven.index.artifact.Gav;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passes the artifacts stored into (or deleted from) the hosted repositories to the
+ * {@link RepositoryHostedIndexUpdater}, which applies them to the index later on, in batches.
+ */
+@Component
+public class MavenArtifactIndexEventListener
+        extends BaseMavenArtifactEventListener
+{
+
+    @Inject
+    private MavenRepositoryFeatures mavenRepositoryFeatures;
+
+    @Inject
+    private RepositoryHostedIndexUpdater repositoryHostedIndexUpdater;
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        final Repository repository = getRepository(event);
+
+        if (!Maven2LayoutProvider.ALIAS.equals(repository.getLayout()) ||
+            !repository.isHostedRepository() ||
+            !mavenRepositoryFeatures.isIndexingEnabled(repository) ||
+            !repositoryHostedIndexUpdater.isIncremental())
+        {
+            return;
+        }
+
+        final RepositoryPath repositoryPath = event.getPath();
+        final Gav gav;
+        try
+        {
+            if (RepositoryFiles.relativizePath(repositoryPath).startsWith("."))
+            {
+                return;
+            }
+
+            gav = MavenArtifactUtils.convertPathToGav(repositoryPath);
+        }
+        catch (Exception e)
+        {
+            logger.debug(String.format("Path [%s] is not an artifact, skipping the index update.", repositoryPath));
+
+            return;
+        }
+
+        if (gav == null || gav.isHash() || gav.isSignature())
+        {
+            return;
+        }
+
+        repositoryHostedIndexUpdater.update(repositoryPath, gav);
+    }
+
+}
@@ -1,10 +1,13 @@
 package org.carlspring.strongbox.providers.layout;
 
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
+import org.carlspring.strongbox.io.LazyInputStream;
 import org.carlspring.strongbox.providers.io.*;
 import org.carlspring.strongbox.providers.search.SearchException;
 import org.carlspring.strongbox.services.ArtifactSearchService;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataCache;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataCache.CachedMetadata;
 import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
 import org.carlspring.strongbox.storage.metadata.MetadataHelper;
 import org.carlspring.strongbox.storage.metadata.MetadataType;
@@ -14,10 +17,14 @@ import org.carlspring.strongbox.storage.search.SearchResult;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -50,6 +57,9 @@ public class Maven2FileSystemProvider extends LayoutFileSystemProvider
 
     @Inject
     private MavenMetadataManager mavenMetadataManager;
+
+    @Inject
+    private MavenMetadataCache mavenMetadataCache;
     
     
     public Maven2FileSystemProvider(FileSystemProvider storageFileSystemProvider)
@@ -63,6 +73,91 @@ public class Maven2FileSystemProvider extends LayoutFileSystemProvider
         return layoutProvider;
     }
 
+    /**
+     * Serves the metadata files, and their checksums, from the {@link MavenMetadataCache}, the other files are read
+     * from the storage.
+     */
+    @Override
+    public LazyInputStream newInputStream(Path path,
+                                          OpenOption... options)
+            throws IOException
+    {
+        LazyInputStream storageInputStream = super.newInputStream(path, options);
+
+        RepositoryPath repositoryPath = (RepositoryPath) path;
+        RepositoryPath metadataPath = getMetadataPath(repositoryPath);
+        if (metadataPath == null)
+        {
+            return storageInputStream;
+        }
+
+        return new LazyInputStream(() -> {
+            byte[] content = null;
+            if (Files.isRegularFile(repositoryPath))
+            {
+                content = getCachedContent(repositoryPath, metadataPath);
+            }
+
+            if (content == null)
+            {
+                storageInputStream.init();
+
+                return storageInputStream;
+            }
+
+            try
+            {
+                // The content is sent from memory, rather than transferred from the file (see
+                // RepositoryInputStream#transferTo), as long as it stays a ByteArrayInputStream.
+                return decorateStream(repositoryPath, new ByteArrayInputStream(content), false);
+            }
+            catch (NoSuchAlgorithmException e)
+            {
+                throw new IOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return the path of the metadata file, if the path is either the metadata file itself or its checksum.
+     */
+    private RepositoryPath getMetadataPath(RepositoryPath path)
+    {
+        if (MavenMetadataCache.isMetadata(path))
+        {
+            return path;
+        }
+
+        Path fileName = path.getFileName();
+        if (fileName == null || !fileName.toString().startsWith(MetadataHelper.MAVEN_METADATA_XML + "."))
+        {
+            return null;
+        }
+
+        return path.resolveSibling(MetadataHelper.MAVEN_METADATA_XML);
+    }
+
+    private byte[] getCachedContent(RepositoryPath path,
+                                    RepositoryPath metadataPath)
+            throws IOException
+    {
+        if (MavenMetadataCache.isMetadata(path))
+        {
+            return mavenMetadataCache.get(metadataPath).getContent();
+        }
+
+        // The checksums are only served while their metadata file is cached.
+        CachedMetadata cachedMetadata = mavenMetadataCache.getIfPresent(metadataPath);
+        if (cachedMetadata == null)
+        {
+            return null;
+        }
+
+        String checksum = cachedMetadata.getChecksum(FilenameUtils.getExtension(path.getFileName().toString()));
+
+        return checksum != null ? checksum.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
     @Override
     public void delete(Path path,
                        boolean force)
@@ -246,28 +341,6 @@ public class Maven2FileSystemProvider extends LayoutFileSystemProvider
         throws IOException,
                XmlPullParserException
     {
-
-        Metadata metadataVersionLevel = mavenMetadataManager.readMetadata(artifactPath);
-        if (metadataVersionLevel != null && metadataVersionLevel.getVersioning() != null)
-        {
-            metadataVersionLevel.getVersioning().getVersions().remove(version);
-
-            if (version.equals(metadataVersionLevel.getVersioning().getLatest()))
-            {
-                MetadataHelper.setLatest(metadataVersionLevel);
-            }
-
-            if (version.equals(metadataVersionLevel.getVersioning().getRelease()))
-            {
-                MetadataHelper.setRelease(metadataVersionLevel);
-            }
-
-            MetadataHelper.setLastUpdated(metadataVersionLevel.getVersioning());
-
-            mavenMetadataManager.storeMetadata(artifactPath,
-                                               null,
-                                               metadataVersionLevel,
-                                               MetadataType.ARTIFACT_ROOT_LEVEL);
-        }
+        mavenMetadataManager.removeVersion(artifactPath, version, MetadataType.ARTIFACT_ROOT_LEVEL);
     }
 }
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.repository;
 
 import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
+import org.carlspring.strongbox.artifact.locator.ParallelArtifactDirectoryLocator;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.locator.handlers.RemoveTimestampedSnapshotOperation;
@@ -25,6 +26,7 @@ import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -55,6 +57,9 @@ public class MavenRepositoryFeatures
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.artifact.locator.parallelism:1}")
+    private int locatorParallelism;
+
     private Set<String> defaultArtifactCoordinateValidators;
 
 
@@ -80,13 +85,14 @@ public class MavenRepositoryFeatures
         {
             RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, artifactPath);
 
-            RemoveTimestampedSnapshotOperation operation = new RemoveTimestampedSnapshotOperation(mavenSnapshotManager);
-            operation.setBasePath(repositoryPath);
-            operation.setNumberToKeep(numberToKeep);
-            operation.setKeepPeriod(keepPeriod);
+            ArtifactDirectoryLocator locator = new ParallelArtifactDirectoryLocator(() -> {
+                RemoveTimestampedSnapshotOperation operation = new RemoveTimestampedSnapshotOperation(mavenSnapshotManager);
+                operation.setBasePath(repositoryPath);
+                operation.setNumberToKeep(numberToKeep);
+                operation.setKeepPeriod(keepPeriod);
 
-            ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-            locator.setOperation(operation);
+                return operation;
+            }, locatorParallelism);
             locator.locateArtifactDirectories();
         }
         else
@@ -148,7 +148,8 @@ public interface ArtifactMetadataService
                                        String extension);
 
     /**
-     * Removes an existing version from the metadata file.
+     * Removes an existing version from the metadata file. For a SNAPSHOT version, the metadata of the SNAPSHOT
+     * version directory is generated again as well.
      *
      * @param storageId
      * @param repositoryId
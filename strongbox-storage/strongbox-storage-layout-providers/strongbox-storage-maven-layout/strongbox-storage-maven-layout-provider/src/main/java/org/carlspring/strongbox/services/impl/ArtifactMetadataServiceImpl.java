@@ -3,6 +3,7 @@ package org.carlspring.strongbox.services.impl;
 import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
+import org.carlspring.strongbox.artifact.locator.ParallelArtifactDirectoryLocator;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
@@ -13,6 +14,7 @@ import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
 import org.carlspring.strongbox.services.ArtifactMetadataService;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.metadata.IncrementalMetadataUpdater;
 import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
 import org.carlspring.strongbox.storage.metadata.MetadataHelper;
 import org.carlspring.strongbox.storage.metadata.MetadataType;
@@ -23,17 +25,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.security.NoSuchAlgorithmException;
-import java.util.Iterator;
-import java.util.List;
 
 import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
-import org.apache.maven.artifact.repository.metadata.Versioning;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -59,6 +59,9 @@ public class ArtifactMetadataServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.artifact.locator.parallelism:1}")
+    private int locatorParallelism;
+
     public ArtifactMetadataServiceImpl()
     {
     }
@@ -120,11 +123,14 @@ public class ArtifactMetadataServiceImpl
             repositoryBasePath = repositoryBasePath.resolve(basePath);
         }
 
-        GenerateMavenMetadataOperation operation = new GenerateMavenMetadataOperation(mavenMetadataManager, artifactEventListenerRegistry);
-        operation.setBasePath(repositoryBasePath);
+        RepositoryPath operationBasePath = repositoryBasePath;
+
+        ArtifactDirectoryLocator locator = new ParallelArtifactDirectoryLocator(() -> {
+            GenerateMavenMetadataOperation operation = new GenerateMavenMetadataOperation(mavenMetadataManager, artifactEventListenerRegistry);
+            operation.setBasePath(operationBasePath);
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
+            return operation;
+        }, locatorParallelism);
         locator.locateArtifactDirectories();
     }
 
@@ -153,29 +159,14 @@ public class ArtifactMetadataServiceImpl
 
         RepositoryPath artifactBasePath = repositoryPathResolver.resolve(repository, artifactPath);
 
-        Metadata metadata = mavenMetadataManager.readMetadata(artifactBasePath);
-
-        addVersion(metadata, version);
-
-        mavenMetadataManager.storeMetadata(artifactBasePath, version, metadata, metadataType);
+        mavenMetadataManager.addVersion(artifactBasePath, version, metadataType);
     }
 
     @Override
     public void addVersion(Metadata metadata,
                            String version)
     {
-        if (!metadata.getVersioning().getVersions().contains(version))
-        {
-            metadata.getVersioning().getVersions().add(version);
-
-            // Update the latest field
-            MetadataHelper.setLatest(metadata, version);
-            // Update the release field
-            MetadataHelper.setRelease(metadata, version);
-            // Update the lastUpdated field
-            MetadataHelper.setLastUpdated(metadata.getVersioning());
-        }
-        else
+        if (!IncrementalMetadataUpdater.addVersion(metadata, version))
         {
             // No need to throw an exception here.
             // Logging the error should suffice.
@@ -200,20 +191,13 @@ public class ArtifactMetadataServiceImpl
         RepositoryPath artifactBasePath = repositoryPathResolver.resolve(repository, artifactPath);
 
         Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(artifactBasePath);
-        String artifactGroupId = artifactGroup.getValue0();
-        String artifactId = artifactGroup.getValue1();
-
-        Metadata snapshotMetadata = mavenMetadataManager.generateSnapshotVersioningMetadata(artifactGroupId, artifactId,
-                                                                                            artifactBasePath,
-                                                                                            snapshot,
-                                                                                            false);
-
-        addTimestampedSnapshotVersion(snapshotMetadata, version, classifier, extension);
+        SnapshotVersion snapshotVersion = MetadataHelper.createSnapshotVersion(artifactGroup.getValue0(),
+                                                                               artifactGroup.getValue1(),
+                                                                               version,
+                                                                               classifier,
+                                                                               extension);
 
-        mavenMetadataManager.storeMetadata(artifactBasePath,
-                                           snapshot,
-                                           snapshotMetadata,
-                                           MetadataType.SNAPSHOT_VERSION_LEVEL);
+        mavenMetadataManager.addTimestampedSnapshotVersion(artifactBasePath, snapshot, snapshotVersion);
     }
 
     @Override
@@ -222,21 +206,13 @@ public class ArtifactMetadataServiceImpl
                                               String classifier,
                                               String extension)
     {
-        List<SnapshotVersion> snapshotVersions = metadata.getVersioning().getSnapshotVersions();
-
         SnapshotVersion snapshotVersion = MetadataHelper.createSnapshotVersion(metadata.getGroupId(),
                                                                                metadata.getArtifactId(),
                                                                                version,
                                                                                classifier,
                                                                                extension);
 
-        snapshotVersions.add(snapshotVersion);
-
-        // Set the snapshot mapping fields (timestamp + buildNumber)
-        MetadataHelper.setupSnapshotVersioning(metadata.getVersioning());
-
-        // Update the lastUpdated field
-        MetadataHelper.setLastUpdated(metadata.getVersioning());
+        IncrementalMetadataUpdater.addSnapshotVersion(metadata, snapshotVersion);
     }
 
     @Override
@@ -252,33 +228,22 @@ public class ArtifactMetadataServiceImpl
 
         RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, artifactPath);
 
-        Metadata metadata =  mavenMetadataManager.readMetadata(repositoryPath);
-        
-        Versioning versioning = metadata.getVersioning();
-
         if (ArtifactUtils.isSnapshot(version))
         {
             RepositoryPath snapshotRepositoryPath = repositoryPath.resolve(ArtifactUtils.toSnapshotVersion(version));
+            if (Files.isDirectory(snapshotRepositoryPath))
+            {
+                Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(repositoryPath);
+                String artifactGroupId = artifactGroup.getValue0();
+                String artifactId = artifactGroup.getValue1();
 
-            Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(repositoryPath);
-            String artifactGroupId = artifactGroup.getValue0();
-            String artifactId = artifactGroup.getValue1();
-
-            mavenMetadataManager.generateSnapshotVersioningMetadata(artifactGroupId, artifactId, snapshotRepositoryPath,
-                                                                    version, true);
+                // The SNAPSHOT level metadata is generated from the timestamped snapshots which are still stored.
+                mavenMetadataManager.generateSnapshotVersioningMetadata(artifactGroupId, artifactId,
+                                                                        snapshotRepositoryPath, version, true);
+            }
         }
 
-        // Update the latest field
-        MetadataHelper.setLatest(metadata, version);
-        // Update the release field
-        MetadataHelper.setRelease(metadata, version);
-        // Update the lastUpdated field
-        MetadataHelper.setLastUpdated(metadata.getVersioning());
-
-        // Remove the version
-        versioning.removeVersion(version);
-
-        mavenMetadataManager.storeMetadata(repositoryPath, version, metadata, metadataType);
+        mavenMetadataManager.removeVersion(repositoryPath, version, metadataType);
     }
 
     @Override
@@ -296,42 +261,10 @@ public class ArtifactMetadataServiceImpl
 
         RepositoryPath artifactBasePath = repositoryPathResolver.resolve(repository, artifactPath);
 
-        Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(artifactBasePath);
-        String artifactGroupId = artifactGroup.getValue0();
-        String artifactId = artifactGroup.getValue1();
-
-        Metadata snapshotMetadata = mavenMetadataManager.generateSnapshotVersioningMetadata(artifactGroupId, artifactId,
-                                                                                            artifactBasePath,
-                                                                                            snapshot,
-                                                                                            false);
-
-        List<SnapshotVersion> snapshotVersions = snapshotMetadata.getVersioning().getSnapshotVersions();
-        for (Iterator<SnapshotVersion> iterator = snapshotVersions.iterator(); iterator.hasNext(); )
-        {
-            SnapshotVersion snapshotVersion = iterator.next();
-            if (snapshotVersion.getVersion().equals(version) &&
-                (classifier == null || snapshotVersion.getClassifier().equals(classifier)))
-            {
-                iterator.remove();
-
-                logger.debug("Removed timestamped SNAPSHOT (" + version +
-                             (classifier != null ? ":" + classifier :
-                              (snapshotVersion.getClassifier() != null && !snapshotVersion.getClassifier().equals("") ?
-                               ":" + snapshotVersion.getClassifier() + ":" : ":") +
-                              snapshotVersion.getExtension()) + ") from metadata.");
-            }
-        }
-
-        // Set the snapshot mapping fields (timestamp + buildNumber)
-        MetadataHelper.setupSnapshotVersioning(snapshotMetadata.getVersioning());
-
-        // Update the lastUpdated field
-        MetadataHelper.setLastUpdated(snapshotMetadata.getVersioning());
+        mavenMetadataManager.removeTimestampedSnapshotVersion(artifactBasePath, snapshot, version, classifier);
 
-        mavenMetadataManager.storeMetadata(artifactBasePath,
-                                           snapshot,
-                                           snapshotMetadata,
-                                           MetadataType.SNAPSHOT_VERSION_LEVEL);
+        logger.debug("Removed timestamped SNAPSHOT (" + version + (classifier != null ? ":" + classifier : "") +
+                     ") from metadata.");
     }
 
     @Override
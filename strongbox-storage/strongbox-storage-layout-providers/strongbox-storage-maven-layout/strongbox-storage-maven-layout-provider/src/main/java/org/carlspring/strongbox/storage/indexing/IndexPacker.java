@@ -2,6 +2,7 @@ package org.carlspring.strongbox.storage.indexing;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 
@@ -14,6 +15,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Packs the index with the {@code nexus-maven-repository-index.N.gz} incremental chunks, so that the clients
+ * which already have the index only download the changes since their last update.
+ *
  * @author Przemyslaw Fusik
  */
 public class IndexPacker
@@ -36,6 +40,7 @@ public class IndexPacker
                                                                         indexSearcher.getIndexReader(),
                                                                         indexPath.toFile());
             request.setUseTargetProperties(true);
+            request.setCreateIncrementalChunks(true);
             IndexPacker.INSTANCE.packIndex(request);
 
             logger.info(String.format("Index for %s was packed successfully.", indexPath));
@@ -47,6 +52,30 @@ public class IndexPacker
         return indexPath.resolve(IndexingContext.INDEX_FILE_PREFIX + ".gz");
     }
 
+    /**
+     * Removes the incremental chunks and the properties of the packed index, so that the next {@link #pack} starts
+     * a new chain of chunks. Needed after the index has been rebuilt, as the deletions can't be tracked by the
+     * chunks then, and the clients have to download the whole index again.
+     */
+    public static void resetIncrementalChunks(final RepositoryPath indexPath)
+            throws IOException
+    {
+        final File[] files = indexPath.toFile()
+                                      .listFiles((dir, name) -> name.startsWith(IndexingContext.INDEX_FILE_PREFIX) &&
+                                                                !name.equals(IndexingContext.INDEX_FILE_PREFIX + ".gz"));
+        if (files == null)
+        {
+            return;
+        }
+
+        for (final File file : files)
+        {
+            Files.delete(file.toPath());
+        }
+
+        logger.debug(String.format("Incremental chunks of index %s were reset.", indexPath));
+    }
+
     public static boolean packageExists(final RepositoryPath indexPath)
     {
         return Files.exists(indexPath.resolve(IndexingContext.INDEX_FILE_PREFIX + ".gz"));
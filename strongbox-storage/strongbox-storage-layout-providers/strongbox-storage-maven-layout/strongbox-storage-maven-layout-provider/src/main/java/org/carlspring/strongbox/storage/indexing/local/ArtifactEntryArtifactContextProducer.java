@@ -0,0 +1,132 @@
+package org.carlspring.strongbox.storage.indexing.local;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.maven.index.ArtifactContext;
+
+/**
+ * Creates the {@link ArtifactEntryArtifactContext}s of the {@link ArtifactEntry}s of the same {@code artifactId}
+ * group, for both the full and the incremental indexing of the hosted repositories.
+ *
+ * @author Przemyslaw Fusik
+ */
+class ArtifactEntryArtifactContextProducer
+{
+
+    private ArtifactEntryArtifactContextProducer()
+    {
+    }
+
+    static List<ArtifactContext> createArtifactContexts(final Collection<ArtifactEntry> artifactEntries)
+    {
+        final List<ArtifactContext> artifactContexts = new ArrayList<>();
+        final Map<String, List<ArtifactEntry>> groupedByVersion = groupArtifactEntriesByVersion(artifactEntries);
+        for (final Map.Entry<String, List<ArtifactEntry>> sameVersionArtifactEntries : groupedByVersion.entrySet())
+        {
+            for (final ArtifactEntry artifactEntry : sameVersionArtifactEntries.getValue())
+            {
+                if (!isIndexable(artifactEntry))
+                {
+                    continue;
+                }
+
+                final List<ArtifactEntry> groupClone = new ArrayList<>(sameVersionArtifactEntries.getValue());
+                groupClone.remove(artifactEntry);
+
+                final ArtifactEntryArtifactContextHelper artifactContextHelper = createArtifactContextHelper(
+                        artifactEntry,
+                        groupClone);
+                final ArtifactEntryArtifactContext ac = new ArtifactEntryArtifactContext(artifactEntry,
+                                                                                         artifactContextHelper);
+                artifactContexts.add(ac);
+            }
+        }
+        return artifactContexts;
+    }
+
+    private static Map<String, List<ArtifactEntry>> groupArtifactEntriesByVersion(final Collection<ArtifactEntry> artifactEntries)
+    {
+        final Map<String, List<ArtifactEntry>> groupedByVersion = new LinkedHashMap<>();
+        for (final ArtifactEntry artifactEntry : artifactEntries)
+        {
+            final MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) artifactEntry.getArtifactCoordinates();
+            final String version = coordinates.getVersion();
+            List<ArtifactEntry> sameVersionArtifactEntries = groupedByVersion.get(version);
+            if (sameVersionArtifactEntries == null)
+            {
+                sameVersionArtifactEntries = new ArrayList<>();
+                groupedByVersion.put(version, sameVersionArtifactEntries);
+            }
+            sameVersionArtifactEntries.add(artifactEntry);
+        }
+        return groupedByVersion;
+    }
+
+    private static ArtifactEntryArtifactContextHelper createArtifactContextHelper(final ArtifactEntry artifactEntry,
+                                                                                  final List<ArtifactEntry> group)
+    {
+        boolean pomExists = false;
+        boolean sourcesExists = false;
+        boolean javadocExists = false;
+        if (group.size() < 1)
+        {
+            return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
+        }
+        final MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) artifactEntry.getArtifactCoordinates();
+        if ("javadoc".equals(coordinates.getClassifier()) || "sources".equals(coordinates.getClassifier()))
+        {
+            return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
+        }
+        if ("pom".equals(coordinates.getExtension()))
+        {
+            return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
+        }
+
+        for (final ArtifactEntry neighbour : group)
+        {
+            final MavenArtifactCoordinates neighbourCoordinates = (MavenArtifactCoordinates) neighbour.getArtifactCoordinates();
+            pomExists |=
+                    ("pom".equals(neighbourCoordinates.getExtension()) &&
+                     neighbourCoordinates.getClassifier() == null);
+            if (Objects.equals(coordinates.getExtension(), neighbourCoordinates.getExtension()))
+            {
+                javadocExists |= "javadoc".equals(neighbourCoordinates.getClassifier());
+                sourcesExists |= "sources".equals(neighbourCoordinates.getClassifier());
+            }
+        }
+        return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
+    }
+
+    /**
+     * org.apache.maven.index.DefaultArtifactContextProducer#isIndexable(java.io.File)
+     */
+    static boolean isIndexable(final String filename)
+    {
+        if (filename.equals("maven-metadata.xml")
+            // || filename.endsWith( "-javadoc.jar" )
+            // || filename.endsWith( "-javadocs.jar" )
+            // || filename.endsWith( "-sources.jar" )
+            || filename.endsWith(".properties")
+            // || filename.endsWith( ".xml" ) // NEXUS-3029
+            || filename.endsWith(".asc") || filename.endsWith(".md5") || filename.endsWith(".sha1"))
+        {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isIndexable(final ArtifactEntry artifactEntry)
+    {
+        return isIndexable(Paths.get(artifactEntry.getArtifactPath()).getFileName().toString());
+    }
+}
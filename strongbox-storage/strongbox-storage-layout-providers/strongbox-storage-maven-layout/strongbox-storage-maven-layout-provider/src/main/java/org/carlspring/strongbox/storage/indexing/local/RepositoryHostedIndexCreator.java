@@ -1,8 +1,5 @@
 package org.carlspring.strongbox.storage.indexing.local;
 
-import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
-import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
-import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
@@ -15,13 +12,19 @@ import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.nio.file.Paths;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.maven.index.ArtifactContext;
 import org.springframework.stereotype.Component;
 
 /**
+ * Rebuilds the index of a hosted repository from scratch. The index is kept up to date incrementally by the
+ * {@link RepositoryHostedIndexUpdater}, so this is only needed to repair it (or to create it for a repository
+ * which already contains artifacts).
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -50,6 +53,7 @@ public class RepositoryHostedIndexCreator
     {
         indexingContext.purge();
         fulfillIndexingContext(indexingContext);
+        IndexPacker.resetIncrementalChunks(repositoryIndexDirectoryPath);
         IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext);
     }
 
@@ -68,136 +72,31 @@ public class RepositoryHostedIndexCreator
     private void fulfillIndexingContext(final RepositoryCloseableIndexingContext indexingContext)
             throws IOException
     {
-
         final Repository repository = indexingContext.getRepositoryRaw();
         final String storageId = repository.getStorage().getId();
         final String repositoryId = repository.getId();
 
-        final long totalArtifactGroupsInRepository = repositoryArtifactIdGroupService.count(storageId,
-                                                                                            repositoryId);
-        if (totalArtifactGroupsInRepository == 0)
-        {
-            return;
-        }
-
-        final long iterations = totalArtifactGroupsInRepository / REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE + 1;
-
-        for (int i = 0; i < iterations; i++)
-        {
-            final PagingCriteria pagingCriteria = new PagingCriteria(i * REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE,
-                                                                     REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE);
-            final List<RepositoryArtifactIdGroupEntry> repositoryArtifactIdGroupEntries = repositoryArtifactIdGroupService.findMatching(
-                    storageId,
-                    repositoryId,
-                    pagingCriteria);
-
-            final List<ArtifactContext> artifactContexts = createArtifactContexts(repositoryArtifactIdGroupEntries);
-            Indexer.INSTANCE.addArtifactsToIndex(artifactContexts, indexingContext);
-        }
-    }
-
-    private List<ArtifactContext> createArtifactContexts(final List<RepositoryArtifactIdGroupEntry> repositoryArtifactIdGroupEntries)
-    {
-        final List<ArtifactContext> artifactContexts = new ArrayList<>();
-        for (final RepositoryArtifactIdGroupEntry repositoryArtifactIdGroupEntry : repositoryArtifactIdGroupEntries)
+        try (final Stream<RepositoryArtifactIdGroupEntry> repositoryArtifactIdGroupEntries = repositoryArtifactIdGroupService.streamMatching(
+                storageId,
+                repositoryId,
+                REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE))
         {
-            final Map<String, List<ArtifactEntry>> groupedByVersion = groupArtifactEntriesByVersion(
-                    repositoryArtifactIdGroupEntry);
-            for (final Map.Entry<String, List<ArtifactEntry>> sameVersionArtifactEntries : groupedByVersion.entrySet())
+            final Iterator<RepositoryArtifactIdGroupEntry> iterator = repositoryArtifactIdGroupEntries.iterator();
+            final List<ArtifactContext> artifactContexts = new ArrayList<>();
+            int artifactGroups = 0;
+            while (iterator.hasNext())
             {
-                for (final ArtifactEntry artifactEntry : sameVersionArtifactEntries.getValue())
-                {
-                    if (!isIndexable(artifactEntry))
-                    {
-                        continue;
-                    }
-
-                    final List<ArtifactEntry> groupClone = new ArrayList<>(sameVersionArtifactEntries.getValue());
-                    groupClone.remove(artifactEntry);
+                artifactContexts.addAll(ArtifactEntryArtifactContextProducer.createArtifactContexts(
+                        iterator.next().getArtifactEntries()));
 
-                    final ArtifactEntryArtifactContextHelper artifactContextHelper = createArtifactContextHelper(
-                            artifactEntry,
-                            groupClone);
-                    final ArtifactEntryArtifactContext ac = new ArtifactEntryArtifactContext(artifactEntry,
-                                                                                             artifactContextHelper);
-                    artifactContexts.add(ac);
+                if (++artifactGroups % REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE == 0)
+                {
+                    Indexer.INSTANCE.addArtifactsToIndex(artifactContexts, indexingContext);
+                    artifactContexts.clear();
                 }
             }
-        }
-        return artifactContexts;
-    }
 
-    private Map<String, List<ArtifactEntry>> groupArtifactEntriesByVersion(final RepositoryArtifactIdGroupEntry groupEntry)
-    {
-        final Map<String, List<ArtifactEntry>> groupedByVersion = new LinkedHashMap<>();
-        for (final ArtifactEntry artifactEntry : groupEntry.getArtifactEntries())
-        {
-            final MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) artifactEntry.getArtifactCoordinates();
-            final String version = coordinates.getVersion();
-            List<ArtifactEntry> artifactEntries = groupedByVersion.get(version);
-            if (artifactEntries == null)
-            {
-                artifactEntries = new ArrayList<>();
-                groupedByVersion.put(version, artifactEntries);
-            }
-            artifactEntries.add(artifactEntry);
-        }
-        return groupedByVersion;
-    }
-
-    private ArtifactEntryArtifactContextHelper createArtifactContextHelper(final ArtifactEntry artifactEntry,
-                                                                           final List<ArtifactEntry> group)
-    {
-        boolean pomExists = false;
-        boolean sourcesExists = false;
-        boolean javadocExists = false;
-        if (group.size() < 1)
-        {
-            return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
-        }
-        final MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) artifactEntry.getArtifactCoordinates();
-        if ("javadoc".equals(coordinates.getClassifier()) || "sources".equals(coordinates.getClassifier()))
-        {
-            return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
-        }
-        if ("pom".equals(coordinates.getExtension()))
-        {
-            return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
-        }
-
-        for (final ArtifactEntry neighbour : group)
-        {
-            final MavenArtifactCoordinates neighbourCoordinates = (MavenArtifactCoordinates) neighbour.getArtifactCoordinates();
-            pomExists |=
-                    ("pom".equals(neighbourCoordinates.getExtension()) &&
-                     neighbourCoordinates.getClassifier() == null);
-            if (Objects.equals(coordinates.getExtension(), neighbourCoordinates.getExtension()))
-            {
-                javadocExists |= "javadoc".equals(neighbourCoordinates.getClassifier());
-                sourcesExists |= "sources".equals(neighbourCoordinates.getClassifier());
-            }
-        }
-        return new ArtifactEntryArtifactContextHelper(pomExists, sourcesExists, javadocExists);
-    }
-
-    /**
-     * org.apache.maven.index.DefaultArtifactContextProducer#isIndexable(java.io.File)
-     */
-    private boolean isIndexable(final ArtifactEntry artifactEntry)
-    {
-        final String filename = Paths.get(artifactEntry.getArtifactPath()).getFileName().toString();
-
-        if (filename.equals("maven-metadata.xml")
-            // || filename.endsWith( "-javadoc.jar" )
-            // || filename.endsWith( "-javadocs.jar" )
-            // || filename.endsWith( "-sources.jar" )
-            || filename.endsWith(".properties")
-            // || filename.endsWith( ".xml" ) // NEXUS-3029
-            || filename.endsWith(".asc") || filename.endsWith(".md5") || filename.endsWith(".sha1"))
-        {
-            return false;
+            Indexer.INSTANCE.addArtifactsToIndex(artifactContexts, indexingContext);
         }
-
-        return true;
     }
 }
@@ -0,0 +1,369 @@
+package org.carlspring.strongbox.storage.indexing.local;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.event.EventExecutionEngine;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.storage.indexing.IndexPacker;
+import org.carlspring.strongbox.storage.indexing.IndexTypeEnum;
+import org.carlspring.strongbox.storage.indexing.Indexer;
+import org.carlspring.strongbox.storage.indexing.RepositoryCloseableIndexingContext;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexDirectoryPathResolver;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexDirectoryPathResolver.RepositoryIndexDirectoryPathResolverQualifier;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexingContextFactory;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexingContextFactory.RepositoryIndexingContextFactoryQualifier;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.maven.index.ArtifactContext;
+import org.apache.maven.index.ArtifactInfo;
+import org.apache.maven.index.artifact.Gav;
+import org.apache.maven.index.context.IndexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the index of the hosted repositories up to date incrementally, instead of rebuilding it from scratch.
+ * <p>
+ * The versions of the stored and deleted artifacts are collected per repository, and every
+ * {@code strongbox.maven.index.updateInterval} milliseconds the documents of each changed version are replaced
+ * within the Lucene index (the documents of the removed artifacts are deleted, so that the deletions are also
+ * written into the incremental chunks), after which the index is packed once per repository.
+ * <p>
+ * When the {@link EventExecutionEngine} is synchronous, there is no update thread: the documents of a version are
+ * replaced and the index is packed right when the version changes, so a search which follows a deployment already
+ * finds it. The incremental updates can be switched off with {@code strongbox.maven.index.incremental=false}, in
+ * which case the index is only updated by a rebuild.
+ *
+ * @see RepositoryHostedIndexCreator
+ */
+@Component
+public class RepositoryHostedIndexUpdater
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryHostedIndexUpdater.class);
+
+    @Value("${strongbox.maven.index.incremental:true}")
+    private boolean incremental;
+
+    @Value("${strongbox.maven.index.updateInterval:10000}")
+    private long updateInterval;
+
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    @RepositoryIndexDirectoryPathResolverQualifier(IndexTypeEnum.LOCAL)
+    private RepositoryIndexDirectoryPathResolver indexDirectoryPathResolver;
+
+    @Inject
+    @RepositoryIndexingContextFactoryQualifier(IndexTypeEnum.LOCAL)
+    private RepositoryIndexingContextFactory indexingContextFactory;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    private EventExecutionEngine eventExecutionEngine;
+
+    private final Map<String, PendingUpdates> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (!incremental || !eventExecutionEngine.isAsync())
+        {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "maven-index-updater");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, updateInterval, updateInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (scheduler == null)
+        {
+            return;
+        }
+
+        scheduler.shutdown();
+        flush();
+    }
+
+    public boolean isIncremental()
+    {
+        return incremental;
+    }
+
+    /**
+     * Schedules the update of the index documents of the artifact version, which the stored or deleted path
+     * belongs to.
+     */
+    public void update(RepositoryPath repositoryPath,
+                       Gav gav)
+    {
+        if (!incremental || !ArtifactEntryArtifactContextProducer.isIndexable(gav.getName()))
+        {
+            return;
+        }
+
+        Repository repository = repositoryPath.getRepository();
+        ArtifactVersion artifactVersion = new ArtifactVersion(gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
+        merge(repository, Collections.singleton(artifactVersion));
+
+        if (scheduler == null)
+        {
+            flush();
+        }
+    }
+
+    private void merge(Repository repository,
+                       Set<ArtifactVersion> artifactVersions)
+    {
+        String key = repository.getStorage().getId() + ":" + repository.getId();
+        pending.compute(key, (k, updates) -> {
+            PendingUpdates result = updates != null ? updates : new PendingUpdates(repository);
+            result.artifactVersions.addAll(artifactVersions);
+
+            return result;
+        });
+    }
+
+    /**
+     * The pending updates of each repository are removed atomically, so the changes recorded meanwhile are
+     * applied with the next flush.
+     */
+    synchronized void flush()
+    {
+        for (String key : pending.keySet())
+        {
+            PendingUpdates updates = pending.remove(key);
+            if (updates == null)
+            {
+                continue;
+            }
+
+            try
+            {
+                update(updates.repository, updates.artifactVersions);
+
+                logger.debug(String.format("Updated [%s] versions in index of repository [%s].",
+                                           updates.artifactVersions.size(), key));
+
+                continue;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                logger.warn(String.format("Failed to update index of repository [%s], will retry.", key), e);
+            }
+
+            merge(updates.repository, updates.artifactVersions);
+        }
+    }
+
+    private void update(Repository repository,
+                        Set<ArtifactVersion> artifactVersions)
+            throws IOException,
+                   InterruptedException
+    {
+        final RepositoryPath repositoryIndexDirectoryPath = indexDirectoryPathResolver.resolve(repository);
+
+        final Lock lock = repositoryPathLock.lock(repositoryIndexDirectoryPath).writeLock();
+        if (!lock.tryLock(Math.max(updateInterval, 5000), TimeUnit.MILLISECONDS))
+        {
+            throw new IOException(String.format("Index of repository [%s:%s] is currently locked.",
+                                                repository.getStorage().getId(), repository.getId()));
+        }
+
+        try (final RepositoryCloseableIndexingContext indexingContext = indexingContextFactory.create(repository))
+        {
+            for (final ArtifactVersion artifactVersion : artifactVersions)
+            {
+                update(indexingContext, artifactVersion);
+            }
+
+            IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void update(final RepositoryCloseableIndexingContext indexingContext,
+                        final ArtifactVersion artifactVersion)
+            throws IOException
+    {
+        final Repository repository = indexingContext.getRepositoryRaw();
+        final RepositoryArtifactIdGroupEntry repositoryArtifactIdGroupEntry = repositoryArtifactIdGroupService.findOne(
+                repository.getStorage().getId(),
+                repository.getId(),
+                artifactVersion.groupId + ":" + artifactVersion.artifactId);
+
+        final List<ArtifactEntry> artifactEntries = new ArrayList<>();
+        if (repositoryArtifactIdGroupEntry != null)
+        {
+            for (final ArtifactEntry artifactEntry : repositoryArtifactIdGroupEntry.getArtifactEntries())
+            {
+                final MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) artifactEntry.getArtifactCoordinates();
+                if (artifactVersion.version.equals(coordinates.getVersion()))
+                {
+                    artifactEntries.add(artifactEntry);
+                }
+            }
+        }
+
+        final List<ArtifactContext> artifactContexts = ArtifactEntryArtifactContextProducer.createArtifactContexts(
+                artifactEntries);
+        final Set<String> uinfos = artifactContexts.stream()
+                                                   .map(ac -> ac.getArtifactInfo().getUinfo())
+                                                   .collect(Collectors.toSet());
+
+        final List<ArtifactContext> removedArtifactContexts = findIndexedArtifactContexts(indexingContext,
+                                                                                          artifactVersion)
+                                                                      .stream()
+                                                                      .filter(ac -> !uinfos.contains(
+                                                                              ac.getArtifactInfo().getUinfo()))
+                                                                      .collect(Collectors.toList());
+
+        Indexer.INSTANCE.deleteArtifactsFromIndex(removedArtifactContexts, indexingContext);
+        Indexer.INSTANCE.addArtifactsToIndex(artifactContexts, indexingContext);
+    }
+
+    private List<ArtifactContext> findIndexedArtifactContexts(final RepositoryCloseableIndexingContext indexingContext,
+                                                              final ArtifactVersion artifactVersion)
+            throws IOException
+    {
+        final List<ArtifactContext> artifactContexts = new ArrayList<>();
+        final IndexSearcher indexSearcher = indexingContext.acquireIndexSearcher();
+        try
+        {
+            final int maxDoc = indexSearcher.getIndexReader().maxDoc();
+            if (maxDoc == 0)
+            {
+                return artifactContexts;
+            }
+
+            final TopDocs topDocs = indexSearcher.search(new PrefixQuery(new Term(ArtifactInfo.UINFO,
+                                                                                  artifactVersion.getUinfoPrefix())),
+                                                         maxDoc);
+            for (final ScoreDoc scoreDoc : topDocs.scoreDocs)
+            {
+                final ArtifactInfo artifactInfo = IndexUtils.constructArtifactInfo(indexSearcher.doc(scoreDoc.doc),
+                                                                                   indexingContext);
+                if (artifactInfo != null)
+                {
+                    artifactContexts.add(new ArtifactContext(null, null, null, artifactInfo, null));
+                }
+            }
+        }
+        finally
+        {
+            indexingContext.releaseIndexSearcher(indexSearcher);
+        }
+
+        return artifactContexts;
+    }
+
+    private static class PendingUpdates
+    {
+
+        private final Repository repository;
+
+        private final Set<ArtifactVersion> artifactVersions = new HashSet<>();
+
+        private PendingUpdates(Repository repository)
+        {
+            this.repository = repository;
+        }
+
+    }
+
+    private static class ArtifactVersion
+    {
+
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private ArtifactVersion(String groupId,
+                                String artifactId,
+                                String version)
+        {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+        }
+
+        private String getUinfoPrefix()
+        {
+            return groupId + ArtifactInfo.FS + artifactId + ArtifactInfo.FS + version + ArtifactInfo.FS;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            ArtifactVersion that = (ArtifactVersion) o;
+            return groupId.equals(that.groupId) && artifactId.equals(that.artifactId) && version.equals(that.version);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(groupId, artifactId, version);
+        }
+
+    }
+
+}
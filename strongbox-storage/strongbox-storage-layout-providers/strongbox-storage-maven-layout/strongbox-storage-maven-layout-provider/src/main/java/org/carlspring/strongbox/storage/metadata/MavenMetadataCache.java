@@ -0,0 +1,250 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the content of the recently read and stored {@code maven-metadata.xml} files, together with their parsed
+ * {@link Metadata} and their checksums, so that neither the metadata reads of the {@link MavenMetadataManager} have to
+ * parse the XML again, nor the metadata downloads have to read the files.
+ * <p>
+ * The cache is local to each node, and is bounded by the total size of the cached files
+ * ({@code strongbox.maven.metadata.cache.maximumWeight} bytes, 0 disables the cache). Each entry remembers the last
+ * modified time and the size of its file, and is only served as long as they stay the same, so a metadata file which
+ * has been changed in any other way (uploaded by a client, fetched from a remote repository, or written by another
+ * node) is read again. The entries are also evicted when their files get stored, updated, fetched from a remote
+ * repository or deleted. The hit, miss and eviction statistics are available as the {@value #CACHE_NAME} cache
+ * metrics.
+ */
+@Component
+public class MavenMetadataCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenMetadataCache.class);
+
+    private static final String CACHE_NAME = "mavenMetadataCache";
+
+    private final Cache<String, CachedMetadata> cache;
+
+    public MavenMetadataCache(@Value("${strongbox.maven.metadata.cache.maximumWeight:33554432}") long maximumWeight)
+    {
+        cache = CacheBuilder.newBuilder()
+                            .maximumWeight(maximumWeight)
+                            .<String, CachedMetadata>weigher((key, value) -> value.getContent().length)
+                            .recordStats()
+                            .build();
+
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return the cached metadata file, or the file read from the disk if it has not been cached yet, or has changed
+     *         since.
+     * @throws NoSuchFileException if the metadata file doesn't exist.
+     */
+    public CachedMetadata get(Path metadataPath)
+            throws IOException
+    {
+        CachedMetadata cachedMetadata = getIfPresent(metadataPath);
+        if (cachedMetadata != null)
+        {
+            return cachedMetadata;
+        }
+
+        // The attributes are read first, so that a file which gets changed while it's being read doesn't match them.
+        BasicFileAttributes attributes = Files.readAttributes(metadataPath, BasicFileAttributes.class);
+
+        cachedMetadata = new CachedMetadata(Files.readAllBytes(metadataPath), null, attributes);
+        cache.put(key(metadataPath), cachedMetadata);
+
+        return cachedMetadata;
+    }
+
+    /**
+     * @return the cached metadata file, or null if it has not been cached yet, or has changed since.
+     */
+    public CachedMetadata getIfPresent(Path metadataPath)
+            throws IOException
+    {
+        String key = key(metadataPath);
+
+        CachedMetadata cachedMetadata = cache.getIfPresent(key);
+        if (cachedMetadata == null)
+        {
+            return null;
+        }
+
+        BasicFileAttributes attributes;
+        try
+        {
+            attributes = Files.readAttributes(metadataPath, BasicFileAttributes.class);
+        }
+        catch (NoSuchFileException e)
+        {
+            attributes = null;
+        }
+
+        if (attributes == null || !cachedMetadata.matches(attributes))
+        {
+            logger.debug("Evicting the changed metadata [{}].", metadataPath);
+
+            cache.asMap().remove(key, cachedMetadata);
+
+            return null;
+        }
+
+        return cachedMetadata;
+    }
+
+    /**
+     * Should be called once the {@code content} of the {@code metadata} has been written to the metadata file.
+     */
+    public void put(Path metadataPath,
+                    byte[] content,
+                    Metadata metadata)
+            throws IOException
+    {
+        BasicFileAttributes attributes = Files.readAttributes(metadataPath, BasicFileAttributes.class);
+
+        cache.put(key(metadataPath), new CachedMetadata(content, metadata.clone(), attributes));
+    }
+
+    /**
+     * Evicts the metadata file, or all the metadata files below the directory.
+     */
+    public void evict(Path path)
+    {
+        String key = key(path);
+
+        cache.invalidate(key);
+        cache.asMap().keySet().removeIf(k -> k.startsWith(key + path.getFileSystem().getSeparator()));
+    }
+
+    public void clear()
+    {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        RepositoryPath repositoryPath = event.getPath();
+
+        if (event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            // The path may have been a directory.
+            evict(repositoryPath);
+        }
+        else if ((event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() ||
+                  event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() ||
+                  event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType()) &&
+                 isMetadata(repositoryPath))
+        {
+            // The file attributes of the coarse grained file systems may not tell the change.
+            cache.invalidate(key(repositoryPath));
+        }
+    }
+
+    public static boolean isMetadata(Path path)
+    {
+        Path fileName = path.getFileName();
+
+        return fileName != null && MetadataHelper.MAVEN_METADATA_XML.equals(fileName.toString());
+    }
+
+    private String key(Path path)
+    {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * The content of a metadata file, with its checksums and (once it has been needed) its parsed {@link Metadata}.
+     */
+    public static class CachedMetadata
+    {
+
+        private final byte[] content;
+
+        private final Map<String, String> checksums = new HashMap<>();
+
+        private final FileTime lastModifiedTime;
+
+        private final long size;
+
+        private Metadata metadata;
+
+        CachedMetadata(byte[] content,
+                       Metadata metadata,
+                       BasicFileAttributes attributes)
+        {
+            this.content = content;
+            this.metadata = metadata;
+            this.lastModifiedTime = attributes.lastModifiedTime();
+            this.size = attributes.size();
+
+            checksums.put("md5", DigestUtils.md5Hex(content));
+            checksums.put("sha1", DigestUtils.sha1Hex(content));
+        }
+
+        public byte[] getContent()
+        {
+            return content;
+        }
+
+        /**
+         * @param extension the extension of the checksum file, such as {@code sha1}.
+         * @return the checksum of the content, or null if it's not calculated with the algorithm of the extension.
+         */
+        public String getChecksum(String extension)
+        {
+            return checksums.get(extension);
+        }
+
+        /**
+         * @return a copy of the parsed metadata, which the caller is free to change.
+         */
+        public synchronized Metadata getMetadata()
+                throws IOException,
+                       XmlPullParserException
+        {
+            if (metadata == null)
+            {
+                metadata = new MetadataXpp3Reader().read(new ByteArrayInputStream(content));
+            }
+
+            return metadata.clone();
+        }
+
+        private boolean matches(BasicFileAttributes attributes)
+        {
+            return size == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -61,6 +62,9 @@ public class MavenMetadataManager
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private MavenMetadataCache metadataCache;
+
 
     public Metadata readMetadata(MavenArtifact artifact)
             throws IOException,
@@ -93,14 +97,8 @@ public class MavenMetadataManager
             throws IOException, XmlPullParserException
     {
         Path metadataPath = MetadataHelper.getMetadataPath(artifactBasePath);
-        Metadata metadata;
-
-        try (InputStream is = Files.newInputStream(metadataPath))
-        {
-            metadata = readMetadata(is);
-        }
 
-        return metadata;
+        return metadataCache.get(metadataPath).getMetadata();
     }
 
     public Metadata readMetadata(InputStream is)
@@ -129,18 +127,25 @@ public class MavenMetadataManager
                      try
                      {
                          Path metadataPath = MetadataHelper.getMetadataPath(metadataBasePath, version, metadataType);
+
+                         ByteArrayOutputStream content = new ByteArrayOutputStream();
+                         Writer writer = WriterFactory.newXmlWriter(content);
+
+                         MetadataXpp3Writer mappingWriter = new MetadataXpp3Writer();
+                         mappingWriter.write(writer, metadata);
+                         writer.flush();
+
                          try (OutputStream os = new MultipleDigestOutputStream(metadataPath,
                                                                                Files.newOutputStream(metadataPath,
                                                                                                      StandardOpenOption.CREATE,
                                                                                                      StandardOpenOption.TRUNCATE_EXISTING)))
                          {
-                             Writer writer = WriterFactory.newXmlWriter(os);
-
-                             MetadataXpp3Writer mappingWriter = new MetadataXpp3Writer();
-                             mappingWriter.write(writer, metadata);
+                             content.writeTo(os);
 
                              os.flush();
                          }
+
+                         metadataCache.put(metadataPath, content.toByteArray(), metadata);
                      }
                      catch (Exception ex)
                      {
@@ -409,6 +414,149 @@ public class MavenMetadataManager
         });
     }
 
+    /**
+     * Adds the version to the existing metadata, without rescanning the artifact directory.
+     */
+    public void addVersion(RepositoryPath artifactBasePath,
+                           String version,
+                           MetadataType metadataType)
+            throws IOException
+    {
+        updateMetadata(artifactBasePath, version, metadataType,
+                       () -> {
+                           Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(artifactBasePath);
+
+                           Metadata metadata = new Metadata();
+                           metadata.setGroupId(artifactGroup.getValue0());
+                           metadata.setArtifactId(artifactGroup.getValue1());
+
+                           return metadata;
+                       },
+                       metadata -> IncrementalMetadataUpdater.addVersion(metadata, version));
+    }
+
+    /**
+     * Removes the version from the existing metadata, without rescanning the artifact directory.
+     */
+    public void removeVersion(RepositoryPath artifactBasePath,
+                              String version,
+                              MetadataType metadataType)
+            throws IOException
+    {
+        updateMetadata(artifactBasePath, version, metadataType, () -> null,
+                       metadata -> IncrementalMetadataUpdater.removeVersion(metadata, version));
+    }
+
+    /**
+     * Adds the timestamped snapshot to the existing metadata of the snapshot version, the snapshot version directory
+     * is only scanned if it has no metadata yet.
+     */
+    public void addTimestampedSnapshotVersion(RepositoryPath artifactBasePath,
+                                              String snapshot,
+                                              SnapshotVersion snapshotVersion)
+            throws IOException
+    {
+        updateMetadata(artifactBasePath, snapshot, MetadataType.SNAPSHOT_VERSION_LEVEL,
+                       () -> generateSnapshotVersioningMetadata(artifactBasePath, snapshot),
+                       metadata -> IncrementalMetadataUpdater.addSnapshotVersion(metadata, snapshotVersion));
+    }
+
+    /**
+     * Removes the timestamped snapshot from the existing metadata of the snapshot version, the snapshot version
+     * directory is only scanned if it has no metadata yet.
+     */
+    public void removeTimestampedSnapshotVersion(RepositoryPath artifactBasePath,
+                                                 String snapshot,
+                                                 String version,
+                                                 String classifier)
+            throws IOException
+    {
+        updateMetadata(artifactBasePath, snapshot, MetadataType.SNAPSHOT_VERSION_LEVEL,
+                       () -> generateSnapshotVersioningMetadata(artifactBasePath, snapshot),
+                       metadata -> IncrementalMetadataUpdater.removeSnapshotVersion(metadata, version, classifier));
+    }
+
+    private Metadata generateSnapshotVersioningMetadata(RepositoryPath artifactBasePath,
+                                                        String snapshot)
+            throws IOException
+    {
+        Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(artifactBasePath);
+        RepositoryPath snapshotBasePath = artifactBasePath.resolve(snapshot);
+        if (!Files.isDirectory(snapshotBasePath))
+        {
+            Metadata metadata = new Metadata();
+            metadata.setGroupId(artifactGroup.getValue0());
+            metadata.setArtifactId(artifactGroup.getValue1());
+            metadata.setVersion(snapshot);
+
+            return metadata;
+        }
+
+        return generateSnapshotVersioningMetadata(artifactGroup.getValue0(), artifactGroup.getValue1(),
+                                                  snapshotBasePath, snapshot, false);
+    }
+
+    /**
+     * Reads the metadata, applies the change to it and stores it (if the change has been applied) within the lock of
+     * the artifact base path.
+     *
+     * @param initialMetadata provides the metadata to apply the change to, if there is no (readable) metadata yet,
+     *                        the change is skipped if it provides null.
+     */
+    private void updateMetadata(RepositoryPath artifactBasePath,
+                                String version,
+                                MetadataType metadataType,
+                                MetadataSupplier initialMetadata,
+                                Predicate<Metadata> change)
+            throws IOException
+    {
+        Lock lock = repositoryPathLock.lock(artifactBasePath).writeLock();
+        lock.lock();
+
+        try
+        {
+            Path metadataPath = MetadataHelper.getMetadataPath(artifactBasePath, version, metadataType);
+
+            Metadata metadata = null;
+            if (Files.exists(metadataPath))
+            {
+                try
+                {
+                    metadata = metadataCache.get(metadataPath).getMetadata();
+                }
+                catch (XmlPullParserException e)
+                {
+                    logger.warn(String.format("Failed to read [%s], the metadata will be generated again.",
+                                              metadataPath), e);
+                }
+            }
+            if (metadata == null)
+            {
+                metadata = initialMetadata.get();
+            }
+
+            if (metadata == null || !change.test(metadata))
+            {
+                return;
+            }
+
+            storeMetadata(artifactBasePath, version, metadata, metadataType);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface MetadataSupplier
+    {
+
+        Metadata get()
+                throws IOException;
+
+    }
+
     private void doInLock(RepositoryPath metadataBasePath,
                           Consumer<Path> operation) throws IOException
     {
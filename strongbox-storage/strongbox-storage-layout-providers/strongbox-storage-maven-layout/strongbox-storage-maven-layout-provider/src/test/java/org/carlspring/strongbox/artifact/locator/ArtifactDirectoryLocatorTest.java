@@ -27,6 +27,7 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
@@ -128,6 +129,45 @@ public class ArtifactDirectoryLocatorTest
         assertTrue(output.contains(normalize("org/carlspring/strongbox/locator/utils")));
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testLocateDirectoriesInParallel(@MavenRepository(repositoryId = REPOSITORY_RELEASES) Repository repository,
+                                                @MavenArtifactsLocationUtils List<Path> artifactPaths1,
+                                                @MavenArtifactsCarlspringStrongboxFoo List<Path> artifactPaths2,
+                                                @MavenArtifactsCarlspringMavenLocatorTesting List<Path> artifactPaths3,
+                                                @MavenArtifactsCarlspringStrongboxLocator List<Path> artifactPaths4,
+                                                @MavenArtifactsCarlspringStrongboxFooLocator List<Path> artifactPaths5,
+                                                @MavenArtifactsCarlspringStrongboxLocatorUtils List<Path> artifactPaths6)
+            throws IOException
+    {
+        System.setOut(new PrintStream(os));
+        tempSysOut = System.out;
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository);
+
+        ArtifactDirectoryLocator locator = new ParallelArtifactDirectoryLocator(ArtifactLocationReportOperation::new, 4);
+        locator.setBasedir(repositoryPath);
+        locator.locateArtifactDirectories();
+
+        os.flush();
+
+        String output = new String(os.toByteArray());
+
+        assertTrue(output.contains(normalize("org/apache/maven/location-utils")));
+        assertTrue(output.contains(normalize("org/carlspring/maven/locator-testing")));
+        assertTrue(output.contains(normalize("org/carlspring/strongbox/locator/foo-locator")));
+        assertTrue(output.contains(normalize("org/carlspring/strongbox/locator/utils")));
+
+        // The same directories are visited as by the sequential walk.
+        ArtifactDirectoryLocator sequentialLocator = new ArtifactDirectoryLocator();
+        sequentialLocator.setBasedir(repositoryPath);
+        sequentialLocator.setOperation(new ArtifactLocationReportOperation());
+        sequentialLocator.locateArtifactDirectories();
+
+        assertEquals(sequentialLocator.getVisitedDirectories(), locator.getVisitedDirectories());
+    }
+
     private String normalize(String path)
     {
         return Paths.get(path).normalize().toString();
@@ -213,6 +213,8 @@ public class ArtifactMetadataServiceReleasesTest
 
         assertNotNull(metadataAfter);
         assertFalse(MetadataHelper.containsVersion(metadataAfter, "1.3"), "Unexpected set of versions!");
+        assertEquals("1.2", metadataAfter.getVersioning().getLatest(), "Incorrect latest version!");
+        assertEquals("1.2", metadataAfter.getVersioning().getRelease(), "Incorrect release version!");
     }
 
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
@@ -20,6 +20,7 @@ import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementT
 import javax.inject.Inject;
 import java.io.IOException;
 import java.lang.annotation.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
@@ -126,6 +127,10 @@ public class ArtifactMetadataServiceSnapshotsTest
         assertNotNull(metadataBefore);
         assertTrue(MetadataHelper.containsVersion(metadataBefore, "1.0-SNAPSHOT"), "Unexpected set of versions!");
 
+        RepositoryPath snapshotArtifactPath = (RepositoryPath) snapshotArtifacts.get(0).normalize();
+        RepositoryPath snapshotMetadataPath = snapshotArtifactPath.resolveSibling(MetadataHelper.MAVEN_METADATA_XML);
+        Files.delete(snapshotMetadataPath);
+
         artifactMetadataService.removeVersion(storageId,
                                               repositoryId,
                                               artifactPath,
@@ -136,6 +141,17 @@ public class ArtifactMetadataServiceSnapshotsTest
 
         assertNotNull(metadataAfter);
         assertFalse(MetadataHelper.containsVersion(metadataAfter, "1.0-SNAPSHOT"), "Unexpected set of versions!");
+
+        // The SNAPSHOT level metadata is generated again.
+        assertTrue(Files.exists(snapshotMetadataPath), "Missing SNAPSHOT level metadata!");
+
+        Metadata snapshotMetadata = artifactMetadataService.getMetadata(storageId,
+                                                                        repositoryId,
+                                                                        artifactPath + "/1.0-SNAPSHOT");
+        MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) RepositoryFiles.readCoordinates(
+                snapshotArtifactPath);
+        assertTrue(MetadataHelper.containsTimestampedSnapshotVersion(snapshotMetadata, coordinates.getVersion()),
+                   "Missing timestamped SNAPSHOT version!");
     }
 
     @Test
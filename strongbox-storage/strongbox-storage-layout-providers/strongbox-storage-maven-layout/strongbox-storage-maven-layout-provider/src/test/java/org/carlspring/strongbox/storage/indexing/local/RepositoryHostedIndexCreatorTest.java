@@ -22,6 +22,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -107,6 +108,37 @@ public class RepositoryHostedIndexCreatorTest
         assertThat(beforeChecksum).isNotEqualTo(afterChecksum);
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void packedIndexShouldBeUpdatedIncrementallyAndResetOnRebuild(@MavenRepository(repositoryId = REPOSITORY_RELEASES,
+                                                                                          setup = MavenIndexedRepositorySetup.class)
+                                                                         Repository repository,
+                                                                         @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                                                            id = GROUP_ID + ":" + ARTIFACT_ID,
+                                                                                            versions = { "1.0",
+                                                                                                         "1.1",
+                                                                                                         "1.2" })
+                                                                         List<Path> artifactPaths)
+            throws Exception
+    {
+        final Path indexDirectoryPath = repositoryPathResolver.resolve(repository)
+                                                              .resolve(LayoutFileSystem.INDEX)
+                                                              .resolve("local");
+
+        // The stored artifacts have been indexed without a rebuild.
+        assertThat(indexDirectoryPath.resolve("nexus-maven-repository-index.gz")).matches(Files::exists);
+        assertThat(indexDirectoryPath.resolve("nexus-maven-repository-index.properties")).matches(Files::exists);
+
+        repositoryIndexCreator.apply(repository);
+
+        try (Stream<Path> files = Files.list(indexDirectoryPath))
+        {
+            assertThat(files.map(p -> p.getFileName().toString()))
+                    .noneMatch(name -> name.matches("nexus-maven-repository-index\\.[0-9]+\\.gz"));
+        }
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
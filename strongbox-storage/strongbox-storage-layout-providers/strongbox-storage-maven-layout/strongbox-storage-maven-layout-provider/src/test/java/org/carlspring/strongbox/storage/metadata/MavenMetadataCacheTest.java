@@ -0,0 +1,159 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.storage.metadata.MavenMetadataCache.CachedMetadata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MavenMetadataCacheTest
+{
+
+    private Path basePath;
+
+    private Path metadataPath;
+
+    private MavenMetadataCache cache;
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        basePath = Files.createTempDirectory("maven-metadata-cache");
+        metadataPath = Files.createDirectories(basePath.resolve("org/carlspring/strongbox/metadata-cache"))
+                            .resolve(MetadataHelper.MAVEN_METADATA_XML);
+
+        cache = new MavenMetadataCache(1024 * 1024);
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        FileUtils.deleteDirectory(basePath.toFile());
+    }
+
+    @Test
+    public void testReadMetadataIsCached()
+            throws Exception
+    {
+        byte[] content = write(createMetadata("1.0"));
+
+        CachedMetadata cachedMetadata = cache.get(metadataPath);
+        assertArrayEquals(content, cachedMetadata.getContent());
+        assertEquals(DigestUtils.md5Hex(content), cachedMetadata.getChecksum("md5"));
+        assertEquals(DigestUtils.sha1Hex(content), cachedMetadata.getChecksum("sha1"));
+        assertNull(cachedMetadata.getChecksum("asc"));
+
+        // The callers get copies of the parsed metadata.
+        Metadata metadata = cachedMetadata.getMetadata();
+        assertEquals("1.0", metadata.getVersioning().getLatest());
+        metadata.getVersioning().setLatest("2.0");
+
+        assertSame(cachedMetadata, cache.get(metadataPath));
+        assertEquals("1.0", cache.get(metadataPath).getMetadata().getVersioning().getLatest());
+    }
+
+    @Test
+    public void testSecondReadDoesNotReadTheFile()
+            throws Exception
+    {
+        byte[] content = write(createMetadata("1.0"));
+        FileTime lastModifiedTime = Files.getLastModifiedTime(metadataPath);
+
+        cache.get(metadataPath);
+
+        // Same size and same modification time, so only reading the file could reveal the different content.
+        write(createMetadata("2.0"));
+        Files.setLastModifiedTime(metadataPath, lastModifiedTime);
+
+        assertArrayEquals(content, cache.get(metadataPath).getContent());
+    }
+
+    @Test
+    public void testStoredMetadataIsCached()
+            throws Exception
+    {
+        Metadata metadata = createMetadata("1.0");
+        byte[] content = write(metadata);
+
+        cache.put(metadataPath, content, metadata);
+        metadata.getVersioning().setLatest("2.0");
+
+        CachedMetadata cachedMetadata = cache.getIfPresent(metadataPath);
+        assertNotNull(cachedMetadata);
+        assertArrayEquals(content, cachedMetadata.getContent());
+        assertEquals("1.0", cachedMetadata.getMetadata().getVersioning().getLatest());
+    }
+
+    @Test
+    public void testChangedMetadataIsReadAgain()
+            throws Exception
+    {
+        write(createMetadata("1.0"));
+        cache.get(metadataPath);
+
+        byte[] content = write(createMetadata("1.0.1"));
+
+        assertNull(cache.getIfPresent(metadataPath));
+        assertArrayEquals(content, cache.get(metadataPath).getContent());
+
+        Files.delete(metadataPath);
+
+        assertNull(cache.getIfPresent(metadataPath));
+    }
+
+    @Test
+    public void testEvictDirectory()
+            throws Exception
+    {
+        write(createMetadata("1.0"));
+        cache.get(metadataPath);
+
+        cache.evict(basePath.resolve("org/carlspring/strongbox/metadata"));
+        assertNotNull(cache.getIfPresent(metadataPath));
+
+        cache.evict(basePath.resolve("org/carlspring"));
+        assertNull(cache.getIfPresent(metadataPath));
+    }
+
+    private Metadata createMetadata(String version)
+    {
+        Versioning versioning = new Versioning();
+        versioning.addVersion(version);
+        versioning.setLatest(version);
+        versioning.setRelease(version);
+
+        Metadata metadata = new Metadata();
+        metadata.setGroupId("org.carlspring.strongbox");
+        metadata.setArtifactId("metadata-cache");
+        metadata.setVersioning(versioning);
+
+        return metadata;
+    }
+
+    private byte[] write(Metadata metadata)
+            throws IOException
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new MetadataXpp3Writer().write(os, metadata);
+
+        byte[] content = os.toByteArray();
+        Files.write(metadataPath, content);
+
+        return content;
+    }
+
+}
@@ -0,0 +1,332 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the serialized package documents (packuments) of the npm packages, so that the package views don't have to
+ * search the package versions and read their checksums on every request.
+ * <p>
+ * Each package document is kept in both the full and the abbreviated
+ * ({@value #ABBREVIATED_PACKAGE_FEED_MEDIA_TYPE}) form, together with their ETags. The documents live in a bounded
+ * Hazelcast map, and are evicted when a package file gets stored, deleted or fetched from a remote repository (in
+ * the repository itself and in the groups containing it), when new remote package versions are parsed, and when the
+ * group membership or the repository service status change. The configured time to live is the upper bound for how
+ * long a proxy package document can be served before the remote repository gets asked for the new versions again.
+ */
+@Component
+public class NpmPackageFeedCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmPackageFeedCache.class);
+
+    public static final String ABBREVIATED_PACKAGE_FEED_MEDIA_TYPE = "application/vnd.npm.install-v1+json";
+
+    /**
+     * The version fields of the abbreviated package document, see
+     * <a href="https://github.com/npm/registry/blob/master/docs/responses/package-metadata.md">package metadata</a>.
+     */
+    private static final List<String> ABBREVIATED_VERSION_FIELDS = Arrays.asList("name",
+                                                                                 "version",
+                                                                                 "deprecated",
+                                                                                 "dependencies",
+                                                                                 "optionalDependencies",
+                                                                                 "devDependencies",
+                                                                                 "bundleDependencies",
+                                                                                 "peerDependencies",
+                                                                                 "bin",
+                                                                                 "directories",
+                                                                                 "dist",
+                                                                                 "engines",
+                                                                                 "_hasShrinkwrap");
+
+    private final Cache cache;
+
+    /**
+     * Counts the evictions, so that a package document which has been built while the package was being changed
+     * doesn't get cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    @NpmObjectMapper
+    private ObjectMapper npmJacksonMapper;
+
+    @Inject
+    NpmPackageFeedCache(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Artifact.NPM_PACKAGE_FEEDS);
+        Objects.requireNonNull(cache, "npmPackageFeeds cache configuration was not provided");
+    }
+
+    /**
+     * @return the cached package document, or the one provided by the {@code packageFeedLoader} if the package
+     *         document has not been cached yet.
+     */
+    public CachedPackageFeed get(Repository repository,
+                                 String packageId,
+                                 Callable<PackageFeed> packageFeedLoader)
+            throws IOException
+    {
+        String key = key(repository, packageId);
+
+        CachedPackageFeed cachedPackageFeed = cache.get(key, CachedPackageFeed.class);
+        if (cachedPackageFeed != null)
+        {
+            return cachedPackageFeed;
+        }
+
+        long evictionCount = evictions.get();
+
+        PackageFeed packageFeed;
+        try
+        {
+            packageFeed = packageFeedLoader.call();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+
+        cachedPackageFeed = serialize(packageFeed);
+        if (evictions.get() == evictionCount)
+        {
+            cache.put(key, cachedPackageFeed);
+        }
+
+        return cachedPackageFeed;
+    }
+
+    public void evict(Repository repository,
+                      String packageId)
+    {
+        evictions.incrementAndGet();
+
+        cache.evict(key(repository, packageId));
+        evictGroupsContaining(repository, packageId, new HashSet<>());
+    }
+
+    public void clear()
+    {
+        evictions.incrementAndGet();
+
+        cache.clear();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+            throws IOException
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!NpmArtifactCoordinates.LAYOUT_NAME.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        String packageId = calculatePackageId(RepositoryFiles.relativizePath(repositoryPath));
+        if (packageId == null)
+        {
+            return;
+        }
+
+        logger.debug("Evicting npm package document [{}] on [{}] change.",
+                     packageId, repository.getStorageIdAndRepositoryId());
+
+        evict(repository, packageId);
+    }
+
+    @EventListener
+    public void handle(final RepositoryEvent event)
+    {
+        if (event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_GROUP_UPDATED.getType() &&
+            event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType() &&
+            event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_IN_SERVICE.getType() &&
+            event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_OUT_OF_SERVICE.getType())
+        {
+            return;
+        }
+
+        logger.debug("Clearing npm package document cache on [{}:{}] change.",
+                     event.getStorageId(), event.getRepositoryId());
+
+        clear();
+    }
+
+    /**
+     * The package files are stored as {@code {scope|name}/{name}/{version}/{file}}.
+     */
+    private String calculatePackageId(String path)
+    {
+        String[] pathElements = path.split("/");
+        if (pathElements.length < 4)
+        {
+            return null;
+        }
+
+        return pathElements[0].startsWith("@") ?
+               NpmArtifactCoordinates.calculatePackageId(pathElements[0], pathElements[1]) :
+               NpmArtifactCoordinates.calculatePackageId(null, pathElements[1]);
+    }
+
+    private void evictGroupsContaining(Repository repository,
+                                       String packageId,
+                                       Set<String> visited)
+    {
+        if (!visited.add(repository.getStorageIdAndRepositoryId()))
+        {
+            return;
+        }
+
+        for (Repository groupRepository : configurationManager.getConfiguration()
+                                                              .getGroupRepositoriesContaining(repository.getStorage().getId(),
+                                                                                              repository.getId()))
+        {
+            cache.evict(key(groupRepository, packageId));
+            evictGroupsContaining(groupRepository, packageId, visited);
+        }
+    }
+
+    private CachedPackageFeed serialize(PackageFeed packageFeed)
+            throws IOException
+    {
+        ObjectNode packageFeedNode = npmJacksonMapper.valueToTree(packageFeed);
+
+        ObjectNode abbreviatedPackageFeedNode = npmJacksonMapper.createObjectNode();
+        copyField(packageFeedNode, abbreviatedPackageFeedNode, "name");
+        copyField(packageFeedNode, abbreviatedPackageFeedNode, "dist-tags");
+
+        JsonNode modified = packageFeedNode.path("time").get("modified");
+        if (modified != null)
+        {
+            abbreviatedPackageFeedNode.set("modified", modified);
+        }
+
+        ObjectNode abbreviatedVersionsNode = abbreviatedPackageFeedNode.putObject("versions");
+        for (Iterator<Map.Entry<String, JsonNode>> i = packageFeedNode.path("versions").fields(); i.hasNext(); )
+        {
+            Map.Entry<String, JsonNode> version = i.next();
+            if (!version.getValue().isObject())
+            {
+                continue;
+            }
+
+            ObjectNode abbreviatedVersionNode = ((ObjectNode) version.getValue()).deepCopy();
+            abbreviatedVersionsNode.set(version.getKey(), abbreviatedVersionNode.retain(ABBREVIATED_VERSION_FIELDS));
+        }
+
+        return new CachedPackageFeed(npmJacksonMapper.writeValueAsBytes(packageFeed),
+                                     npmJacksonMapper.writeValueAsBytes(abbreviatedPackageFeedNode));
+    }
+
+    private void copyField(ObjectNode source,
+                           ObjectNode target,
+                           String fieldName)
+    {
+        JsonNode value = source.get(fieldName);
+        if (value != null)
+        {
+            target.set(fieldName, value);
+        }
+    }
+
+    private String key(Repository repository,
+                       String packageId)
+    {
+        return repository.getStorageIdAndRepositoryId() + ":" + packageId;
+    }
+
+    /**
+     * The serialized full and abbreviated package documents, with their strong ETags.
+     */
+    public static class CachedPackageFeed
+            implements Serializable
+    {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] content;
+
+        private final String etag;
+
+        private final byte[] abbreviatedContent;
+
+        private final String abbreviatedEtag;
+
+        CachedPackageFeed(byte[] content,
+                          byte[] abbreviatedContent)
+        {
+            this.content = content;
+            this.etag = calculateEtag(content);
+            this.abbreviatedContent = abbreviatedContent;
+            this.abbreviatedEtag = calculateEtag(abbreviatedContent);
+        }
+
+        public byte[] getContent(boolean abbreviated)
+        {
+            return abbreviated ? abbreviatedContent : content;
+        }
+
+        public String getEtag(boolean abbreviated)
+        {
+            return abbreviated ? abbreviatedEtag : etag;
+        }
+
+        private static String calculateEtag(byte[] content)
+        {
+            return "\"" + DigestUtils.sha1Hex(content) + "\"";
+        }
+
+    }
+
+}
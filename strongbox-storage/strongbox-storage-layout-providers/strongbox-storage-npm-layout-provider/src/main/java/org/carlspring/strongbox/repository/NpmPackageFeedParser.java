@@ -27,6 +27,7 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
@@ -57,6 +58,9 @@ public class NpmPackageFeedParser
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
+
     public void parseSearchResult(Repository repository,
                                   SearchResults searchResults)
         throws IOException
@@ -89,12 +93,18 @@ public class NpmPackageFeedParser
                                       Set<ArtifactEntry> artifactToSaveSet)
         throws IOException
     {
+        Set<String> changedPackageIds = new HashSet<>();
         for (ArtifactEntry e : artifactToSaveSet)
         {
             RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(e);
 
-            saveArtifactEntry(repositoryPath);
+            if (saveArtifactEntry(repositoryPath))
+            {
+                changedPackageIds.add(e.getArtifactCoordinates().getId());
+            }
         }
+
+        changedPackageIds.forEach(packageId -> npmPackageFeedCache.evict(repository, packageId));
     }
 
     @Transactional
@@ -145,7 +155,7 @@ public class NpmPackageFeedParser
 
     }
 
-    private void saveArtifactEntry(RepositoryPath repositoryPath)
+    private boolean saveArtifactEntry(RepositoryPath repositoryPath)
         throws IOException
     {
         ArtifactEntry e = repositoryPath.getArtifactEntry();
@@ -162,11 +172,13 @@ public class NpmPackageFeedParser
             if (artifactEntryService.artifactExists(e.getStorageId(), e.getRepositoryId(),
                                                     e.getArtifactCoordinates().toPath()))
             {
-                return;
+                return false;
             }
 
             RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
             repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, e);
+
+            return true;
         } 
         finally
         {
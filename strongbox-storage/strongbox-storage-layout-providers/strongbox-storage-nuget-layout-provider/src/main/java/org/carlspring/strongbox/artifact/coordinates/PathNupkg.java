@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.artifact.coordinates;
 
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
@@ -15,10 +16,15 @@ import java.util.*;
 
 import javax.xml.bind.DatatypeConverter;
 
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+/**
+ * The package specification and the package hash are only read when they are requested, the package feed entries
+ * are normally created from the feed attributes of the {@link ArtifactEntry}.
+ */
 public class PathNupkg implements Nupkg
 {
 
@@ -39,8 +45,6 @@ public class PathNupkg implements Nupkg
         
         this.path = path;
         this.artifactCoordinates = (NugetArtifactCoordinates) path.getArtifactEntry().getArtifactCoordinates();
-        this.nuspecFile = createNuspecFile();
-        this.hash = createHash();
     }
 
     public RepositoryPath getPath()
@@ -57,6 +61,17 @@ public class PathNupkg implements Nupkg
     @Override
     public String getHash()
     {
+        if (hash == null)
+        {
+            try
+            {
+                hash = createHash();
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to read checksum for [%s]", path), e);
+            }
+        }
         return hash;
     }
 
@@ -64,6 +79,14 @@ public class PathNupkg implements Nupkg
         throws IOException,
         UnsupportedEncodingException
     {
+        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        String storedHash = artifactEntry == null ? null :
+                            artifactEntry.getChecksums().get(MessageDigestAlgorithms.SHA_512);
+        if (storedHash != null)
+        {
+            return storedHash;
+        }
+
         Map<String, RepositoryPath> checksumPathMap = path.getFileSystem().provider().resolveChecksumPathMap(path);
         if (checksumPathMap.isEmpty())
         {
@@ -92,6 +115,10 @@ public class PathNupkg implements Nupkg
     public Nuspec getNuspec()
         throws NugetFormatException
     {
+        if (nuspecFile == null)
+        {
+            nuspecFile = createNuspecFile();
+        }
         return nuspecFile;
     }
 
@@ -110,9 +137,9 @@ public class PathNupkg implements Nupkg
             return result;
         }
         
-        try
+        try (InputStream inputStream = Files.newInputStream(nuspecPath))
         {
-            return Nuspec.parse(Files.newInputStream(nuspecPath));
+            return Nuspec.parse(inputStream);
         }
         catch (IOException e)
         {
@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NugetLayoutProvider;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
+import org.carlspring.strongbox.storage.metadata.nuget.TempNupkgFile;
+import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the package specification properties and the package hash of the stored packages as the
+ * {@link ArtifactEntry#getArtifactAttributes()}, so that the package feed entries can be created without reading
+ * the package files.
+ */
+public abstract class NugetPackageFeedAttributesHandler
+        extends AsyncArtifactEntryHandler
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NugetPackageFeedAttributesHandler.class);
+
+    protected NugetPackageFeedAttributesHandler(ArtifactEventTypeEnum eventType)
+    {
+        super(eventType);
+    }
+
+    @Override
+    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        if (!NugetLayoutProvider.ALIAS.equals(repositoryPath.getRepository().getLayout()) ||
+            !repositoryPath.getFileName().toString().endsWith(".nupkg"))
+        {
+            return null;
+        }
+
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            return null;
+        }
+
+        String packageHash = artifactEntry.getChecksums().get(MessageDigestAlgorithms.SHA_512);
+        if (packageHash == null)
+        {
+            logger.debug(String.format("No package hash for [%s].", repositoryPath));
+
+            return null;
+        }
+
+        Nuspec nuspec;
+        try (InputStream inputStream = Files.newInputStream(repositoryPath))
+        {
+            nuspec = TempNupkgFile.loadNuspec(inputStream);
+        }
+        catch (NugetFormatException e)
+        {
+            logger.warn(String.format("Failed to read package specification of [%s].", repositoryPath), e);
+
+            return null;
+        }
+
+        if (nuspec == null)
+        {
+            return null;
+        }
+
+        PackageEntry packageEntry = new PackageEntry(nuspec,
+                                                     packageHash,
+                                                     artifactEntry.getSizeInBytes(),
+                                                     artifactEntry.getLastUpdated());
+
+        artifactEntry.getArtifactAttributes().clear();
+        artifactEntry.getArtifactAttributes().putAll(packageEntry.getFeedAttributes());
+
+        return artifactEntry;
+    }
+
+    @Component
+    public static class NugetPackageStoredEventHandler
+            extends NugetPackageFeedAttributesHandler
+    {
+
+        public NugetPackageStoredEventHandler()
+        {
+            super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED);
+        }
+
+    }
+
+    @Component
+    public static class NugetPackageUpdatedEventHandler
+            extends NugetPackageFeedAttributesHandler
+    {
+
+        public NugetPackageUpdatedEventHandler()
+        {
+            super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED);
+        }
+
+    }
+
+}
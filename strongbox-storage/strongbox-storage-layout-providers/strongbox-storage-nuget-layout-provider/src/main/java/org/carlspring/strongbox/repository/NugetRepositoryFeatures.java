@@ -224,6 +224,7 @@ public class NugetRepositoryFeatures
             remoteArtifactEntry.setDownloadCount(0);
 
             remoteArtifactEntry.setSizeInBytes(packageEntry.getProperties().getPackageSize());
+            remoteArtifactEntry.getArtifactAttributes().putAll(packageEntry.getFeedAttributes());
 
             if (Boolean.TRUE.equals(packageEntry.getProperties().getIsLatestVersion()))
             {
@@ -0,0 +1,34 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * Keeps the {@link JAXBContext} of each NuGet XML class. The contexts are thread safe but expensive to create, so
+ * they are created once, while the (not thread safe) marshallers and unmarshallers are still created per use.
+ */
+public final class JaxbContexts
+{
+
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    private JaxbContexts()
+    {
+    }
+
+    public static JAXBContext get(Class<?> type)
+        throws JAXBException
+    {
+        JAXBContext context = CONTEXTS.get(type);
+        if (context == null)
+        {
+            context = JAXBContext.newInstance(type);
+            CONTEXTS.putIfAbsent(type, context);
+        }
+        return context;
+    }
+
+}
@@ -116,8 +116,7 @@ public class Nuspec implements Serializable
     {
         try
         {
-            JAXBContext context = JAXBContext.newInstance(Nuspec.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
+            Unmarshaller unmarshaller = JaxbContexts.get(Nuspec.class).createUnmarshaller();
             unmarshaller.setEventHandler(new NuspecXmlValidationEventHandler());
             XMLReader reader = XMLReaderFactory.createXMLReader();
             NugetNamespaceFilter inFilter = new NugetNamespaceFilter();
@@ -401,8 +400,7 @@ public class Nuspec implements Serializable
     public void saveTo(OutputStream outputStream)
         throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(this.getClass());
-        Marshaller marshaller = context.createMarshaller();
+        Marshaller marshaller = JaxbContexts.get(this.getClass()).createMarshaller();
         marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
         marshaller.marshal(this, outputStream);
     }
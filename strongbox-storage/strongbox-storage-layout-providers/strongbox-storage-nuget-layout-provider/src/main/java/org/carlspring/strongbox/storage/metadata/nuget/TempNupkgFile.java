@@ -28,11 +28,16 @@ import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Enumeration;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import javax.xml.bind.DatatypeConverter;
@@ -111,7 +116,7 @@ public class TempNupkgFile implements AutoCloseable, Nupkg
      *             XML in the package archive does not conform to the NuGet
      *             specification
      */
-    private static final Nuspec loadNuspec(InputStream packageStream)
+    public static Nuspec loadNuspec(InputStream packageStream)
         throws IOException,
                NugetFormatException
     {
@@ -132,6 +137,52 @@ public class TempNupkgFile implements AutoCloseable, Nupkg
         }
     }
 
+    /**
+     * Extract specification file from NuPkg package file, the specification is located through the central directory
+     * of the archive, so the package content doesn't have to be read.
+     *
+     * @param packagePath
+     *            package file
+     * @return specification file, or null if the file is not a package
+     * @throws IOException
+     *             read error
+     * @throws NugetFormatException
+     *             XML in the package archive does not conform to the NuGet
+     *             specification
+     */
+    public static Nuspec loadNuspec(Path packagePath)
+        throws IOException,
+               NugetFormatException
+    {
+        if (Files.size(packagePath) == 0)
+        {
+            return null;
+        }
+
+        try (ZipFile zipFile = new ZipFile(packagePath.toFile()))
+        {
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();)
+            {
+                ZipEntry entry = entries.nextElement();
+                if (!isNuspecZipEntry(entry))
+                {
+                    continue;
+                }
+
+                try (InputStream inputStream = zipFile.getInputStream(entry))
+                {
+                    return Nuspec.parse(inputStream);
+                }
+            }
+
+            return null;
+        }
+        catch (ZipException e)
+        {
+            return null;
+        }
+    }
+
     /**
      * ZIP attachment is Nuspec XML specification
      *
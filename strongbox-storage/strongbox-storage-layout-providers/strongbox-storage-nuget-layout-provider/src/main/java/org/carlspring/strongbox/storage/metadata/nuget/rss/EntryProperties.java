@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.Map;
 
 import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
@@ -42,6 +41,7 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
 import org.carlspring.strongbox.storage.metadata.nuget.Dependency;
+import org.carlspring.strongbox.storage.metadata.nuget.JaxbContexts;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.StringListTypeAdapter;
@@ -64,8 +64,7 @@ public class EntryProperties
     public static EntryProperties parse(InputStream inputStream)
         throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(EntryProperties.class);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
+        Unmarshaller unmarshaller = JaxbContexts.get(EntryProperties.class).createUnmarshaller();
         return (EntryProperties) unmarshaller.unmarshal(inputStream);
     }
 
@@ -635,6 +634,78 @@ public class EntryProperties
         this.summary = nuspecFile.getSummary();
     }
 
+    /**
+     * @return the package specification properties and the package hash, as the attributes to be stored along with
+     *         the package, see {@link #setFeedAttributes(Map)}
+     */
+    public Map<String, String> getFeedAttributes()
+    {
+        Map<String, String> attributes = new HashMap<>();
+        putFeedAttribute(attributes, "Title", title);
+        putFeedAttribute(attributes, "IconUrl", iconUrl);
+        putFeedAttribute(attributes, "LicenseUrl", licenseUrl);
+        putFeedAttribute(attributes, "ProjectUrl", projectUrl);
+        putFeedAttribute(attributes, "ProjectSourceUrl", projectSourceUrl);
+        putFeedAttribute(attributes, "PackageSourceUrl", packageSourceUrl);
+        putFeedAttribute(attributes, "DocsUrl", docsUrl);
+        putFeedAttribute(attributes, "MailingListUrl", mailingListUrl);
+        putFeedAttribute(attributes, "BugTrackerUrl", bugTrackerUrl);
+        putFeedAttribute(attributes, "RequireLicenseAcceptance",
+                         requireLicenseAcceptance == null ? null : requireLicenseAcceptance.toString());
+        putFeedAttribute(attributes, "Description", description);
+        putFeedAttribute(attributes, "Dependencies", dependencies);
+        putFeedAttribute(attributes, "Copyright", copyright);
+        putFeedAttribute(attributes, "Tags", tags == null ? null : String.join(" ", tags));
+        putFeedAttribute(attributes, "Summary", summary);
+        putFeedAttribute(attributes, "PackageHash", packageHash);
+
+        return attributes;
+    }
+
+    /**
+     * Sets the package specification properties and the package hash from the stored attributes, instead of the
+     * package specification itself.
+     *
+     * @param attributes
+     *            the attributes provided by {@link #getFeedAttributes()}
+     */
+    public void setFeedAttributes(Map<String, String> attributes)
+    {
+        this.title = nullToEmpty(attributes.get("Title"));
+        this.iconUrl = nullToEmpty(attributes.get("IconUrl"));
+        this.licenseUrl = nullToEmpty(attributes.get("LicenseUrl"));
+        this.projectUrl = nullToEmpty(attributes.get("ProjectUrl"));
+        this.projectSourceUrl = nullToEmpty(attributes.get("ProjectSourceUrl"));
+        this.packageSourceUrl = nullToEmpty(attributes.get("PackageSourceUrl"));
+        this.docsUrl = nullToEmpty(attributes.get("DocsUrl"));
+        this.mailingListUrl = nullToEmpty(attributes.get("MailingListUrl"));
+        this.bugTrackerUrl = nullToEmpty(attributes.get("BugTrackerUrl"));
+        this.reportAbuseUrl = "";
+        this.requireLicenseAcceptance = Boolean.valueOf(attributes.get("RequireLicenseAcceptance"));
+        this.description = attributes.get("Description");
+        this.releaseNotes = "";
+        this.language = "";
+        this.price = Double.valueOf(0);
+        this.dependencies = nullToEmpty(attributes.get("Dependencies"));
+        this.externalPackageUri = "";
+        this.categories = "";
+        this.copyright = attributes.get("Copyright");
+        this.packageType = "";
+        this.tags = new StringListTypeAdapter().unmarshal(nullToEmpty(attributes.get("Tags")));
+        this.summary = attributes.get("Summary");
+        this.packageHash = attributes.get("PackageHash");
+    }
+
+    private void putFeedAttribute(Map<String, String> attributes,
+                                  String name,
+                                  String value)
+    {
+        if (value != null)
+        {
+            attributes.put(name, value);
+        }
+    }
+
     public String getId()
     {
         return id;
@@ -23,8 +23,8 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
@@ -33,7 +33,9 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
 import org.carlspring.strongbox.storage.metadata.nuget.Author;
+import org.carlspring.strongbox.storage.metadata.nuget.JaxbContexts;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
@@ -49,6 +51,16 @@ import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 public class PackageEntry
 {
 
+    /**
+     * The feed attribute with the package authors, see {@link #getFeedAttributes()}
+     */
+    private static final String AUTHORS_ATTRIBUTE = "Authors";
+
+    /**
+     * The feed attribute with the package hash, see {@link EntryProperties#getFeedAttributes()}
+     */
+    private static final String PACKAGE_HASH_ATTRIBUTE = "PackageHash";
+
     /**
      * Reads a PackageEntry class from a stream with XML
      *
@@ -61,8 +73,7 @@ public class PackageEntry
     public static PackageEntry parse(InputStream inputStream)
         throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(PackageEntry.class);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
+        Unmarshaller unmarshaller = JaxbContexts.get(PackageEntry.class).createUnmarshaller();
         return (PackageEntry) unmarshaller.unmarshal(inputStream);
     }
 
@@ -170,6 +181,67 @@ public class PackageEntry
         this.getProperties().setPublished(updateDate);
     }
 
+    /**
+     * Creates the entry from the attributes stored along with the package, so that the package specification
+     * doesn't have to be read.
+     *
+     * @param id
+     *            package id
+     * @param version
+     *            package version
+     * @param feedAttributes
+     *            the attributes provided by {@link #getFeedAttributes()}
+     * @param packageSize
+     *            package size
+     * @param updateDate
+     *            package update date
+     */
+    public PackageEntry(String id,
+                        SemanticVersion version,
+                        Map<String, String> feedAttributes,
+                        Long packageSize,
+                        Date updateDate)
+    {
+        this.title = new Title(id);
+        getProperties().setFeedAttributes(feedAttributes);
+        getProperties().setVersion(version);
+        this.updated = updateDate;
+        this.author = new Author(feedAttributes.get(AUTHORS_ATTRIBUTE));
+        PackageEntry.this.getLinks()
+                         .add(new Link("edit-media", "Package",
+                                 "Packages" + getCombineIdAndVersion() + "/$value"));
+        PackageEntry.this.getLinks()
+                         .add(new Link("edit", "Package",
+                                 "Packages" + getCombineIdAndVersion()));
+        this.getProperties().setPackageSize(packageSize);
+        this.getProperties().setPublished(updateDate);
+    }
+
+    /**
+     * @param feedAttributes
+     *            the attributes stored along with the package
+     * @return whether the entry can be created from the attributes, see
+     *         {@link #PackageEntry(String, SemanticVersion, Map, Long, Date)}
+     */
+    public static boolean hasFeedAttributes(Map<String, String> feedAttributes)
+    {
+        return feedAttributes != null && feedAttributes.containsKey(PACKAGE_HASH_ATTRIBUTE);
+    }
+
+    /**
+     * @return the package specification properties, the package authors and the package hash, as the attributes to
+     *         be stored along with the package
+     */
+    public Map<String, String> getFeedAttributes()
+    {
+        Map<String, String> feedAttributes = getProperties().getFeedAttributes();
+        if (author != null && author.getName() != null)
+        {
+            feedAttributes.put(AUTHORS_ATTRIBUTE, author.getName());
+        }
+        return feedAttributes;
+    }
+
     private String getCombineIdAndVersion()
     {
         return "(Id='" + getTitle() + "',Version='"
@@ -294,7 +366,7 @@ public class PackageEntry
             this.content = new AtomElement();
             content.setType("application/zip");
             content.setSrc(getRootUri() + "download/" + title.value + "/"
-                    + nuspecFile.getVersion());
+                    + getProperties().getVersion());
         }
         return content;
     }
@@ -26,7 +26,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
@@ -38,6 +37,7 @@ import javax.xml.bind.annotation.XmlType;
 
 import org.apache.xml.serialize.OutputFormat;
 import org.apache.xml.serialize.XMLSerializer;
+import org.carlspring.strongbox.storage.metadata.nuget.JaxbContexts;
 import org.carlspring.strongbox.storage.metadata.nuget.XmlWritable;
 
 /**
@@ -55,8 +55,7 @@ public class PackageFeed implements XmlWritable
     public static PackageFeed parse(InputStream inputStream)
         throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(PackageFeed.class);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
+        Unmarshaller unmarshaller = JaxbContexts.get(PackageFeed.class).createUnmarshaller();
         return (PackageFeed) unmarshaller.unmarshal(inputStream);
     }
 
@@ -184,8 +183,7 @@ public class PackageFeed implements XmlWritable
         throws JAXBException
     {
         // Initial Serialization
-        JAXBContext context = JAXBContext.newInstance(this.getClass());
-        Marshaller marshaller = context.createMarshaller();
+        Marshaller marshaller = JaxbContexts.get(this.getClass()).createMarshaller();
         Map<String, String> uriToPrefix = new HashMap<>();
         uriToPrefix.put("http://www.w3.org/2005/Atom", "atom");
         uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/metadata", "m");
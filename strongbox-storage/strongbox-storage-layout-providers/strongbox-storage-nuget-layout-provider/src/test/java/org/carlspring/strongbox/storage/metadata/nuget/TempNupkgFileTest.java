@@ -37,6 +37,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
 /**
@@ -105,6 +106,38 @@ public class TempNupkgFileTest
         }
     }
 
+    /**
+     * Check reading specifications from the central directory of the package file
+     *
+     * @throws Exception error during the test
+     */
+    @ExtendWith(ArtifactManagementTestExecutionListener.class)
+    @Test
+    public void testLoadNuspecFromPackageFile(@NugetTestArtifact(id = "NUnit",
+                                                                 versions = "2.5.9.10348")
+                                              Path artifactNupkgPath)
+            throws Exception
+    {
+        // GIVEN
+        Path emptyFile = Files.createTempFile("nupkg", "part");
+
+        try
+        {
+            // WHEN
+            Nuspec nuspecFile = TempNupkgFile.loadNuspec(artifactNupkgPath);
+
+            // THEN
+            assertNotNull(nuspecFile, "Package Specification");
+            assertEquals("NUnit", nuspecFile.getId(), "Package ID");
+            assertEquals(SemanticVersion.parse("2.5.9.10348"), nuspecFile.getVersion(), "Package Version");
+            assertNull(TempNupkgFile.loadNuspec(emptyFile), "Empty package");
+        }
+        finally
+        {
+            Files.delete(emptyFile);
+        }
+    }
+
     /**
      * @throws IOException          error read test data
      * @throws NugetFormatException invalid format exception
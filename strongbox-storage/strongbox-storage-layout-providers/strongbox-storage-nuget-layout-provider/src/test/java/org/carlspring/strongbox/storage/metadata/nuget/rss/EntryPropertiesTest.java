@@ -27,7 +27,9 @@ import javax.xml.bind.DatatypeConverter;
 import javax.xml.bind.JAXBException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -106,6 +108,42 @@ public class EntryPropertiesTest
         assertEquals("NLog:2.0.0.2000", properties.getDependencies());
     }
 
+    /**
+     * Check that the properties restored from the feed attributes are the same as the ones converted from the
+     * specification file
+     *
+     * @throws Exception
+     *             error during the test
+     */
+    @Test
+    public void testConvertNuspecToFeedAttributes()
+        throws Exception
+    {
+        // GIVEN
+        InputStream inputStream = NugetTestResourceUtil.getAsStream("nuspec/NUnit.nuspec.xml");
+        Nuspec nuspecFile = Nuspec.parse(inputStream);
+        PackageEntry packageEntry = new PackageEntry(nuspecFile, "HASH", 10L, new Date());
+
+        // WHEN
+        Map<String, String> feedAttributes = packageEntry.getFeedAttributes();
+        PackageEntry result = new PackageEntry(nuspecFile.getId(), nuspecFile.getVersion(), feedAttributes, 10L,
+                                               packageEntry.getUpdated());
+
+        // THEN
+        assertTrue(PackageEntry.hasFeedAttributes(feedAttributes));
+        EntryProperties properties = result.getProperties();
+        assertEquals(new SemanticVersion(2, 5, 9, ".", "10348"), properties.getVersion());
+        assertEquals("", properties.getTitle());
+        assertFalse(properties.getRequireLicenseAcceptance());
+        assertEquals("Unit Testing Package", properties.getDescription());
+        assertEquals("", properties.getDependencies());
+        assertEquals("Copyright 2011", properties.getCopyright());
+        assertThat(properties.getTags().toArray(), arrayContainingInAnyOrder("Unit", "test"));
+        assertEquals("HASH", properties.getPackageHash());
+        assertEquals(packageEntry.getAuthor().getName(), result.getAuthor().getName());
+        assertEquals(packageEntry.getId(), result.getId());
+    }
+
     /**
      * Package Property Recognition (RSS) Test from XML
      *
@@ -1,14 +1,23 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.strongbox.exception.Http202PropogateException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.AsyncRemoteArtifactFetchEngine;
+import org.carlspring.strongbox.providers.repository.proxied.InFlightRemoteArtifactFetch;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactFetchRegistry;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 
 import javax.inject.Inject;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.InputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 
+import org.eclipse.jetty.io.EofException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -20,6 +29,12 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private RemoteArtifactFetchRegistry remoteArtifactFetchRegistry;
+
+    @Inject
+    private AsyncRemoteArtifactFetchEngine asyncRemoteArtifactFetchEngine;
+
     protected boolean provideArtifactDownloadResponse(HttpServletRequest request,
                                                       HttpServletResponse response,
                                                       HttpHeaders httpHeaders,
@@ -27,7 +42,18 @@ public abstract class BaseArtifactController
             throws Exception
     {
         logger.debug("Resolved path: {}", repositoryPath);
-        ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
+
+        // The artifact is still being downloaded from the remote repository, it will be served as the bytes arrive.
+        boolean inFlight = remoteArtifactFetchRegistry.get(repositoryPath) != null;
+        if (inFlight)
+        {
+            ArtifactControllerHelper.provideInFlightArtifactHeaders(response, repositoryPath);
+        }
+        else
+        {
+            ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
+        }
+
         if (response.getStatus() == HttpStatus.NOT_FOUND.value())
         {
             return false;
@@ -37,20 +63,133 @@ public abstract class BaseArtifactController
             return true;
         }
 
-        
-        try (InputStream is = artifactResolutionService.getInputStream(repositoryPath);)
+        if (inFlight && provideInFlightArtifactAsyncResponse(request, response, httpHeaders, repositoryPath))
+        {
+            return true;
+        }
+
+        try (RepositoryInputStream is = artifactResolutionService.getInputStream(repositoryPath);)
         {
-            if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+            if (ArtifactControllerHelper.isRangedRequest(httpHeaders) &&
+                provideArtifactPartialDownloadResponse(is, inFlight ? -1 : Files.size(repositoryPath), httpHeaders,
+                                                       response))
             {
-                logger.debug("Detected ranged request.");
+                return true;
+            }
 
-                ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
+            if (inFlight)
+            {
+                copyToResponse(is, response);
+            }
+            else
+            {
+                transferToResponse(is, response);
             }
-            
-            copyToResponse(is, response);
         }
 
         return true;
     }
 
+    /**
+     * Sends the whole in-flight artifact asynchronously (see {@link InFlightArtifactAsyncWriter}), if the asynchronous
+     * remote fetching is enabled.
+     *
+     * @return true if the response is being sent, false if it should be sent in the blocking way instead
+     */
+    private boolean provideInFlightArtifactAsyncResponse(HttpServletRequest request,
+                                                         HttpServletResponse response,
+                                                         HttpHeaders httpHeaders,
+                                                         RepositoryPath repositoryPath)
+            throws IOException
+    {
+        if (!asyncRemoteArtifactFetchEngine.isEnabled() || !request.isAsyncSupported() ||
+            ArtifactControllerHelper.isRangedRequest(httpHeaders))
+        {
+            return false;
+        }
+
+        InFlightRemoteArtifactFetch inFlightFetch = remoteArtifactFetchRegistry.get(repositoryPath);
+        if (inFlightFetch == null)
+        {
+            return false;
+        }
+
+        RepositoryInputStream is = artifactResolutionService.getInputStream(repositoryPath);
+        if (!is.isInFlight())
+        {
+            // The fetch has been completed in the meantime, the stored artifact is sent in the blocking way.
+            is.close();
+
+            return false;
+        }
+
+        try
+        {
+            InFlightArtifactAsyncWriter.start(request, response, is, inFlightFetch);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            is.close();
+
+            throw e;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return true if the requested ranges have been served, false if the whole artifact should be sent instead
+     */
+    private boolean provideArtifactPartialDownloadResponse(RepositoryInputStream is,
+                                                           long length,
+                                                           HttpHeaders httpHeaders,
+                                                           HttpServletResponse response)
+            throws IOException
+    {
+        logger.debug("Detected ranged request.");
+
+        try
+        {
+            is.transferTo(channel -> ArtifactControllerHelper.handlePartialDownload(channel, length, httpHeaders,
+                                                                                    response));
+        }
+        catch (EofException e)
+        {
+            throw new Http202PropogateException("Socket has been closed. Possibly, user cancelled download.", e);
+        }
+
+        return response.getStatus() != HttpStatus.OK.value();
+    }
+
+    /**
+     * Sends the artifact straight from the {@link FileChannel} of its file, instead of copying it through the
+     * stream decorators (see {@link ArtifactControllerHelper#sendContent}). Falls back to {@link #copyToResponse}
+     * if the artifact is not stored in the local file system.
+     */
+    protected void transferToResponse(RepositoryInputStream is,
+                                      HttpServletResponse response)
+            throws IOException
+    {
+        ServletOutputStream os = response.getOutputStream();
+
+        long totalBytes;
+        try
+        {
+            totalBytes = is.transferTo(channel -> ArtifactControllerHelper.sendContent(channel, 0, channel.size(), os));
+        }
+        catch (EofException e)
+        {
+            throw new Http202PropogateException("Socket has been closed. Possibly, user cancelled download.", e);
+        }
+
+        if (totalBytes < 0)
+        {
+            copyToResponse(is, response);
+
+            return;
+        }
+
+        response.flushBuffer();
+    }
+
 }
@@ -0,0 +1,178 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.InFlightRemoteArtifactFetch;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import org.eclipse.jetty.server.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends an artifact which is still being downloaded from the remote repository through the non-blocking servlet
+ * output, as its bytes arrive. The response doesn't hold a thread while it waits for the remote repository (it is
+ * resumed by the progress of the {@link InFlightRemoteArtifactFetch}), nor while it waits for the client to accept
+ * more bytes (it is resumed by the container).
+ */
+class InFlightArtifactAsyncWriter
+        implements WriteListener
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightArtifactAsyncWriter.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final AsyncContext asyncContext;
+
+    private final ServletOutputStream os;
+
+    private final RepositoryInputStream is;
+
+    private final InFlightRemoteArtifactFetch inFlightFetch;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The number of the bytes which have been read from the in-flight fetch so far.
+     */
+    private long position;
+
+    private boolean finished;
+
+    private InFlightArtifactAsyncWriter(AsyncContext asyncContext,
+                                        ServletOutputStream os,
+                                        RepositoryInputStream is,
+                                        InFlightRemoteArtifactFetch inFlightFetch)
+    {
+        this.asyncContext = asyncContext;
+        this.os = os;
+        this.is = is;
+        this.inFlightFetch = inFlightFetch;
+    }
+
+    /**
+     * Starts the asynchronous processing of the request, the writer then owns the input stream and closes it once
+     * the response has been sent, on whichever container thread sends the last bytes. The stream has to be
+     * {@link RepositoryInputStream#isInFlight() in-flight}, as the regular ones hold the path lock of the thread which
+     * has opened them.
+     */
+    static void start(HttpServletRequest request,
+                      HttpServletResponse response,
+                      RepositoryInputStream is,
+                      InFlightRemoteArtifactFetch inFlightFetch)
+        throws IOException
+    {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        // The download is bounded by the retry timeout of the remote repository instead.
+        asyncContext.setTimeout(0);
+
+        ServletOutputStream os = response.getOutputStream();
+        os.setWriteListener(new InFlightArtifactAsyncWriter(asyncContext, os, is, inFlightFetch));
+    }
+
+    @Override
+    public synchronized void onWritePossible()
+    {
+        if (finished)
+        {
+            return;
+        }
+
+        try
+        {
+            while (os.isReady())
+            {
+                int available = is.available();
+                if (available == 0 && !inFlightFetch.isDone())
+                {
+                    inFlightFetch.whenProgressed(position, () -> asyncContext.start(this::onWritePossible));
+
+                    return;
+                }
+
+                int n = is.read(buffer, 0, available > 0 ? Math.min(available, buffer.length) : buffer.length);
+                if (n < 0)
+                {
+                    finish(null);
+
+                    return;
+                }
+
+                os.write(buffer, 0, n);
+                position += n;
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            finish(e);
+        }
+    }
+
+    @Override
+    public synchronized void onError(Throwable t)
+    {
+        finish(t);
+    }
+
+    private void finish(Throwable failure)
+    {
+        if (finished)
+        {
+            return;
+        }
+        finished = true;
+
+        try
+        {
+            closeInputStream();
+
+            if (failure != null)
+            {
+                logger.debug("Failed to send the in-flight artifact.", failure);
+
+                // Don't let a truncated artifact look like a complete one.
+                Request baseRequest = Request.getBaseRequest(asyncContext.getRequest());
+                if (baseRequest != null)
+                {
+                    baseRequest.getHttpChannel().abort(failure);
+                }
+            }
+        }
+        finally
+        {
+            // The response has no timeout, so it has to be completed whatever happens.
+            complete();
+        }
+    }
+
+    private void closeInputStream()
+    {
+        try
+        {
+            is.close();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.warn("Failed to close the in-flight artifact stream.", e);
+        }
+    }
+
+    private void complete()
+    {
+        try
+        {
+            asyncContext.complete();
+        }
+        catch (IllegalStateException e)
+        {
+            logger.debug("The in-flight artifact response has already been completed.", e);
+        }
+    }
+
+}
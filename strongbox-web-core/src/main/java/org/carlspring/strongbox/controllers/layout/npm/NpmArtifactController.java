@@ -13,6 +13,8 @@ import org.carlspring.strongbox.npm.metadata.*;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache.CachedPackageFeed;
 import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
@@ -89,6 +91,9 @@ public class NpmArtifactController
 
     @Inject
     private NpmSearchResultSupplier npmSearchResultSupplier;
+
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
     
     @Inject
     private ViewPackageEventListener viewPackageEventListener;
@@ -195,18 +200,59 @@ public class NpmArtifactController
     public void viewPackageFeedWithScope(@RepositoryMapping Repository repository,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         @RequestHeader HttpHeaders httpHeaders,
                                          HttpServletResponse response)
         throws Exception
     {
-        final String storageId = repository.getStorage().getId();
-        final String repositoryId = repository.getId();
-
         String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
         
         NpmViewRequest npmSearchRequest = new NpmViewRequest();
         npmSearchRequest.setPackageId(packageId);
         viewPackageEventListener.setNpmSearchRequest(npmSearchRequest);
 
+        CachedPackageFeed packageFeed = npmPackageFeedCache.get(repository,
+                                                                packageId,
+                                                                () -> createPackageFeed(repository,
+                                                                                        packageScope,
+                                                                                        packageName));
+
+        boolean abbreviated = isAbbreviatedPackageFeedAccepted(httpHeaders);
+        String etag = packageFeed.getEtag(abbreviated);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (isEtagMatched(httpHeaders, etag))
+        {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+
+            return;
+        }
+
+        response.setContentType(abbreviated ? NpmPackageFeedCache.ABBREVIATED_PACKAGE_FEED_MEDIA_TYPE :
+                                MediaType.APPLICATION_JSON);
+        response.getOutputStream().write(packageFeed.getContent(abbreviated));
+    }
+
+    @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
+    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
+    public void viewPackageFeed(@RepositoryMapping Repository repository,
+                                @PathVariable(name = "packageName") String packageName,
+                                @RequestHeader HttpHeaders httpHeaders,
+                                HttpServletResponse response)
+        throws Exception
+    {
+        viewPackageFeedWithScope(repository, null, packageName, httpHeaders, response);
+    }
+
+    private PackageFeed createPackageFeed(Repository repository,
+                                          String packageScope,
+                                          String packageName)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
         PackageFeed packageFeed = new PackageFeed();
 
         packageFeed.setName(packageId);
@@ -250,18 +296,23 @@ public class NpmArtifactController
 
         });
 
-        response.setContentType(MediaType.APPLICATION_JSON);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
+        return packageFeed;
     }
 
-    @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
-    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
-    public void viewPackageFeed(@RepositoryMapping Repository repository,
-                                @PathVariable(name = "packageName") String packageName,
-                                HttpServletResponse response)
-        throws Exception
+    private boolean isAbbreviatedPackageFeedAccepted(HttpHeaders httpHeaders)
+    {
+        List<String> accept = httpHeaders.get(HttpHeaders.ACCEPT);
+
+        return accept != null &&
+               accept.stream().anyMatch(a -> a.contains(NpmPackageFeedCache.ABBREVIATED_PACKAGE_FEED_MEDIA_TYPE));
+    }
+
+    private boolean isEtagMatched(HttpHeaders httpHeaders,
+                                  String etag)
     {
-        viewPackageFeedWithScope(repository, null, packageName, response);
+        return httpHeaders.getIfNoneMatch()
+                          .stream()
+                          .anyMatch(t -> "*".equals(t) || etag.equals(t) || ("W/" + etag).equals(t));
     }
 
     private Predicate createSearchPredicate(String packageScope,
@@ -38,14 +38,18 @@ import javax.xml.bind.JAXBException;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -54,6 +58,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.apache.commons.fileupload.MultipartStream;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.core.io.InputStreamResource;
@@ -78,6 +83,8 @@ public class NugetArtifactController
         extends BaseArtifactController
 {
 
+    private static final int MULTIPART_BUFFER_SIZE = 64 * 1024;
+
     @Inject
     private ArtifactTagService artifactTagService;
 
@@ -248,12 +255,34 @@ public class NugetArtifactController
 
     }
 
+    /**
+     * The entry is created from the feed attributes of the {@link ArtifactEntry} if they are there, the package
+     * specification is only read for the packages stored before the feed attributes have been introduced.
+     */
     private PackageEntry createPackageEntry(String feedId,
                                             PathNupkg nupkg)
         throws NoSuchAlgorithmException,
         IOException,
         NugetFormatException
     {
+        Map<String, String> feedAttributes = nupkg.getPath().getArtifactEntry().getArtifactAttributes();
+        if (PackageEntry.hasFeedAttributes(feedAttributes))
+        {
+            return new PackageEntry(nupkg.getId(),
+                                    nupkg.getVersion(),
+                                    feedAttributes,
+                                    nupkg.getSize(),
+                                    nupkg.getUpdated())
+            {
+
+                @Override
+                protected String getRootUri()
+                {
+                    return feedId;
+                }
+            };
+        }
+
         return new PackageEntry(nupkg){
 
             @Override
@@ -420,12 +449,15 @@ public class NugetArtifactController
         String contentType = request.getHeader("content-type");
 
         URI resourceUri;
+        Path packagePartFile = null;
         try
         {
+            packagePartFile = Files.createTempFile("nupkg", "part");
+
             ServletInputStream is = request.getInputStream();
-            InputStream packagePartInputStream = extractPackageMultipartStream(extractBoundary(contentType), is);
+            String packageHash = extractPackageMultipartStream(extractBoundary(contentType), is, packagePartFile);
 
-            if (packagePartInputStream == null)
+            if (packageHash == null)
             {
                 logger.error(String.format("Failed to extract Nuget package from request: [%s]:[%s]",
                                            storageId,
@@ -434,7 +466,7 @@ public class NugetArtifactController
                 return ResponseEntity.badRequest().build();
             }
 
-            resourceUri = storePackage(storageId, repositoryId, packagePartInputStream);
+            resourceUri = storePackage(storageId, repositoryId, packagePartFile, packageHash);
         }
         catch (Exception e)
         {
@@ -442,6 +474,10 @@ public class NugetArtifactController
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
+        finally
+        {
+            deleteTempFile(packagePartFile);
+        }
 
         if (resourceUri == null)
         {
@@ -530,28 +566,39 @@ public class NugetArtifactController
         return boundaryString;
     }
 
-    private InputStream extractPackageMultipartStream(String boundaryString,
-                                                      ServletInputStream is)
-            throws IOException
+    /**
+     * Writes the package part of the multipart request into the file, calculating the package hash along the way, so
+     * that the package is read from the request only once.
+     *
+     * @return the package hash, or {@code null} if there is no package part within the request
+     */
+    private String extractPackageMultipartStream(String boundaryString,
+                                                 ServletInputStream is,
+                                                 Path packagePartFile)
+            throws IOException,
+                   NoSuchAlgorithmException
     {
         if (StringUtils.isEmpty(boundaryString))
         {
             return null;
         }
 
-        final Path packagePartFile = Files.createTempFile("nupkg", "part");
-        try (OutputStream packagePartOutputStream = new BufferedOutputStream(Files.newOutputStream(packagePartFile)))
+        MessageDigest messageDigest = MessageDigest.getInstance(MessageDigestAlgorithms.SHA_512);
+        try (OutputStream packagePartOutputStream = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(packagePartFile)), messageDigest))
         {
-
-            writePackagePart(boundaryString, is, packagePartOutputStream);
+            if (!writePackagePart(boundaryString, is, packagePartOutputStream))
+            {
+                return null;
+            }
         }
 
-        return new BufferedInputStream(Files.newInputStream(packagePartFile));
+        return Base64.getEncoder().encodeToString(messageDigest.digest());
     }
 
-    private void writePackagePart(String boundaryString,
-                                  InputStream is,
-                                  OutputStream packagePartOutputStream)
+    private boolean writePackagePart(String boundaryString,
+                                     InputStream is,
+                                     OutputStream packagePartOutputStream)
         throws IOException
     {
         // According to the specification, the final Boundary of MultipartStream should be prefixed with
@@ -562,102 +609,93 @@ public class NugetArtifactController
         byte[] boundaryPrefixToFix = {0x00, 0x0A, 0x2D, 0x2D};
         byte[] boundaryPrefixTarget = {0x00, 0x0D, 0x0A, 0x2D, 0x2D};
 
-        byte[] replacementPattern = new byte[boundary.length + 4];
-        byte[] replacementTarget = new byte[boundary.length + 5];
+        ReplacingInputStream replacingIs = new ReplacingInputStream(is, boundaryPrefixToFix, boundaryPrefixTarget);
 
-        System.arraycopy(boundaryPrefixToFix, 0, replacementPattern, 0, 4);
-        System.arraycopy(boundaryPrefixTarget, 0, replacementTarget, 0, 5);
+        MultipartStream multipartStream = new MultipartStream(replacingIs, boundary, MULTIPART_BUFFER_SIZE, null);
+        multipartStream.skipPreamble();
+        String header = multipartStream.readHeaders();
 
-        System.arraycopy(boundary, 0, replacementPattern, 4, boundary.length);
-        System.arraycopy(boundary, 0, replacementTarget, 4, boundary.length);
+        // Package Multipart Header should be like follows:
+        // Content-Disposition: form-data; name="package";
+        // filename="package"
+        // Content-Type: application/octet-stream
+        if (!header.contains("package"))
+        {
+            logger.error("Invalid package multipart format");
+            return false;
+        }
 
-        Path streamContentPath = Files.createTempFile("boundaryString", "nupkg");
-        ReplacingInputStream replacingIs = new ReplacingInputStream(is, boundaryPrefixToFix, boundaryPrefixTarget);
-        long len = Files.copy(replacingIs, streamContentPath,
-                   StandardCopyOption.REPLACE_EXISTING);
-        System.out.println(len);
+        long contentLength = multipartStream.readBodyData(packagePartOutputStream);
+        logger.info(String.format("NuGet package content length [%s]", contentLength));
 
-        try (InputStream streamContentIs = new BufferedInputStream(Files.newInputStream(streamContentPath)))
+        return true;
+    }
+
+    private void deleteTempFile(Path path)
+    {
+        if (path == null)
         {
-            MultipartStream multipartStream = new MultipartStream(streamContentIs, boundary, 4096, null);
-            multipartStream.skipPreamble();
-            String header = multipartStream.readHeaders();
-
-            // Package Multipart Header should be like follows:
-            // Content-Disposition: form-data; name="package";
-            // filename="package"
-            // Content-Type: application/octet-stream
-            if (!header.contains("package"))
-            {
-                logger.error("Invalid package multipart format");
-                return;
-            }
+            return;
+        }
 
-            int contentLength = multipartStream.readBodyData(packagePartOutputStream);
-            logger.info(String.format("NuGet package content length [%s]", contentLength));
+        try
+        {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to delete temporary file [%s]", path), e);
         }
     }
 
+    /**
+     * Stores the package, its specification and its hash. The specification is read from the central directory of
+     * the package archive, and the specification and the hash are stored right from memory.
+     */
     private URI storePackage(String storageId,
                              String repositoryId,
-                             InputStream is)
+                             Path packageFile,
+                             String packageHash)
         throws Exception
     {
-        try (TempNupkgFile nupkgFile = new TempNupkgFile(is))
+        Nuspec nuspec = TempNupkgFile.loadNuspec(packageFile);
+        if (nuspec == null)
         {
-            Nuspec nuspec = nupkgFile.getNuspec();
-            if (nuspec == null)
-            {
-                return null;
-            }
-
-            String nuspecId = nuspec.getId();
-
-            SemanticVersion nuspecVersion = nuspec.getVersion();
-            String path = String.format("%s/%s/%s.%s.nupkg",
-                                        nuspecId,
-                                        nuspecVersion,
-                                        nuspecId,
-                                        nuspecVersion);
-
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            artifactManagementService.validateAndStore(repositoryPath, nupkgFile.getStream());
+            return null;
+        }
 
-            Path nuspecFile = Files.createTempFile(nuspec.getId(), "nuspec");
-            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(nuspecFile)))
-            {
-                nuspec.saveTo(outputStream);
-            }
-            path = String.format("%s/%s/%s.nuspec", nuspecId, nuspecVersion, nuspecId);
-            repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            try (InputStream bis = new BufferedInputStream(Files.newInputStream(nuspecFile)))
-            {
-                artifactManagementService.validateAndStore(repositoryPath, bis);
-            }
+        String nuspecId = nuspec.getId();
 
-            Path hashFile = Files.createTempFile(String.format("%s.%s", nuspecId, nuspecVersion),
-                                                "nupkg.sha512");
+        SemanticVersion nuspecVersion = nuspec.getVersion();
+        String path = String.format("%s/%s/%s.%s.nupkg",
+                                    nuspecId,
+                                    nuspecVersion,
+                                    nuspecId,
+                                    nuspecVersion);
 
-            try (OutputStream bos = new BufferedOutputStream(Files.newOutputStream(hashFile)))
-            {
-                Writer writer = new OutputStreamWriter(bos);
-                writer.write(nupkgFile.getHash());
-                writer.flush();
-                bos.flush();
-            }
-
-            path = String.format("%s/%s/%s.%s.nupkg.sha512",
-                                 nuspecId,
-                                 nuspecVersion,
-                                 nuspecId,
-                                 nuspecVersion);
-            repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            try (InputStream bis = new BufferedInputStream(Files.newInputStream(hashFile)))
-            {
-                artifactManagementService.validateAndStore(repositoryPath, bis);
-            }
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
+        try (InputStream bis = new BufferedInputStream(Files.newInputStream(packageFile)))
+        {
+            artifactManagementService.validateAndStore(repositoryPath, bis);
         }
 
+        ByteArrayOutputStream nuspecContent = new ByteArrayOutputStream();
+        nuspec.saveTo(nuspecContent);
+
+        path = String.format("%s/%s/%s.nuspec", nuspecId, nuspecVersion, nuspecId);
+        repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
+        artifactManagementService.validateAndStore(repositoryPath,
+                                                   new ByteArrayInputStream(nuspecContent.toByteArray()));
+
+        path = String.format("%s/%s/%s.%s.nupkg.sha512",
+                             nuspecId,
+                             nuspecVersion,
+                             nuspecId,
+                             nuspecVersion);
+        repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
+        artifactManagementService.validateAndStore(repositoryPath,
+                                                   new ByteArrayInputStream(packageHash.getBytes(StandardCharsets.UTF_8)));
+
         return new URI("");
     }
 
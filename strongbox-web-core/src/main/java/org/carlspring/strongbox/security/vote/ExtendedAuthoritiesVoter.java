@@ -17,6 +17,8 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * @author sbespalov
@@ -26,6 +28,12 @@ import org.springframework.stereotype.Component;
 public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVoter
 {
 
+    /**
+     * The request attribute prefix of the user storage authorities, which are calculated once per request.
+     */
+    private static final String STORAGE_AUTHORITIES_ATTRIBUTE = ExtendedAuthoritiesVoter.class.getName() +
+                                                                 ".storageAuthorities.";
+
     public ExtendedAuthoritiesVoter()
     {
         super(new ExpressionBasedPreInvocationAdvice());
@@ -45,6 +53,8 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
 
         private Authentication source;
 
+        private Collection<? extends GrantedAuthority> calculatedAuthorities;
+
         public ExtendedAuthorityAuthentication(Authentication target)
         {
             super();
@@ -90,8 +100,7 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
             }
 
             SpringSecurityUser userDetails = (SpringSecurityUser) authentication.getPrincipal();
-            // calculate privileges based on roles access model
-            Collection<Privileges> storageAuthorities = userDetails.getStorageAuthorities(UrlUtils.getRequestUri());
+            Collection<Privileges> storageAuthorities = getStorageAuthorities(userDetails, requestUri);
             if (storageAuthorities.isEmpty())
             {
                 return apiAuthorities;
@@ -105,6 +114,25 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
             return extendedAuthorities;
         }
 
+        @SuppressWarnings("unchecked")
+        private Collection<Privileges> getStorageAuthorities(SpringSecurityUser userDetails,
+                                                             String requestUri)
+        {
+            RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
+            String attributeName = STORAGE_AUTHORITIES_ATTRIBUTE + userDetails.getUsername() + ":" + requestUri;
+
+            Collection<Privileges> storageAuthorities = (Collection<Privileges>) requestAttributes.getAttribute(
+                    attributeName, RequestAttributes.SCOPE_REQUEST);
+            if (storageAuthorities == null)
+            {
+                // calculate privileges based on roles access model
+                storageAuthorities = userDetails.getStorageAuthorities(requestUri);
+                requestAttributes.setAttribute(attributeName, storageAuthorities, RequestAttributes.SCOPE_REQUEST);
+            }
+
+            return storageAuthorities;
+        }
+
         public String getName()
         {
             return getSourceAuthentication().getName();
@@ -112,7 +140,12 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
 
         public Collection<? extends GrantedAuthority> getAuthorities()
         {
-            return calculateExtendedAuthorities(getSourceAuthentication());
+            if (calculatedAuthorities == null)
+            {
+                calculatedAuthorities = calculateExtendedAuthorities(getSourceAuthentication());
+            }
+
+            return calculatedAuthorities;
         }
 
         public Object getCredentials()
@@ -1,26 +1,35 @@
 package org.carlspring.strongbox.utils;
 
-import org.carlspring.commons.http.range.ByteRange;
-import org.carlspring.commons.http.range.ByteRangeHeaderParser;
-import org.carlspring.strongbox.io.ByteRangeInputStream;
-import org.carlspring.strongbox.io.StreamUtils;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
-import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
+import org.eclipse.jetty.server.HttpOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
@@ -31,6 +40,17 @@ public class ArtifactControllerHelper
 
     public static final String HEADER_NAME_RANGE = "Range";
 
+    /**
+     * The size of the direct buffers which the artifacts are read into, when they are sent through Jetty.
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The direct buffer of each of the request threads, which is reused by all the transfers of the thread.
+     */
+    private static final ThreadLocal<ByteBuffer> TRANSFER_BUFFER = ThreadLocal.withInitial(
+            () -> ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE));
+
     private static final Logger logger = LoggerFactory.getLogger(ArtifactControllerHelper.class);
 
 
@@ -38,92 +58,332 @@ public class ArtifactControllerHelper
     {
     }
 
-    public static void handlePartialDownload(InputStream is,
+    /**
+     * Serves the byte ranges (RFC 7233) requested with the {@code Range} header: bounded, open-ended and suffix
+     * ranges, as a single part or as {@code multipart/byteranges}. Each range is read at its position from the
+     * file channel of the artifact, so the ranges are never re-read from the start of the file.
+     *
+     * @param length the complete length of the artifact, or -1 if it is still being downloaded from a remote
+     *               repository, in which case only the ranges which have already been stored can be served
+     * @return the number of sent bytes of the artifact, or 0 if the ranges can't be served and the whole
+     *         artifact should be sent instead (the response status stays untouched in this case)
+     */
+    public static long handlePartialDownload(FileChannel channel,
+                                             long length,
                                              HttpHeaders headers,
                                              HttpServletResponse response)
             throws IOException
     {
-        ByteRangeHeaderParser parser = new ByteRangeHeaderParser(headers.getFirst(HEADER_NAME_RANGE));
-        List<ByteRange> ranges = parser.getRanges();
-        if (ranges.size() == 1)
+        List<HttpRange> httpRanges;
+        try
         {
-            logger.debug("Received request for a partial download with a single range.");
-            handlePartialDownloadWithSingleRange(is, (ByteRange) ranges.get(0), response);
+            httpRanges = HttpRange.parseRanges(headers.getFirst(HEADER_NAME_RANGE));
         }
-        else
+        catch (IllegalArgumentException e)
         {
-            logger.debug("Received request for a partial download with multiple ranges.");
-            handlePartialDownloadWithMultipleRanges(is, ranges, response);
+            logger.debug(String.format("Ignoring invalid range header [%s].", headers.getFirst(HEADER_NAME_RANGE)));
+
+            return 0;
+        }
+
+        List<long[]> ranges = length < 0 ? resolveAvailableRanges(httpRanges, channel.size())
+                                         : resolveRanges(httpRanges, length);
+        if (ranges == null)
+        {
+            return 0;
+        }
+        else if (ranges.isEmpty())
+        {
+            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, "0");
+
+            return 0;
+        }
+
+        String completeLength = length < 0 ? "*" : String.valueOf(length);
+        if (ranges.size() == 1)
+        {
+            logger.debug("Received request for a partial download with a single range.");
+
+            return handlePartialDownloadWithSingleRange(channel, ranges.get(0), completeLength, response);
         }
+
+        logger.debug("Received request for a partial download with multiple ranges.");
+
+        return handlePartialDownloadWithMultipleRanges(channel, ranges, completeLength, response);
     }
 
-    public static void handlePartialDownloadWithSingleRange(InputStream is,
-                                                            ByteRange byteRange,
-                                                            HttpServletResponse response)
+    private static long handlePartialDownloadWithSingleRange(FileChannel channel,
+                                                             long[] range,
+                                                             String completeLength,
+                                                             HttpServletResponse response)
             throws IOException
     {
-        ByteRangeInputStream bris = StreamUtils.findSource(ByteRangeInputStream.class, (FilterInputStream)is);
-        long length = StreamUtils.getLength(bris);
-        if (byteRange.getOffset() < length)
-        {
-            long partialLength = calculatePartialRangeLength(byteRange, length);
+        long count = range[1] - range[0] + 1;
+
+        response.setStatus(PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(count));
+        response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, completeLength));
+
+        ServletOutputStream os = response.getOutputStream();
+        long result = sendContent(channel, range[0], count, os);
+        response.flushBuffer();
 
-            logger.debug("Calculated partial range length ->>> " + partialLength + "\n");
+        return result;
+    }
+
+    private static long handlePartialDownloadWithMultipleRanges(FileChannel channel,
+                                                                List<long[]> ranges,
+                                                                String completeLength,
+                                                                HttpServletResponse response)
+            throws IOException
+    {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        String contentType = Optional.ofNullable(response.getContentType())
+                                     .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
 
-            StreamUtils.setCurrentByteRange(bris, byteRange);
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        byte[] end = String.format("\r\n--%s--\r\n", boundary).getBytes(StandardCharsets.US_ASCII);
 
-            response.setHeader("Content-Length", partialLength + "");
-            response.setStatus(PARTIAL_CONTENT.value());
+        long contentLength = end.length;
+        for (long[] range : ranges)
+        {
+            byte[] partHeader = String.format("\r\n--%s\r\n%s: %s\r\n%s: %s\r\n\r\n",
+                                              boundary,
+                                              HttpHeaders.CONTENT_TYPE,
+                                              contentType,
+                                              HttpHeaders.CONTENT_RANGE,
+                                              contentRange(range, completeLength))
+                                      .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
 
-            prepareResponseBuilderForPartialRequest(byteRange, length, response);
+            contentLength += partHeader.length + range[1] - range[0] + 1;
         }
-        else
+
+        response.setStatus(PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+
+        ServletOutputStream os = response.getOutputStream();
+        long result = 0;
+        for (int i = 0; i < ranges.size(); i++)
         {
-            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            long[] range = ranges.get(i);
+
+            os.write(partHeaders.get(i));
+            result += transfer(channel, range[0], range[1] - range[0] + 1, os);
         }
+        os.write(end);
+        response.flushBuffer();
+
+        return result;
     }
 
-    public static void handlePartialDownloadWithMultipleRanges(InputStream is,
-                                                               List<ByteRange> byteRanges,
-                                                               HttpServletResponse response)
-            throws IOException
+    /**
+     * @return the satisfiable ranges as {start, end} pairs (an empty list if none of them is satisfiable), or
+     *         null if the ranges should be ignored, because they request more bytes than the artifact has.
+     */
+    private static List<long[]> resolveRanges(List<HttpRange> httpRanges,
+                                              long length)
     {
-        // XXX: this is not implemented yet
-        response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        List<long[]> result = new ArrayList<>(httpRanges.size());
+        long total = 0;
+        for (HttpRange httpRange : httpRanges)
+        {
+            long start = httpRange.getRangeStart(length);
+            if (start >= length)
+            {
+                continue;
+            }
+
+            long end = httpRange.getRangeEnd(length);
+            result.add(new long[]{ start, end });
+
+            total += end - start + 1;
+        }
+
+        return total > length ? null : result;
     }
 
-    public static long calculatePartialRangeLength(ByteRange byteRange,
-                                                   long length)
+    /**
+     * Resolves the ranges of an artifact whose complete length is not known yet.
+     *
+     * @return the ranges as {start, end} pairs, or null if some of them are not fully stored yet (or need to
+     *         know the complete length, as the suffix and open-ended ranges do).
+     */
+    private static List<long[]> resolveAvailableRanges(List<HttpRange> httpRanges,
+                                                       long availableLength)
     {
-        if (byteRange.getLimit() > 0L && byteRange.getOffset() > 0L)
+        List<long[]> result = new ArrayList<>(httpRanges.size());
+        for (HttpRange httpRange : httpRanges)
         {
-            logger.debug("Partial content byteRange.getOffset: " + byteRange.getOffset());
-            logger.debug("Partial content byteRange.getLimit: " + byteRange.getLimit());
-            logger.debug("Partial content length: " + (byteRange.getLimit() - byteRange.getOffset()));
+            long start = httpRange.getRangeStart(Long.MAX_VALUE);
+            long end = httpRange.getRangeEnd(Long.MAX_VALUE);
+            if (end >= availableLength)
+            {
+                return null;
+            }
 
-            return byteRange.getLimit() - byteRange.getOffset();
+            result.add(new long[]{ start, end });
         }
-        else if (length > 0L && byteRange.getOffset() > 0L && byteRange.getLimit() == 0L)
+
+        return result;
+    }
+
+    private static String contentRange(long[] range,
+                                       String completeLength)
+    {
+        return String.format("bytes %s-%s/%s", range[0], range[1], completeLength);
+    }
+
+    /**
+     * Sends the region of the file channel as the rest of the content of the response, which is complete afterwards.
+     * With Jetty, the region is passed to {@link HttpOutput#sendContent(ReadableByteChannel)}, which reads it into the
+     * pooled direct buffers of the connector, otherwise it is sent with {@link #transfer}.
+     *
+     * @return the number of sent bytes
+     */
+    public static long sendContent(FileChannel channel,
+                                   long position,
+                                   long count,
+                                   ServletOutputStream os)
+            throws IOException
+    {
+        if (!(os instanceof HttpOutput))
         {
-            logger.debug("Partial content length: " + (length - byteRange.getOffset()));
-            return length - byteRange.getOffset();
+            return transfer(channel, position, count, os);
         }
-        else
+
+        FileRegionChannel region = new FileRegionChannel(channel, position, count);
+        ((HttpOutput) os).sendContent(region);
+
+        return region.position - position;
+    }
+
+    /**
+     * Sends the region of the file channel to the response, which can still be written to afterwards. With Jetty, the
+     * region is read into the direct buffer of the thread, which the connector writes without copying it into the
+     * heap, otherwise {@link FileChannel#transferTo(long, long, WritableByteChannel)} is used.
+     *
+     * @return the number of sent bytes
+     */
+    public static long transfer(FileChannel channel,
+                                long position,
+                                long count,
+                                ServletOutputStream os)
+            throws IOException
+    {
+        long end = position + count;
+        long current = position;
+
+        if (os instanceof HttpOutput)
+        {
+            ByteBuffer buffer = TRANSFER_BUFFER.get();
+            while (current < end)
+            {
+                buffer.clear();
+                buffer.limit((int) Math.min(end - current, buffer.capacity()));
+
+                int read = channel.read(buffer, current);
+                if (read <= 0)
+                {
+                    break;
+                }
+
+                buffer.flip();
+                // The blocking write returns once the buffer has been written, so it can be reused right away.
+                ((HttpOutput) os).write(buffer);
+
+                current += read;
+            }
+
+            return current - position;
+        }
+
+        WritableByteChannel target = Channels.newChannel(os);
+        while (current < end)
         {
-            return -1L;
+            long transferred = channel.transferTo(current, end - current, target);
+            if (transferred <= 0)
+            {
+                break;
+            }
+
+            current += transferred;
         }
+
+        return current - position;
     }
 
-    public static void prepareResponseBuilderForPartialRequest(ByteRange br,
-                                                               long length,
-                                                               HttpServletResponse response)
+    /**
+     * A region of a file channel, read at its own position. Jetty closes the channels it has sent, so closing the
+     * region leaves the file channel open, for its stream to close it.
+     */
+    private static class FileRegionChannel
+            implements ReadableByteChannel
     {
-        response.setHeader("Accept-Ranges", "bytes");
-        response.setHeader("Content-Range",
-                           "bytes " + br.getOffset() + "-" + (length - 1L) + "/" + length);
 
-        logger.debug("Content-Range HEADER ->>> " + response.getHeader("Content-Range"));
-        response.setHeader("Pragma", "no-cache");
+        private final FileChannel channel;
+
+        private final long end;
+
+        private long position;
+
+        private boolean open = true;
+
+        private FileRegionChannel(FileChannel channel,
+                                  long position,
+                                  long count)
+        {
+            this.channel = channel;
+            this.position = position;
+            this.end = position + count;
+        }
+
+        @Override
+        public int read(ByteBuffer dst)
+                throws IOException
+        {
+            if (position >= end)
+            {
+                return -1;
+            }
+
+            int limit = dst.limit();
+            if (dst.remaining() > end - position)
+            {
+                dst.limit(dst.position() + (int) (end - position));
+            }
+
+            try
+            {
+                int read = channel.read(dst, position);
+                if (read > 0)
+                {
+                    position += read;
+                }
+
+                return read;
+            }
+            finally
+            {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        @Override
+        public void close()
+        {
+            open = false;
+        }
+
     }
 
     public static boolean isRangedRequest(HttpHeaders headers)
@@ -155,31 +415,24 @@ public class ArtifactControllerHelper
         response.setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
                 ZonedDateTime.ofInstant(fileAttributes.lastModifiedTime().toInstant(), ZoneId.systemDefault())));
 
-        // TODO: This is far from optimal and will need to have a content type approach at some point:
-        if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
-        {
-            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
-        }
-        else if (path.getFileName().toString().endsWith("xml"))
-        {
-            response.setContentType(MediaType.APPLICATION_XML_VALUE);
-        }
-        else if (path.getFileName().toString().endsWith(".gz"))
-        {
-            response.setContentType(com.google.common.net.MediaType.GZIP.toString());
-        }
-        else
-        {
-            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
-        }
+        provideContentType(response, path);
 
         response.setHeader("Accept-Ranges", "bytes");
 
+        // The checksums stored along with the artifact are used when its entry has already been loaded while the path
+        // was being resolved, otherwise the checksum files are read, which is cheaper than looking the entry up again.
+        Map<String, String> storedChecksums = Optional.ofNullable(path.getLoadedArtifactEntry())
+                                                      .map(ArtifactEntry::getChecksums)
+                                                      .orElse(Collections.emptyMap());
+
         path.getFileSystem().provider().resolveChecksumPathMap(path).entrySet().stream().forEach(e -> {
-            String checksumValue;
+            String checksumValue = storedChecksums.get(e.getKey());
             try
             {
-                checksumValue = new String(Files.readAllBytes(e.getValue()), "UTF-8").trim();
+                if (checksumValue == null)
+                {
+                    checksumValue = new String(Files.readAllBytes(e.getValue()), "UTF-8").trim();
+                }
             }
             catch (IOException ioe)
             {
@@ -193,4 +446,41 @@ public class ArtifactControllerHelper
         
     }
 
+    /**
+     * Provides the headers of an artifact which is still being downloaded from a remote repository. The length
+     * and the checksums are not known yet, so the artifact is sent without them, and only the ranges which have
+     * already been received can be served.
+     */
+    public static void provideInFlightArtifactHeaders(HttpServletResponse response,
+                                                      RepositoryPath path)
+        throws IOException
+    {
+        provideContentType(response, path);
+
+        response.setHeader("Accept-Ranges", "bytes");
+    }
+
+    private static void provideContentType(HttpServletResponse response,
+                                           RepositoryPath path)
+        throws IOException
+    {
+        // TODO: This is far from optimal and will need to have a content type approach at some point:
+        if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
+        {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        }
+        else if (path.getFileName().toString().endsWith("xml"))
+        {
+            response.setContentType(MediaType.APPLICATION_XML_VALUE);
+        }
+        else if (path.getFileName().toString().endsWith(".gz"))
+        {
+            response.setContentType(com.google.common.net.MediaType.GZIP.toString());
+        }
+        else
+        {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+    }
+
 }
@@ -0,0 +1,166 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.io.RepositoryStreamCallback;
+import org.carlspring.strongbox.providers.io.InFlightRepositoryStreamSupport;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.InFlightRemoteArtifactFetch;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Drives the non-blocking sending of an in-flight artifact to its completion, with the container thread sending the
+ * bytes being another one than the request thread which has opened the artifact stream.
+ */
+public class InFlightArtifactAsyncWriterTest
+{
+
+    private final ExecutorService containerExecutor = Executors.newSingleThreadExecutor();
+
+    private HttpServletRequest request;
+
+    private HttpServletResponse response;
+
+    private AsyncContext asyncContext;
+
+    private InFlightRemoteArtifactFetch inFlightFetch;
+
+    private RepositoryStreamCallback callback;
+
+    @BeforeEach
+    public void setUp()
+    {
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.startAsync(request, response)).thenReturn(asyncContext);
+        Mockito.when(asyncContext.getRequest()).thenReturn(request);
+
+        inFlightFetch = Mockito.mock(InFlightRemoteArtifactFetch.class);
+        Mockito.when(inFlightFetch.isDone()).thenReturn(true);
+
+        callback = Mockito.mock(RepositoryStreamCallback.class);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        containerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testArtifactIsSentAndResponseCompleted()
+            throws Exception
+    {
+        byte[] content = new byte[50000];
+        new Random(22).nextBytes(content);
+
+        TestServletOutputStream os = new TestServletOutputStream(false);
+        Mockito.when(response.getOutputStream()).thenReturn(os);
+
+        InFlightArtifactAsyncWriter.start(request, response, openInFlightStream(content), inFlightFetch);
+        onWritePossibleOnContainerThread(os);
+
+        Mockito.verify(asyncContext).complete();
+        Mockito.verify(callback).onAfterRead(any());
+        assertArrayEquals(content, os.content.toByteArray());
+    }
+
+    @Test
+    public void testResponseIsCompletedWhenSendingFails()
+            throws Exception
+    {
+        TestServletOutputStream os = new TestServletOutputStream(true);
+        Mockito.when(response.getOutputStream()).thenReturn(os);
+
+        InFlightArtifactAsyncWriter.start(request, response, openInFlightStream(new byte[1024]), inFlightFetch);
+        onWritePossibleOnContainerThread(os);
+
+        Mockito.verify(asyncContext).complete();
+    }
+
+    /**
+     * Opens the stream on the calling (request) thread, which takes the lock of the stream.
+     */
+    private RepositoryInputStream openInFlightStream(byte[] content)
+            throws IOException
+    {
+        RepositoryPath repositoryPath = Mockito.mock(RepositoryPath.class);
+        InFlightRepositoryStreamSupport streamSupport = new InFlightRepositoryStreamSupport(callback, () -> null);
+
+        return streamSupport.newInputStream(repositoryPath, new ByteArrayInputStream(content));
+    }
+
+    private void onWritePossibleOnContainerThread(TestServletOutputStream os)
+            throws Exception
+    {
+        assertNotNull(os.writeListener);
+
+        containerExecutor.submit(() -> {
+            os.writeListener.onWritePossible();
+
+            return null;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static class TestServletOutputStream
+            extends ServletOutputStream
+    {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private final boolean failing;
+
+        private WriteListener writeListener;
+
+        private TestServletOutputStream(boolean failing)
+        {
+            this.failing = failing;
+        }
+
+        @Override
+        public boolean isReady()
+        {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener)
+        {
+            this.writeListener = writeListener;
+        }
+
+        @Override
+        public void write(int b)
+                throws IOException
+        {
+            if (failing)
+            {
+                throw new IOException("Connection reset by peer.");
+            }
+
+            content.write(b);
+        }
+
+    }
+
+}
@@ -41,10 +41,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.zip.ZipEntry;
@@ -81,6 +83,7 @@ import static org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils.g
 import static org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils.getGroupLevelMetadataPath;
 import static org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils.getVersionLevelMetadataPath;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -484,6 +487,131 @@ public class MavenArtifactControllerTest
         assertEquals(sha1Remote, sha1Local, "Glued partial fetches did not match SHA-1 checksum!");
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testBoundedAndSuffixRangeFetch(@MavenRepository(repositoryId = REPOSITORY_RELEASES1,
+                                                                setup = MavenIndexedRepositorySetup.class)
+                                               Repository repository,
+                                               @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES1,
+                                                                  id = "org.carlspring.strongbox.partial:ranges-foo",
+                                                                  versions = "1.0")
+                                               Path artifactPath)
+            throws Exception
+    {
+        byte[] content = Files.readAllBytes(artifactPath);
+        int length = content.length;
+        String url = getRangeFetchUrl(repository, artifactPath);
+
+        MockMvcResponse response = getRange(url, "bytes=10-49");
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatusCode());
+        assertEquals("bytes 10-49/" + length, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("40", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 50), response.asByteArray());
+
+        // The suffix range requests the last bytes of the artifact.
+        response = getRange(url, "bytes=-20");
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatusCode());
+        assertEquals(String.format("bytes %s-%s/%s", length - 20, length - 1, length),
+                     response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content, length - 20, length), response.asByteArray());
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testMultipleRangesFetch(@MavenRepository(repositoryId = REPOSITORY_RELEASES1,
+                                                         setup = MavenIndexedRepositorySetup.class)
+                                       Repository repository,
+                                       @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES1,
+                                                          id = "org.carlspring.strongbox.partial:multiple-ranges-foo",
+                                                          versions = "1.0")
+                                       Path artifactPath)
+            throws Exception
+    {
+        byte[] content = Files.readAllBytes(artifactPath);
+        int length = content.length;
+        String url = getRangeFetchUrl(repository, artifactPath);
+
+        MockMvcResponse response = getRange(url, "bytes=0-9,20-29,-5");
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatusCode());
+
+        String contentType = response.getContentType();
+        assertTrue(contentType.startsWith("multipart/byteranges; boundary="), contentType);
+
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+        byte[] body = response.asByteArray();
+        assertEquals(String.valueOf(body.length), response.getHeader(HttpHeaders.CONTENT_LENGTH));
+
+        // The body is read as ISO-8859-1, which maps each byte of the parts to a single character.
+        String multipart = new String(body, StandardCharsets.ISO_8859_1);
+        assertTrue(multipart.endsWith("\r\n--" + boundary + "--\r\n"), multipart);
+
+        String[] parts = multipart.substring(0, multipart.length() - boundary.length() - 8)
+                                  .split("\r\n--" + boundary + "\r\n", -1);
+        assertEquals("", parts[0]);
+        assertEquals(4, parts.length);
+
+        int[][] ranges = new int[][]{ { 0, 9 }, { 20, 29 }, { length - 5, length - 1 } };
+        for (int i = 0; i < ranges.length; i++)
+        {
+            String part = parts[i + 1];
+            int headersEnd = part.indexOf("\r\n\r\n");
+            assertTrue(headersEnd > 0, part);
+
+            String partHeaders = part.substring(0, headersEnd);
+            String expectedContentRange = String.format("bytes %s-%s/%s", ranges[i][0], ranges[i][1], length);
+            assertTrue(partHeaders.contains(HttpHeaders.CONTENT_TYPE + ": "), partHeaders);
+            assertTrue(partHeaders.contains(HttpHeaders.CONTENT_RANGE + ": " + expectedContentRange), partHeaders);
+
+            byte[] expectedContent = Arrays.copyOfRange(content, ranges[i][0], ranges[i][1] + 1);
+            assertArrayEquals(expectedContent,
+                              part.substring(headersEnd + 4).getBytes(StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testUnsatisfiableRangeFetch(@MavenRepository(repositoryId = REPOSITORY_RELEASES1,
+                                                             setup = MavenIndexedRepositorySetup.class)
+                                           Repository repository,
+                                           @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES1,
+                                                              id = "org.carlspring.strongbox.partial:unsatisfiable-foo",
+                                                              versions = "1.0")
+                                           Path artifactPath)
+            throws Exception
+    {
+        long length = Files.size(artifactPath);
+        String url = getRangeFetchUrl(repository, artifactPath);
+
+        MockMvcResponse response = getRange(url, String.format("bytes=%s-", length));
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatusCode());
+        assertEquals("bytes */" + length, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.asByteArray().length);
+    }
+
+    private String getRangeFetchUrl(Repository repository,
+                                    Path artifactPath)
+            throws IOException
+    {
+        return getContextBaseUrl() + "/storages/" + repository.getStorage().getId() + "/" + repository.getId() + "/" +
+               RepositoryFiles.relativizePath((RepositoryPath) artifactPath.normalize());
+    }
+
+    private MockMvcResponse getRange(String url,
+                                     String range)
+    {
+        return given().header(HttpHeaders.USER_AGENT, "Maven/*")
+                      .header(HttpHeaders.RANGE, range)
+                      .when()
+                      .get(url);
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
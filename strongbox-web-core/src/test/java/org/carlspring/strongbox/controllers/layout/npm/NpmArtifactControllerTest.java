@@ -4,6 +4,7 @@ import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
 import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
 import org.carlspring.strongbox.rest.common.NpmRestAssuredBaseTest;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
@@ -21,7 +22,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 
 /**
  * @author Pablo Tirado
@@ -125,4 +128,50 @@ public class NpmArtifactControllerTest
                .header(HttpHeaders.CONTENT_LENGTH, equalTo(String.valueOf(Files.size(packagePath))));
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testViewPackageFeedConditionally(@NpmRepository(repositoryId = REPOSITORY_RELEASES)
+                                                 Repository repository,
+                                                 @NpmTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                                  id = "npm-test-feed",
+                                                                  versions = "1.0.0",
+                                                                  scope = "@carlspring")
+                                                 Path packagePath)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String packageId = "@carlspring/npm-test-feed";
+
+        String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/{artifactId}";
+
+        // Full package document
+        String etag = given().when()
+                             .get(url, storageId, repositoryId, packageId)
+                             .peek()
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .body(containsString("\"_id\""))
+                             .extract()
+                             .header(HttpHeaders.ETAG);
+
+        // Not modified
+        given().header(HttpHeaders.IF_NONE_MATCH, etag)
+               .when()
+               .get(url, storageId, repositoryId, packageId)
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        // Abbreviated package document
+        given().header(HttpHeaders.ACCEPT, NpmPackageFeedCache.ABBREVIATED_PACKAGE_FEED_MEDIA_TYPE)
+               .when()
+               .get(url, storageId, repositoryId, packageId)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header(HttpHeaders.ETAG, not(equalTo(etag)))
+               .body(containsString("\"1.0.0\""))
+               .body(not(containsString("\"_id\"")));
+    }
+
 }